@@ -0,0 +1,35 @@
+/**
+ * BatchCalcfc.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package com.cureos.numerics;
+
+/**
+ * Objective and constraints calculation that can evaluate several
+ * independent points at once, for example concurrently. When the
+ * function passed to a {@link CobylaSolver} implements this interface
+ * and batch start is set, the vertices of the initial simplex are
+ * evaluated in a single batch instead of one after another.
+ * 
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public interface BatchCalcfc extends Calcfc {
+  /**
+   * Evaluates the objective and constraints functions at each of a
+   * number of independent points.
+   * 
+   * @param n Number of variables.
+   * @param m Number of constraints.
+   * @param x Variable values of each point, x[k] being the k-th point.
+   *        The arrays must not be modified.
+   * @param con Calculated constraint values, con[k] to be filled in
+   *        for the k-th point.
+   * @param f Calculated objective function values, f[k] to be set for
+   *        the k-th point.
+   */
+  void ComputeBatch(int n, int m, double[][] x, double[][] con, double[] f);
+}
@@ -71,6 +71,68 @@ public class Cobyla {
                                              double[] x, double rhobeg,
                                              double rhoend, int iprint,
                                              int maxfun) {
+    return FindMinimum(calcfc, n, m, x, rhobeg, rhoend, iprint, maxfun, null);
+  }
+
+  /**
+   * Minimizes the objective function F with respect to a set of
+   * inequality constraints CON, reporting progress to a listener
+   * rather than, or as well as, printing it to the console.
+   * 
+   * @param calcfc Interface implementation for calculating objective
+   *        function and constraints.
+   * @param n Number of variables.
+   * @param m Number of constraints.
+   * @param x On input initial values of the variables (zero-based
+   *        array). On output optimal values of the variables obtained
+   *        in the COBYLA minimization.
+   * @param rhobeg Initial size of the simplex.
+   * @param rhoend Final value of the simplex.
+   * @param iprint Print level, 0 &lt;= iprint &lt;= 3, where 0
+   *        provides no output and 3 provides full output to the
+   *        console.
+   * @param maxfun Maximum number of function evaluations before
+   *        terminating.
+   * @param listener Receiver of iteration records, or null for none.
+   * @return Exit status of the COBYLA2 optimization.
+   */
+  public static CobylaExitStatus FindMinimum(final Calcfc calcfc, int n, int m,
+                                             double[] x, double rhobeg,
+                                             double rhoend, int iprint,
+                                             int maxfun,
+                                             CobylaIterationListener listener) {
+    return FindMinimum(calcfc, n, m, x, rhobeg, rhoend, iprint, maxfun,
+                       CobylaVariant.Classic, listener);
+  }
+
+  /**
+   * Minimizes the objective function F with respect to a set of
+   * inequality constraints CON using the given variant of the
+   * algorithm.
+   * 
+   * @param calcfc Interface implementation for calculating objective
+   *        function and constraints.
+   * @param n Number of variables.
+   * @param m Number of constraints.
+   * @param x On input initial values of the variables (zero-based
+   *        array). On output optimal values of the variables obtained
+   *        in the COBYLA minimization.
+   * @param rhobeg Initial size of the simplex.
+   * @param rhoend Final value of the simplex.
+   * @param iprint Print level, 0 &lt;= iprint &lt;= 3, where 0
+   *        provides no output and 3 provides full output to the
+   *        console.
+   * @param maxfun Maximum number of function evaluations before
+   *        terminating.
+   * @param variant Variant of the COBYLA algorithm to run.
+   * @param listener Receiver of iteration records, or null for none.
+   * @return Exit status of the COBYLA2 optimization.
+   */
+  public static CobylaExitStatus FindMinimum(final Calcfc calcfc, int n, int m,
+                                             double[] x, double rhobeg,
+                                             double rhoend, int iprint,
+                                             int maxfun, CobylaVariant variant,
+                                             CobylaIterationListener listener) {
     // This subroutine minimizes an objective function F(X) subject to
     // M
     // inequality constraints on X, where X is a vector of variables
@@ -161,612 +223,19 @@ public class Cobyla {
     // small as possible subject to the constraint functions being
     // nonnegative.
 
-    // Local variables
-    int mpp = m + 2;
-
-    // Internal base-1 X array
-    double[] iox = new double[n + 1];
-    System.arraycopy(x, 0, iox, 1, n);
-
-    // Internal representation of the objective and constraints
-    // calculation method,
-    // accounting for that X and CON arrays in the cobylb method are
-    // base-1 arrays.
-    Calcfc fcalcfc = new Calcfc() {
-      /**
-       *
-       * @param n the value of n
-       * @param m the value of m
-       * @param x the value of x
-       * @param con the value of con
-       * @return the double
-       */
-      @Override
-      public double Compute(int n, int m, double[] x, double[] con) {
-        double[] ix = new double[n];
-        System.arraycopy(x, 1, ix, 0, n);
-        double[] ocon = new double[m];
-        double f = calcfc.Compute(n, m, ix, ocon);
-        System.arraycopy(ocon, 0, con, 1, m);
-        return f;
-      }
-    };
-
-    CobylaExitStatus status =
-      cobylb(fcalcfc, n, m, mpp, iox, rhobeg, rhoend, iprint, maxfun);
-    System.arraycopy(iox, 1, x, 0, n);
-
-    return status;
-  }
-
-  private static CobylaExitStatus cobylb(Calcfc calcfc, int n, int m, int mpp,
-                                         double[] x, double rhobeg,
-                                         double rhoend, int iprint, int maxfun) {
-    // N.B. Arguments CON, SIM, SIMI, DATMAT, A, VSIG, VETA, SIGBAR,
-    // DX, W & IACT
-    // have been removed.
-
-    // Set the initial values of some parameters. The last column of
-    // SIM holds
-    // the optimal vertex of the current simplex, and the preceding N
-    // columns
-    // hold the displacements from the optimal vertex to the other
-    // vertices.
-    // Further, SIMI holds the inverse of the matrix that is contained
-    // in the
-    // first N columns of SIM.
-
-    // Local variables
-
-    CobylaExitStatus status;
-
-    double alpha = 0.25;
-    double beta = 2.1;
-    double gamma = 0.5;
-    double delta = 1.1;
-
-    double f = 0.0;
-    double resmax = 0.0;
-    double total;
-
-    int np = n + 1;
-    int mp = m + 1;
-    double rho = rhobeg;
-    double parmu = 0.0;
-
-    boolean iflag = false;
-    boolean ifull = false;
-    double parsig = 0.0;
-    double prerec = 0.0;
-    double prerem = 0.0;
-
-    double[] con = new double[1 + mpp];
-    double[][] sim = new double[1 + n][1 + np];
-    double[][] simi = new double[1 + n][1 + n];
-    double[][] datmat = new double[1 + mpp][1 + np];
-    double[][] a = new double[1 + n][1 + mp];
-    double[] vsig = new double[1 + n];
-    double[] veta = new double[1 + n];
-    double[] sigbar = new double[1 + n];
-    double[] dx = new double[1 + n];
-    double[] w = new double[1 + n];
-
-    if (iprint >= 2) {
-      System.out.format("%nThe initial value of RHO is %13.6f and PARMU is set to zero.%n",
-                        rho);
-    }
-
-    int nfvals = 0;
-    double temp = 1.0 / rho;
-
-    for (int i = 1; i <= n; ++i) {
-      sim[i][np] = x[i];
-      sim[i][i] = rho;
-      simi[i][i] = temp;
-    }
-
-    int jdrop = np;
-    boolean ibrnch = false;
-
-    // Make the next call of the user-supplied subroutine CALCFC.
-    // These
-    // instructions are also used for calling CALCFC during the
-    // iterations of
-    // the algorithm.
-
-    L_40: do {
-      if (nfvals >= maxfun && nfvals > 0) {
-        status = CobylaExitStatus.MaxIterationsReached;
-        break L_40;
-      }
-
-      ++nfvals;
-
-      f = calcfc.Compute(n, m, x, con);
-      resmax = 0.0;
-      for (int k = 1; k <= m; ++k) {
-        resmax = Math.max(resmax, -con[k]);
-      }
-
-      if (nfvals == iprint - 1 || iprint == 3) {
-        PrintIterationResult(nfvals, f, resmax, x, n);
-      }
-
-      con[mp] = f;
-      con[mpp] = resmax;
-
-      // Set the recently calculated function values in a column of
-      // DATMAT. This
-      // array has a column for each vertex of the current simplex,
-      // the entries of
-      // each column being the values of the constraint functions (if
-      // any)
-      // followed by the objective function and the greatest
-      // constraint violation
-      // at the vertex.
-
-      boolean skipVertexIdent = true;
-      if (!ibrnch) {
-        skipVertexIdent = false;
-
-        for (int i = 1; i <= mpp; ++i) {
-          datmat[i][jdrop] = con[i];
-        }
-
-        if (nfvals <= np) {
-          // Exchange the new vertex of the initial simplex with the
-          // optimal vertex if
-          // necessary. Then, if the initial simplex is not complete,
-          // pick its next
-          // vertex and calculate the function values there.
-
-          if (jdrop <= n) {
-            if (datmat[mp][np] <= f) {
-              x[jdrop] = sim[jdrop][np];
-            } else {
-              sim[jdrop][np] = x[jdrop];
-              for (int k = 1; k <= mpp; ++k) {
-                datmat[k][jdrop] = datmat[k][np];
-                datmat[k][np] = con[k];
-              }
-              for (int k = 1; k <= jdrop; ++k) {
-                sim[jdrop][k] = -rho;
-                temp = 0.0;
-                for (int i = k; i <= jdrop; ++i) {
-                  temp -= simi[i][k];
-                }
-                simi[jdrop][k] = temp;
-              }
-            }
-          }
-          if (nfvals <= n) {
-            jdrop = nfvals;
-            x[jdrop] += rho;
-            continue L_40;
-          }
-        }
-
-        ibrnch = true;
-      }
-
-      L_140: do {
-        L_550: do {
-          if (!skipVertexIdent) {
-            // Identify the optimal vertex of the current simplex.
-
-            double phimin = datmat[mp][np] + parmu * datmat[mpp][np];
-            int nbest = np;
-
-            for (int j = 1; j <= n; ++j) {
-              temp = datmat[mp][j] + parmu * datmat[mpp][j];
-              if (temp < phimin) {
-                nbest = j;
-                phimin = temp;
-              } else if (temp == phimin && parmu == 0.0
-                         && datmat[mpp][j] < datmat[mpp][nbest]) {
-                nbest = j;
-              }
-            }
-
-            // Switch the best vertex into pole position if it is not
-            // there already,
-            // and also update SIM, SIMI and DATMAT.
-
-            if (nbest <= n) {
-              for (int i = 1; i <= mpp; ++i) {
-                temp = datmat[i][np];
-                datmat[i][np] = datmat[i][nbest];
-                datmat[i][nbest] = temp;
-              }
-              for (int i = 1; i <= n; ++i) {
-                temp = sim[i][nbest];
-                sim[i][nbest] = 0.0;
-                sim[i][np] += temp;
-
-                double tempa = 0.0;
-                for (int k = 1; k <= n; ++k) {
-                  sim[i][k] -= temp;
-                  tempa -= simi[k][i];
-                }
-                simi[nbest][i] = tempa;
-              }
-            }
-
-            // Make an error return if SIGI is a poor approximation to
-            // the inverse of
-            // the leading N by N submatrix of SIG.
-
-            double error = 0.0;
-            for (int i = 1; i <= n; ++i) {
-              for (int j = 1; j <= n; ++j) {
-                temp =
-                  DOT_PRODUCT(PART(ROW(simi, i), 1, n), PART(COL(sim, j), 1, n))
-                                  - (i == j ? 1.0 : 0.0);
-                error = Math.max(error, Math.abs(temp));
-              }
-            }
-            if (error > 0.1) {
-              status = CobylaExitStatus.DivergingRoundingErrors;
-              break L_40;
-            }
-
-            // Calculate the coefficients of the linear approximations
-            // to the objective
-            // and constraint functions, placing minus the objective
-            // function gradient
-            // after the constraint gradients in the array A. The
-            // vector W is used for
-            // working space.
-
-            for (int k = 1; k <= mp; ++k) {
-              con[k] = -datmat[k][np];
-              for (int j = 1; j <= n; ++j) {
-                w[j] = datmat[k][j] + con[k];
-              }
-
-              for (int i = 1; i <= n; ++i) {
-                a[i][k] =
-                  (k == mp ? -1.0 : 1.0)
-                                  * DOT_PRODUCT(PART(w, 1, n),
-                                                PART(COL(simi, i), 1, n));
-              }
-            }
-
-            // Calculate the values of sigma and eta, and set IFLAG =
-            // 0 if the current
-            // simplex is not acceptable.
-
-            iflag = true;
-            parsig = alpha * rho;
-            double pareta = beta * rho;
-
-            for (int j = 1; j <= n; ++j) {
-              double wsig = 0.0;
-              for (int k = 1; k <= n; ++k) {
-                wsig += simi[j][k] * simi[j][k];
-              }
-              double weta = 0.0;
-              for (int k = 1; k <= n; ++k) {
-                weta += sim[k][j] * sim[k][j];
-              }
-              vsig[j] = 1.0 / Math.sqrt(wsig);
-              veta[j] = Math.sqrt(weta);
-              if (vsig[j] < parsig || veta[j] > pareta) {
-                iflag = false;
-              }
-            }
-
-            // If a new vertex is needed to improve acceptability,
-            // then decide which
-            // vertex to drop from the simplex.
-
-            if (!ibrnch && !iflag) {
-              jdrop = 0;
-              temp = pareta;
-              for (int j = 1; j <= n; ++j) {
-                if (veta[j] > temp) {
-                  jdrop = j;
-                  temp = veta[j];
-                }
-              }
-              if (jdrop == 0) {
-                for (int j = 1; j <= n; ++j) {
-                  if (vsig[j] < temp) {
-                    jdrop = j;
-                    temp = vsig[j];
-                  }
-                }
-              }
-
-              // Calculate the step to the new vertex and its sign.
-
-              temp = gamma * rho * vsig[jdrop];
-              for (int k = 1; k <= n; ++k) {
-                dx[k] = temp * simi[jdrop][k];
-              }
-              double cvmaxp = 0.0;
-              double cvmaxm = 0.0;
-
-              total = 0.0;
-              for (int k = 1; k <= mp; ++k) {
-                total = DOT_PRODUCT(PART(COL(a, k), 1, n), PART(dx, 1, n));
-                if (k < mp) {
-                  temp = datmat[k][np];
-                  cvmaxp = Math.max(cvmaxp, -total - temp);
-                  cvmaxm = Math.max(cvmaxm, total - temp);
-                }
-              }
-              double dxsign =
-                parmu * (cvmaxp - cvmaxm) > 2.0 * total ? -1.0 : 1.0;
-
-              // Update the elements of SIM and SIMI, and set the next
-              // X.
-
-              temp = 0.0;
-              for (int i = 1; i <= n; ++i) {
-                dx[i] = dxsign * dx[i];
-                sim[i][jdrop] = dx[i];
-                temp += simi[jdrop][i] * dx[i];
-              }
-              for (int k = 1; k <= n; ++k) {
-                simi[jdrop][k] /= temp;
-              }
-
-              for (int j = 1; j <= n; ++j) {
-                if (j != jdrop) {
-                  temp = DOT_PRODUCT(PART(ROW(simi, j), 1, n), PART(dx, 1, n));
-                  for (int k = 1; k <= n; ++k) {
-                    simi[j][k] -= temp * simi[jdrop][k];
-                  }
-                }
-                x[j] = sim[j][np] + dx[j];
-              }
-              continue L_40;
-            }
-
-            // Calculate DX = x(*)-x(0).
-            // Branch if the length of DX is less than 0.5*RHO.
-
-            ifull = trstlp(n, m, a, con, rho, dx);
-            if (!ifull) {
-              temp = 0.0;
-              for (int k = 1; k <= n; ++k) {
-                temp += dx[k] * dx[k];
-              }
-              if (temp < 0.25 * rho * rho) {
-                ibrnch = true;
-                break L_550;
-              }
-            }
-
-            // Predict the change to F and the new maximum constraint
-            // violation if the
-            // variables are altered from x(0) to x(0) + DX.
-
-            total = 0.0;
-            double resnew = 0.0;
-            con[mp] = 0.0;
-            for (int k = 1; k <= mp; ++k) {
-              total =
-                con[k] - DOT_PRODUCT(PART(COL(a, k), 1, n), PART(dx, 1, n));
-              if (k < mp) {
-                resnew = Math.max(resnew, total);
-              }
-            }
-
-            // Increase PARMU if necessary and branch back if this
-            // change alters the
-            // optimal vertex. Otherwise PREREM and PREREC will be set
-            // to the predicted
-            // reductions in the merit function and the maximum
-            // constraint violation
-            // respectively.
-
-            prerec = datmat[mpp][np] - resnew;
-            double barmu = prerec > 0.0 ? total / prerec : 0.0;
-            if (parmu < 1.5 * barmu) {
-              parmu = 2.0 * barmu;
-              if (iprint >= 2) {
-                System.out.format("%nIncrease in PARMU to %13.6f%n", parmu);
-              }
-              double phi = datmat[mp][np] + parmu * datmat[mpp][np];
-              for (int j = 1; j <= n; ++j) {
-                temp = datmat[mp][j] + parmu * datmat[mpp][j];
-                if (temp < phi
-                    || (temp == phi && parmu == 0.0 && datmat[mpp][j] < datmat[mpp][np])) {
-                  continue L_140;
-                }
-              }
-            }
-            prerem = parmu * prerec - total;
-
-            // Calculate the constraint and objective functions at
-            // x(*).
-            // Then find the actual reduction in the merit function.
-
-            for (int k = 1; k <= n; ++k) {
-              x[k] = sim[k][np] + dx[k];
-            }
-            ibrnch = true;
-            continue L_40;
-          }
-
-          skipVertexIdent = false;
-          double vmold = datmat[mp][np] + parmu * datmat[mpp][np];
-          double vmnew = f + parmu * resmax;
-          double trured = vmold - vmnew;
-          if (parmu == 0.0 && f == datmat[mp][np]) {
-            prerem = prerec;
-            trured = datmat[mpp][np] - resmax;
-          }
-
-          // Begin the operations that decide whether x(*) should
-          // replace one of the
-          // vertices of the current simplex, the change being
-          // mandatory if TRURED is
-          // positive. Firstly, JDROP is set to the index of the
-          // vertex that is to be
-          // replaced.
-
-          double ratio = trured <= 0.0 ? 1.0 : 0.0;
-          jdrop = 0;
-          for (int j = 1; j <= n; ++j) {
-            temp =
-              Math.abs(DOT_PRODUCT(PART(ROW(simi, j), 1, n), PART(dx, 1, n)));
-            if (temp > ratio) {
-              jdrop = j;
-              ratio = temp;
-            }
-            sigbar[j] = temp * vsig[j];
-          }
-
-          // Calculate the value of ell.
-
-          double edgmax = delta * rho;
-          int l = 0;
-          for (int j = 1; j <= n; ++j) {
-            if (sigbar[j] >= parsig || sigbar[j] >= vsig[j]) {
-              temp = veta[j];
-              if (trured > 0.0) {
-                temp = 0.0;
-                for (int k = 1; k <= n; ++k) {
-                  temp += Math.pow(dx[k] - sim[k][j], 2.0);
-                }
-                temp = Math.sqrt(temp);
-              }
-              if (temp > edgmax) {
-                l = j;
-                edgmax = temp;
-              }
-            }
-          }
-          if (l > 0) {
-            jdrop = l;
-          }
-
-          if (jdrop != 0) {
-            // Revise the simplex by updating the elements of SIM,
-            // SIMI and DATMAT.
-
-            temp = 0.0;
-            for (int i = 1; i <= n; ++i) {
-              sim[i][jdrop] = dx[i];
-              temp += simi[jdrop][i] * dx[i];
-            }
-            for (int k = 1; k <= n; ++k) {
-              simi[jdrop][k] /= temp;
-            }
-            for (int j = 1; j <= n; ++j) {
-              if (j != jdrop) {
-                temp = DOT_PRODUCT(PART(ROW(simi, j), 1, n), PART(dx, 1, n));
-                for (int k = 1; k <= n; ++k) {
-                  simi[j][k] -= temp * simi[jdrop][k];
-                }
-              }
-            }
-            for (int k = 1; k <= mpp; ++k) {
-              datmat[k][jdrop] = con[k];
-            }
-
-            // Branch back for further iterations with the current
-            // RHO.
-
-            if (trured > 0.0 && trured >= 0.1 * prerem) {
-              continue L_140;
-            }
-          }
-        } while (false);
-
-        if (!iflag) {
-          ibrnch = false;
-          continue L_140;
-        }
-
-        if (rho <= rhoend) {
-          status = CobylaExitStatus.Normal;
-          break L_40;
-        }
-
-        // Otherwise reduce RHO if it is not at its least value and
-        // reset PARMU.
-
-        double cmin = 0.0, cmax = 0.0;
-
-        rho *= 0.5;
-        if (rho <= 1.5 * rhoend) {
-          rho = rhoend;
-        }
-        if (parmu > 0.0) {
-          double denom = 0.0;
-          for (int k = 1; k <= mp; ++k) {
-            cmin = datmat[k][np];
-            cmax = cmin;
-            for (int i = 1; i <= n; ++i) {
-              cmin = Math.min(cmin, datmat[k][i]);
-              cmax = Math.max(cmax, datmat[k][i]);
-            }
-            if (k <= m && cmin < 0.5 * cmax) {
-              temp = Math.max(cmax, 0.0) - cmin;
-              denom = denom <= 0.0 ? temp : Math.min(denom, temp);
-            }
-          }
-          if (denom == 0.0) {
-            parmu = 0.0;
-          } else if (cmax - cmin < parmu * denom) {
-            parmu = (cmax - cmin) / denom;
-          }
-        }
-        if (iprint >= 2) {
-          System.out.format("%nReduction in RHO to %1$13.6f  and PARMU = %2$13.6f%n",
-                            rho, parmu);
-        }
-        if (iprint == 2) {
-          PrintIterationResult(nfvals, datmat[mp][np], datmat[mpp][np],
-                               COL(sim, np), n);
-        }
-
-      } while (true);
-    } while (true);
-
-    switch (status) {
-      case Normal:
-        if (iprint >= 1) {
-          System.out.format("%nNormal return from subroutine COBYLA%n");
-        }
-        if (ifull) {
-          if (iprint >= 1) {
-            PrintIterationResult(nfvals, f, resmax, x, n);
-          }
-          return status;
-        }
-        break;
-      case MaxIterationsReached:
-        if (iprint >= 1) {
-          System.out.format("%nReturn from subroutine COBYLA because the MAXFUN limit has been reached.%n");
-        }
-        break;
-      case DivergingRoundingErrors:
-        if (iprint >= 1) {
-          System.out.format("%nReturn from subroutine COBYLA because rounding errors are becoming damaging.%n");
-        }
-        break;
-      default:
-        break;
-    }
-
-    for (int k = 1; k <= n; ++k) {
-      x[k] = sim[k][np];
-    }
-    f = datmat[mp][np];
-    resmax = datmat[mpp][np];
-    if (iprint >= 1) {
-      PrintIterationResult(nfvals, f, resmax, x, n);
+    CobylaSolver solver =
+      new CobylaSolver(calcfc, n, m, x, rhobeg, rhoend, iprint, maxfun,
+                       variant);
+    solver.setIterationListener(listener);
+    while (solver.step()) {
+      // batch start is off, so each step makes one call of CALCFC
     }
+    System.arraycopy(solver.getX(), 0, x, 0, n);
 
-    return status;
+    return solver.getStatus();
   }
 
-  private static double[] COL(double[][] src, int colidx) {
+  static double[] COL(double[][] src, int colidx) {
     int rows = src.length;
     double[] dest = new double[rows];
     for (int row = 0; row < rows; ++row) {
@@ -775,7 +244,7 @@ public class Cobyla {
     return dest;
   }
 
-  private static double DOT_PRODUCT(double[] lhs, double[] rhs) {
+  static double DOT_PRODUCT(double[] lhs, double[] rhs) {
     double sum = 0.0;
     for (int i = 0; i < lhs.length; ++i) {
       sum += lhs[i] * rhs[i];
@@ -783,7 +252,7 @@ public class Cobyla {
     return sum;
   }
 
-  private static String FORMAT(double[] x) {
+  static String FORMAT(double[] x) {
     String fmt = "";
     for (int i = 0; i < x.length; ++i) {
       fmt = fmt + String.format("%13.6f", x[i]);
@@ -791,7 +260,7 @@ public class Cobyla {
     return fmt;
   }
 
-  private static double[] PART(double[] src, int from, int to) {
+  static double[] PART(double[] src, int from, int to) {
     double[] dest = new double[to - from + 1];
     int destidx = 0;
     for (int srcidx = from; srcidx <= to; ++srcidx, ++destidx) {
@@ -800,14 +269,14 @@ public class Cobyla {
     return dest;
   }
 
-  private static void PrintIterationResult(int nfvals, double f, double resmax,
+  static void PrintIterationResult(int nfvals, double f, double resmax,
                                            double[] x, int n) {
     System.out.format("%nNFVALS = %1$5d   F = %2$13.6f    MAXCV = %3$13.6e%n",
                       nfvals, f, resmax);
     System.out.format("X = %s%n", FORMAT(PART(x, 1, n)));
   }
 
-  private static double[] ROW(double[][] src, int rowidx) {
+  static double[] ROW(double[][] src, int rowidx) {
     int cols = src[0].length;
     double[] dest = new double[cols];
     for (int col = 0; col < cols; ++col) {
@@ -816,7 +285,7 @@ public class Cobyla {
     return dest;
   }
 
-  private static boolean trstlp(int n, int m, double[][] a, double[] b,
+  static boolean trstlp(int n, int m, double[][] a, double[] b,
                                 double rho, double[] dx) {
     // N.B. Arguments Z, ZDOTA, VMULTC, SDIRN, DXNEW, VMULTD & IACT
     // have been removed.
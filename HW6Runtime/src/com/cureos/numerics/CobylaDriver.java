@@ -0,0 +1,149 @@
+/**
+ * CobylaDriver.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package com.cureos.numerics;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs many independent COBYLA2 minimizations on a work-stealing
+ * pool. Each problem is a {@link CobylaSolver} and so has its own
+ * workspace; the objective functions must therefore be safe to call
+ * from several threads at once, or be distinct instances. A driver
+ * holds no state of its own between runs, so several threads may
+ * call {@link #solveAll} at once; each call returns its own counts.
+ * 
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class CobylaDriver {
+  private final ForkJoinPool pool;
+
+  /**
+   * Creates a driver that runs on the common fork/join pool.
+   */
+  public CobylaDriver() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a driver that runs on the given pool.
+   * 
+   * @param pool Work-stealing pool used to run the minimizations.
+   */
+  public CobylaDriver(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Runs every solver to completion, passing each one to the result
+   * consumer as soon as it finishes. Returns when all have finished.
+   * 
+   * @param solvers Problems to solve.
+   * @param onResult Receiver of finished solvers, called from pool
+   *        threads and so possibly concurrently; may be null.
+   * @return Solvers, count and timing of this run.
+   */
+  public Run solveAll(List<CobylaSolver> solvers,
+                      Consumer<CobylaSolver> onResult) {
+    Run run = new Run(solvers);
+    pool.invoke(new SolveAction(run, solvers, 0, solvers.size(), onResult));
+    run.endNanos = System.nanoTime();
+    return run;
+  }
+
+  /**
+   * Solvers, count and timing of one call of {@link #solveAll}.
+   */
+  public static final class Run {
+    private final List<CobylaSolver> solvers;
+    private final AtomicInteger completed = new AtomicInteger();
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    private Run(List<CobylaSolver> solvers) {
+      this.solvers = solvers;
+    }
+
+    /**
+     * Problems of the run, in the order they were passed in.
+     * 
+     * @return Solvers of the run.
+     */
+    public List<CobylaSolver> getSolvers() {
+      return solvers;
+    }
+
+    /**
+     * Number of minimizations finished.
+     * 
+     * @return Count of finished solvers.
+     */
+    public int getCompletedCount() {
+      return completed.get();
+    }
+
+    /**
+     * Aggregate throughput of the run.
+     * 
+     * @return Finished minimizations per second of elapsed time.
+     */
+    public double getSolvesPerSecond() {
+      long end = endNanos == 0L ? System.nanoTime() : endNanos;
+      double seconds = (end - startNanos) / 1.0e9;
+      return seconds > 0.0 ? completed.get() / seconds : 0.0;
+    }
+  }
+
+  /**
+   * Splits the range of solvers in halves so that idle workers can
+   * steal the other half, solving single problems directly.
+   */
+  private static class SolveAction extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final Run run;
+    private final List<CobylaSolver> solvers;
+    private final int from;
+    private final int to;
+    private final Consumer<CobylaSolver> onResult;
+
+    SolveAction(Run run, List<CobylaSolver> solvers, int from, int to,
+                Consumer<CobylaSolver> onResult) {
+      this.run = run;
+      this.solvers = solvers;
+      this.from = from;
+      this.to = to;
+      this.onResult = onResult;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > 1) {
+        int mid = (from + to) >>> 1;
+        invokeAll(new SolveAction(run, solvers, from, mid, onResult),
+                  new SolveAction(run, solvers, mid, to, onResult));
+        return;
+      }
+      for (int k = from; k < to; ++k) {
+        CobylaSolver solver = solvers.get(k);
+        while (solver.step()) {
+          // each step makes one call of CALCFC, or one batch of calls
+          // for a batch start
+        }
+        run.completed.incrementAndGet();
+        if (onResult != null) {
+          onResult.accept(solver);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/**
+ * CobylaIterationListener.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package com.cureos.numerics;
+
+/**
+ * Receives progress of a COBYLA2 minimization as primitive values, without
+ * any string formatting, so that a trace or metrics may be sampled cheaply
+ * from within the evaluation loop.
+ * 
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public interface CobylaIterationListener {
+  /**
+   * Called after each evaluation of the objective and constraints
+   * function.
+   * 
+   * @param iteration Number of trust region steps taken so far.
+   * @param nfvals Number of function evaluations made so far.
+   * @param f Objective function value at x.
+   * @param resmax Maximum constraint violation at x.
+   * @param rho Current size of the simplex.
+   * @param x Variable values just evaluated (zero-based array). The
+   *        array is reused between calls and must not be retained or
+   *        modified.
+   */
+  void iteration(int iteration, int nfvals, double f, double resmax,
+                 double rho, double[] x);
+
+  /**
+   * Called once when the minimization terminates.
+   * 
+   * @param status Exit status of the COBYLA2 optimization.
+   * @param nfvals Total number of function evaluations.
+   * @param f Objective function value at the optimum.
+   * @param resmax Maximum constraint violation at the optimum.
+   * @param x Optimal variable values (zero-based array). The array
+   *        must not be retained or modified.
+   */
+  default void finished(CobylaExitStatus status, int nfvals, double f,
+                        double resmax, double[] x) {
+    // no-op by default
+  }
+}
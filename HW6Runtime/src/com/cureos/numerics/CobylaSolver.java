@@ -0,0 +1,1092 @@
+/*
+ * jcobyla
+ *
+ * The MIT License
+ *
+ * Copyright (c) 2012 Anders Gustafsson, Cureos AB.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Remarks:
+ *
+ * The original Fortran 77 version of this code was by Michael Powell (M.J.D.Powell @ damtp.cam.ac.uk)
+ * The Fortran 90 version was by Alan Miller (Alan.Miller @ vic.cmis.csiro.au). Latest revision - 30 October 1998
+ *
+ * CobylaSolver.java 1.0 October 19, 2026, the step-wise form of Cobyla.java:
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ */
+package com.cureos.numerics;
+
+import java.io.Serializable;
+
+import static com.cureos.numerics.Cobyla.COL;
+import static com.cureos.numerics.Cobyla.DOT_PRODUCT;
+import static com.cureos.numerics.Cobyla.PART;
+import static com.cureos.numerics.Cobyla.PrintIterationResult;
+import static com.cureos.numerics.Cobyla.ROW;
+import static com.cureos.numerics.Cobyla.trstlp;
+
+/**
+ * Resumable, step-wise form of the COBYLA2 minimization performed by
+ * {@link Cobyla#FindMinimum}.
+ *
+ * Each call of {@link #step()} makes exactly one evaluation of the
+ * objective and constraints function, or one batch of evaluations
+ * for a batch start, and then advances the algorithm up to the point
+ * where the next evaluation is required. All of the
+ * algorithm state is held in fields, so a solver may be serialized
+ * between steps, written to disk or sent to another JVM, and resumed
+ * there after {@link #setCalcfc(Calcfc)} has been called to supply the
+ * (non-serializable) function implementation again.
+ *
+ * The solver runs either the classic port of COBYLA2 or the modernized
+ * variant described by {@link CobylaVariant#Prima}.
+ *
+ * @author Anders Gustafsson, Cureos AB. (Cobyla.java)
+ * @author dpowell2, dwinsor, emccarthy, jrhodes (step-wise form)
+ * @version 1.0
+ */
+public class CobylaSolver implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private static final double alpha = 0.25;
+  private static final double beta = 2.1;
+  private static final double gamma = 0.5;
+  private static final double delta = 1.1;
+
+  // Bounds used to moderate the function values in the modernized
+  // variant, so that NaN and overflow cannot corrupt the simplex.
+  private static final double HUGEFUN = Math.sqrt(Double.MAX_VALUE);
+  private static final double HUGECON = HUGEFUN;
+
+  private transient Calcfc calcfc;
+  private transient CobylaIterationListener listener;
+  private transient double[] trace;
+
+  private final int n;
+  private final int m;
+  private final int mpp;
+  private final int np;
+  private final int mp;
+  private final double rhoend;
+  private final int iprint;
+  private final int maxfun;
+  private final CobylaVariant variant;
+
+  // Internal base-1 X array
+  private final double[] x;
+
+  private final double[] con;
+  private final double[][] sim;
+  private final double[][] simi;
+  private final double[][] datmat;
+  private final double[][] a;
+  private final double[] vsig;
+  private final double[] veta;
+  private final double[] sigbar;
+  private final double[] dx;
+  private final double[] w;
+
+  private CobylaExitStatus status;
+
+  private double f = 0.0;
+  private double resmax = 0.0;
+  private double rho;
+  private double radius;
+  private double dnorm = 0.0;
+  private double parmu = 0.0;
+
+  private boolean iflag = false;
+  private boolean ifull = false;
+  private double parsig = 0.0;
+  private double prerec = 0.0;
+  private double prerem = 0.0;
+
+  private int nfvals = 0;
+  private int iterations = 0;
+  private int jdrop;
+  private boolean ibrnch = false;
+  private boolean batchStart = false;
+
+  /**
+   * Prepares the minimization of the objective function F with respect
+   * to a set of inequality constraints CON. No function evaluations
+   * are made until {@link #step()} is called.
+   *
+   * @param calcfc Interface implementation for calculating objective
+   *        function and constraints.
+   * @param n Number of variables.
+   * @param m Number of constraints.
+   * @param x Initial values of the variables (zero-based array). The
+   *        array is copied and is not modified by the solver.
+   * @param rhobeg Initial size of the simplex.
+   * @param rhoend Final value of the simplex.
+   * @param iprint Print level, 0 &lt;= iprint &lt;= 3, where 0
+   *        provides no output and 3 provides full output to the
+   *        console.
+   * @param maxfun Maximum number of function evaluations before
+   *        terminating.
+   */
+  public CobylaSolver(Calcfc calcfc, int n, int m, double[] x, double rhobeg,
+                      double rhoend, int iprint, int maxfun) {
+    this(calcfc, n, m, x, rhobeg, rhoend, iprint, maxfun,
+         CobylaVariant.Classic);
+  }
+
+  /**
+   * Prepares the minimization of the objective function F with respect
+   * to a set of inequality constraints CON using the given variant of
+   * the algorithm.
+   *
+   * @param calcfc Interface implementation for calculating objective
+   *        function and constraints.
+   * @param n Number of variables.
+   * @param m Number of constraints.
+   * @param x Initial values of the variables (zero-based array). The
+   *        array is copied and is not modified by the solver.
+   * @param rhobeg Initial size of the simplex.
+   * @param rhoend Final value of the simplex.
+   * @param iprint Print level, 0 &lt;= iprint &lt;= 3, where 0
+   *        provides no output and 3 provides full output to the
+   *        console.
+   * @param maxfun Maximum number of function evaluations before
+   *        terminating.
+   * @param variant Variant of the COBYLA algorithm to run.
+   */
+  public CobylaSolver(Calcfc calcfc, int n, int m, double[] x, double rhobeg,
+                      double rhoend, int iprint, int maxfun,
+                      CobylaVariant variant) {
+    this.calcfc = calcfc;
+    this.variant = variant;
+    this.n = n;
+    this.m = m;
+    this.mpp = m + 2;
+    this.np = n + 1;
+    this.mp = m + 1;
+    this.rhoend = rhoend;
+    this.iprint = iprint;
+    this.maxfun = maxfun;
+
+    this.x = new double[n + 1];
+    System.arraycopy(x, 0, this.x, 1, n);
+
+    // Set the initial values of some parameters. The last column of
+    // SIM holds
+    // the optimal vertex of the current simplex, and the preceding N
+    // columns
+    // hold the displacements from the optimal vertex to the other
+    // vertices.
+    // Further, SIMI holds the inverse of the matrix that is contained
+    // in the
+    // first N columns of SIM.
+
+    con = new double[1 + mpp];
+    sim = new double[1 + n][1 + np];
+    simi = new double[1 + n][1 + n];
+    datmat = new double[1 + mpp][1 + np];
+    a = new double[1 + n][1 + mp];
+    vsig = new double[1 + n];
+    veta = new double[1 + n];
+    sigbar = new double[1 + n];
+    dx = new double[1 + n];
+    w = new double[1 + n];
+
+    rho = rhobeg;
+    radius = rhobeg;
+
+    if (iprint >= 2) {
+      System.out.format("%nThe initial value of RHO is %13.6f and PARMU is set to zero.%n",
+                        rho);
+    }
+
+    double temp = 1.0 / rho;
+
+    for (int i = 1; i <= n; ++i) {
+      sim[i][np] = this.x[i];
+      sim[i][i] = rho;
+      simi[i][i] = temp;
+    }
+
+    jdrop = np;
+  }
+
+  /**
+   * Sets the objective and constraints function implementation. Must
+   * be called on a deserialized solver before it is stepped again.
+   *
+   * @param calcfc Interface implementation for calculating objective
+   *        function and constraints.
+   */
+  public void setCalcfc(Calcfc calcfc) {
+    this.calcfc = calcfc;
+  }
+
+  /**
+   * Sets a listener to receive the progress of the minimization, or
+   * null for none. Not serialized with the solver.
+   *
+   * @param listener Listener for iteration and termination records.
+   */
+  public void setIterationListener(CobylaIterationListener listener) {
+    this.listener = listener;
+  }
+
+  /**
+   * Chooses whether a {@link BatchCalcfc} calculates the N+1 vertices
+   * of the initial simplex in one batch. Off by default. The batch
+   * places every vertex about the starting point, whereas the classic
+   * start-up moves the pole to each better vertex as it is found and
+   * places the later vertices about it, so a batch start takes a
+   * different path to a different result. Has no effect once the
+   * first step has been made.
+   *
+   * @param batchStart true to calculate the initial simplex in one
+   *        batch.
+   */
+  public void setBatchStart(boolean batchStart) {
+    this.batchStart = batchStart;
+  }
+
+  /**
+   * Returns true if a {@link BatchCalcfc} calculates the initial
+   * simplex in one batch.
+   *
+   * @return true if the initial simplex is calculated in one batch.
+   */
+  public boolean isBatchStart() {
+    return batchStart;
+  }
+
+  /**
+   * Returns true once the minimization has terminated, after which
+   * {@link #getStatus()} holds the exit status.
+   *
+   * @return true if no further steps will be taken.
+   */
+  public boolean isDone() {
+    return status != null;
+  }
+
+  /**
+   * Exit status of the minimization, or null while it is still in
+   * progress.
+   *
+   * @return Exit status of the COBYLA2 optimization.
+   */
+  public CobylaExitStatus getStatus() {
+    return status;
+  }
+
+  /**
+   * Number of objective and constraints function evaluations made so
+   * far.
+   *
+   * @return Number of calls of the calculation method.
+   */
+  public int getEvaluationCount() {
+    return nfvals;
+  }
+
+  /**
+   * Current size of the simplex, reduced from rhobeg towards rhoend as
+   * the minimization proceeds.
+   *
+   * @return Current value of RHO.
+   */
+  public double getRho() {
+    return rho;
+  }
+
+  /**
+   * Objective function value at the current best vertex.
+   *
+   * @return Best objective function value found so far.
+   */
+  public double getF() {
+    return isDone() ? f : datmat[mp][np];
+  }
+
+  /**
+   * Variable values of the current best vertex, or the optimal values
+   * once the minimization has terminated.
+   *
+   * @return New zero-based array of variable values.
+   */
+  public double[] getX() {
+    double[] ox = new double[n];
+    if (isDone()) {
+      System.arraycopy(x, 1, ox, 0, n);
+    } else {
+      for (int k = 1; k <= n; ++k) {
+        ox[k - 1] = sim[k][np];
+      }
+    }
+    return ox;
+  }
+
+  /**
+   * Makes the next call of the objective and constraints function and
+   * advances the algorithm until another call is required or the
+   * minimization terminates. If batch start is set and the function is
+   * a {@link BatchCalcfc}, the first step instead calculates all N+1
+   * vertices of the initial simplex in one batch.
+   *
+   * @return true if further steps remain, false once done.
+   */
+  public boolean step() {
+    if (isDone()) {
+      return false;
+    }
+
+    double temp;
+    double total;
+
+    boolean skipVertexIdent = true;
+    if (batchStart && nfvals == 0 && maxfun >= np
+        && calcfc instanceof BatchCalcfc) {
+      // Calculate every vertex of the initial simplex about the
+      // starting point in one batch. Unlike the sequential start-up
+      // the pole does not move until all are known; the optimal
+      // vertex is then switched into pole position below.
+
+      computeInitialSimplex((BatchCalcfc) calcfc);
+      skipVertexIdent = false;
+      ibrnch = true;
+    } else {
+      // Make the next call of the user-supplied subroutine CALCFC.
+
+      ++nfvals;
+
+      f = compute();
+      if (variant == CobylaVariant.Prima) {
+        f = moderate(f, con, 1, m);
+      }
+      resmax = 0.0;
+      for (int k = 1; k <= m; ++k) {
+        resmax = Math.max(resmax, -con[k]);
+      }
+
+      if (nfvals == iprint - 1 || iprint == 3) {
+        PrintIterationResult(nfvals, f, resmax, x, n);
+      }
+      if (listener != null) {
+        listener.iteration(iterations, nfvals, f, resmax, rho, traceX());
+      }
+
+      con[mp] = f;
+      con[mpp] = resmax;
+
+      // Set the recently calculated function values in a column of
+      // DATMAT. This
+      // array has a column for each vertex of the current simplex,
+      // the entries of
+      // each column being the values of the constraint functions (if
+      // any)
+      // followed by the objective function and the greatest
+      // constraint violation
+      // at the vertex.
+
+      if (!ibrnch) {
+        skipVertexIdent = false;
+
+        for (int i = 1; i <= mpp; ++i) {
+          datmat[i][jdrop] = con[i];
+        }
+
+        if (nfvals <= np) {
+          // Exchange the new vertex of the initial simplex with the
+          // optimal vertex if
+          // necessary. Then, if the initial simplex is not complete,
+          // pick its next
+          // vertex and calculate the function values there.
+
+          if (jdrop <= n) {
+            if (datmat[mp][np] <= f) {
+              x[jdrop] = sim[jdrop][np];
+            } else {
+              sim[jdrop][np] = x[jdrop];
+              for (int k = 1; k <= mpp; ++k) {
+                datmat[k][jdrop] = datmat[k][np];
+                datmat[k][np] = con[k];
+              }
+              for (int k = 1; k <= jdrop; ++k) {
+                sim[jdrop][k] = -rho;
+                temp = 0.0;
+                for (int i = k; i <= jdrop; ++i) {
+                  temp -= simi[i][k];
+                }
+                simi[jdrop][k] = temp;
+              }
+            }
+          }
+          if (nfvals <= n) {
+            jdrop = nfvals;
+            x[jdrop] += rho;
+            return next();
+          }
+        }
+
+        ibrnch = true;
+      }
+    }
+
+    L_140: do {
+      L_550: do {
+        if (!skipVertexIdent) {
+          // Identify the optimal vertex of the current simplex.
+
+          double phimin = datmat[mp][np] + parmu * datmat[mpp][np];
+          int nbest = np;
+
+          for (int j = 1; j <= n; ++j) {
+            temp = datmat[mp][j] + parmu * datmat[mpp][j];
+            if (temp < phimin) {
+              nbest = j;
+              phimin = temp;
+            } else if (temp == phimin && parmu == 0.0
+                       && datmat[mpp][j] < datmat[mpp][nbest]) {
+              nbest = j;
+            }
+          }
+
+          // Switch the best vertex into pole position if it is not
+          // there already,
+          // and also update SIM, SIMI and DATMAT.
+
+          if (nbest <= n) {
+            for (int i = 1; i <= mpp; ++i) {
+              temp = datmat[i][np];
+              datmat[i][np] = datmat[i][nbest];
+              datmat[i][nbest] = temp;
+            }
+            for (int i = 1; i <= n; ++i) {
+              temp = sim[i][nbest];
+              sim[i][nbest] = 0.0;
+              sim[i][np] += temp;
+
+              double tempa = 0.0;
+              for (int k = 1; k <= n; ++k) {
+                sim[i][k] -= temp;
+                tempa -= simi[k][i];
+              }
+              simi[nbest][i] = tempa;
+            }
+          }
+
+          // Make an error return if SIGI is a poor approximation to
+          // the inverse of
+          // the leading N by N submatrix of SIG.
+
+          double error = 0.0;
+          for (int i = 1; i <= n; ++i) {
+            for (int j = 1; j <= n; ++j) {
+              temp =
+                DOT_PRODUCT(PART(ROW(simi, i), 1, n), PART(COL(sim, j), 1, n))
+                                - (i == j ? 1.0 : 0.0);
+              error = Math.max(error, Math.abs(temp));
+            }
+          }
+          if (error > 0.1) {
+            // The modernized variant recalculates the inverse
+            // directly, only giving up if SIM has become singular.
+
+            if (variant == CobylaVariant.Classic || !invertSimplex()) {
+              return finish(CobylaExitStatus.DivergingRoundingErrors);
+            }
+          }
+
+          // Calculate the coefficients of the linear approximations
+          // to the objective
+          // and constraint functions, placing minus the objective
+          // function gradient
+          // after the constraint gradients in the array A. The
+          // vector W is used for
+          // working space.
+
+          for (int k = 1; k <= mp; ++k) {
+            con[k] = -datmat[k][np];
+            for (int j = 1; j <= n; ++j) {
+              w[j] = datmat[k][j] + con[k];
+            }
+
+            for (int i = 1; i <= n; ++i) {
+              a[i][k] =
+                (k == mp ? -1.0 : 1.0)
+                                * DOT_PRODUCT(PART(w, 1, n),
+                                              PART(COL(simi, i), 1, n));
+            }
+          }
+
+          // Calculate the values of sigma and eta, and set IFLAG =
+          // 0 if the current
+          // simplex is not acceptable.
+
+          double size = variant == CobylaVariant.Classic ? rho : radius;
+          iflag = true;
+          parsig = alpha * size;
+          double pareta = beta * size;
+
+          for (int j = 1; j <= n; ++j) {
+            double wsig = 0.0;
+            for (int k = 1; k <= n; ++k) {
+              wsig += simi[j][k] * simi[j][k];
+            }
+            double weta = 0.0;
+            for (int k = 1; k <= n; ++k) {
+              weta += sim[k][j] * sim[k][j];
+            }
+            vsig[j] = 1.0 / Math.sqrt(wsig);
+            veta[j] = Math.sqrt(weta);
+            if (vsig[j] < parsig || veta[j] > pareta) {
+              iflag = false;
+            }
+          }
+
+          // If a new vertex is needed to improve acceptability,
+          // then decide which
+          // vertex to drop from the simplex.
+
+          if (!ibrnch && !iflag) {
+            jdrop = 0;
+            temp = pareta;
+            for (int j = 1; j <= n; ++j) {
+              if (veta[j] > temp) {
+                jdrop = j;
+                temp = veta[j];
+              }
+            }
+            if (jdrop == 0) {
+              for (int j = 1; j <= n; ++j) {
+                if (vsig[j] < temp) {
+                  jdrop = j;
+                  temp = vsig[j];
+                }
+              }
+            }
+
+            // Calculate the step to the new vertex and its sign.
+
+            temp = gamma * size * vsig[jdrop];
+            for (int k = 1; k <= n; ++k) {
+              dx[k] = temp * simi[jdrop][k];
+            }
+            double cvmaxp = 0.0;
+            double cvmaxm = 0.0;
+
+            total = 0.0;
+            for (int k = 1; k <= mp; ++k) {
+              total = DOT_PRODUCT(PART(COL(a, k), 1, n), PART(dx, 1, n));
+              if (k < mp) {
+                temp = datmat[k][np];
+                cvmaxp = Math.max(cvmaxp, -total - temp);
+                cvmaxm = Math.max(cvmaxm, total - temp);
+              }
+            }
+            double dxsign =
+              parmu * (cvmaxp - cvmaxm) > 2.0 * total ? -1.0 : 1.0;
+
+            // Update the elements of SIM and SIMI, and set the next
+            // X.
+
+            temp = 0.0;
+            for (int i = 1; i <= n; ++i) {
+              dx[i] = dxsign * dx[i];
+              sim[i][jdrop] = dx[i];
+              temp += simi[jdrop][i] * dx[i];
+            }
+            for (int k = 1; k <= n; ++k) {
+              simi[jdrop][k] /= temp;
+            }
+
+            for (int j = 1; j <= n; ++j) {
+              if (j != jdrop) {
+                temp = DOT_PRODUCT(PART(ROW(simi, j), 1, n), PART(dx, 1, n));
+                for (int k = 1; k <= n; ++k) {
+                  simi[j][k] -= temp * simi[jdrop][k];
+                }
+              }
+              x[j] = sim[j][np] + dx[j];
+            }
+            return next();
+          }
+
+          // Calculate DX = x(*)-x(0).
+          // Branch if the length of DX is less than 0.5*RHO.
+
+          ++iterations;
+          ifull = trstlp(n, m, a, con, size, dx);
+          temp = 0.0;
+          for (int k = 1; k <= n; ++k) {
+            temp += dx[k] * dx[k];
+          }
+          dnorm = Math.sqrt(temp);
+          if (!ifull) {
+            if (temp < 0.25 * rho * rho) {
+              if (variant == CobylaVariant.Prima) {
+                // Contract the trust region after a short step.
+
+                radius *= 0.1;
+                if (radius <= 1.5 * rho) {
+                  radius = rho;
+                }
+              }
+              ibrnch = true;
+              break L_550;
+            }
+          }
+
+          // Predict the change to F and the new maximum constraint
+          // violation if the
+          // variables are altered from x(0) to x(0) + DX.
+
+          total = 0.0;
+          double resnew = 0.0;
+          con[mp] = 0.0;
+          for (int k = 1; k <= mp; ++k) {
+            total =
+              con[k] - DOT_PRODUCT(PART(COL(a, k), 1, n), PART(dx, 1, n));
+            if (k < mp) {
+              resnew = Math.max(resnew, total);
+            }
+          }
+
+          // Increase PARMU if necessary and branch back if this
+          // change alters the
+          // optimal vertex. Otherwise PREREM and PREREC will be set
+          // to the predicted
+          // reductions in the merit function and the maximum
+          // constraint violation
+          // respectively.
+
+          prerec = datmat[mpp][np] - resnew;
+          double barmu = prerec > 0.0 ? total / prerec : 0.0;
+          if (parmu < 1.5 * barmu) {
+            parmu = 2.0 * barmu;
+            if (iprint >= 2) {
+              System.out.format("%nIncrease in PARMU to %13.6f%n", parmu);
+            }
+            double phi = datmat[mp][np] + parmu * datmat[mpp][np];
+            for (int j = 1; j <= n; ++j) {
+              temp = datmat[mp][j] + parmu * datmat[mpp][j];
+              if (temp < phi
+                  || (temp == phi && parmu == 0.0 && datmat[mpp][j] < datmat[mpp][np])) {
+                continue L_140;
+              }
+            }
+          }
+          prerem = parmu * prerec - total;
+
+          // Calculate the constraint and objective functions at
+          // x(*).
+          // Then find the actual reduction in the merit function.
+
+          for (int k = 1; k <= n; ++k) {
+            x[k] = sim[k][np] + dx[k];
+          }
+          ibrnch = true;
+          return next();
+        }
+
+        skipVertexIdent = false;
+        double vmold = datmat[mp][np] + parmu * datmat[mpp][np];
+        double vmnew = f + parmu * resmax;
+        double trured = vmold - vmnew;
+        if (parmu == 0.0 && f == datmat[mp][np]) {
+          prerem = prerec;
+          trured = datmat[mpp][np] - resmax;
+        }
+
+        if (variant == CobylaVariant.Prima) {
+          // Revise the trust region radius according to the ratio
+          // of the actual to the predicted reduction.
+
+          double trratio =
+            prerem > 0.0 ? trured / prerem : (trured > 0.0 ? 1.0 : -1.0);
+          if (trratio <= 0.1) {
+            radius = Math.min(0.5 * radius, dnorm);
+          } else if (trratio <= 0.7) {
+            radius = Math.max(0.5 * radius, dnorm);
+          } else {
+            radius = Math.max(0.5 * radius, 2.0 * dnorm);
+          }
+          if (radius <= 1.5 * rho) {
+            radius = rho;
+          }
+        }
+
+        // Begin the operations that decide whether x(*) should
+        // replace one of the
+        // vertices of the current simplex, the change being
+        // mandatory if TRURED is
+        // positive. Firstly, JDROP is set to the index of the
+        // vertex that is to be
+        // replaced.
+
+        double ratio = trured <= 0.0 ? 1.0 : 0.0;
+        jdrop = 0;
+        for (int j = 1; j <= n; ++j) {
+          temp =
+            Math.abs(DOT_PRODUCT(PART(ROW(simi, j), 1, n), PART(dx, 1, n)));
+          if (temp > ratio) {
+            jdrop = j;
+            ratio = temp;
+          }
+          sigbar[j] = temp * vsig[j];
+        }
+
+        // Calculate the value of ell.
+
+        double edgmax = delta * rho;
+        int l = 0;
+        for (int j = 1; j <= n; ++j) {
+          if (sigbar[j] >= parsig || sigbar[j] >= vsig[j]) {
+            temp = veta[j];
+            if (trured > 0.0) {
+              temp = 0.0;
+              for (int k = 1; k <= n; ++k) {
+                temp += Math.pow(dx[k] - sim[k][j], 2.0);
+              }
+              temp = Math.sqrt(temp);
+            }
+            if (temp > edgmax) {
+              l = j;
+              edgmax = temp;
+            }
+          }
+        }
+        if (l > 0) {
+          jdrop = l;
+        }
+
+        if (jdrop != 0) {
+          // Revise the simplex by updating the elements of SIM,
+          // SIMI and DATMAT.
+
+          temp = 0.0;
+          for (int i = 1; i <= n; ++i) {
+            sim[i][jdrop] = dx[i];
+            temp += simi[jdrop][i] * dx[i];
+          }
+          for (int k = 1; k <= n; ++k) {
+            simi[jdrop][k] /= temp;
+          }
+          for (int j = 1; j <= n; ++j) {
+            if (j != jdrop) {
+              temp = DOT_PRODUCT(PART(ROW(simi, j), 1, n), PART(dx, 1, n));
+              for (int k = 1; k <= n; ++k) {
+                simi[j][k] -= temp * simi[jdrop][k];
+              }
+            }
+          }
+          for (int k = 1; k <= mpp; ++k) {
+            datmat[k][jdrop] = con[k];
+          }
+
+          // Branch back for further iterations with the current
+          // RHO.
+
+          if (trured > 0.0 && trured >= 0.1 * prerem) {
+            continue L_140;
+          }
+        }
+      } while (false);
+
+      if (variant == CobylaVariant.Prima && iflag && radius > rho) {
+        // The step was short or poor but the simplex is acceptable,
+        // so try again in the contracted trust region before
+        // reducing RHO.
+
+        continue L_140;
+      }
+
+      if (!iflag) {
+        ibrnch = false;
+        continue L_140;
+      }
+
+      if (rho <= rhoend) {
+        return finish(CobylaExitStatus.Normal);
+      }
+
+      // Otherwise reduce RHO if it is not at its least value and
+      // reset PARMU.
+
+      double cmin = 0.0, cmax = 0.0;
+
+      if (variant == CobylaVariant.Classic) {
+        rho *= 0.5;
+        if (rho <= 1.5 * rhoend) {
+          rho = rhoend;
+        }
+      } else {
+        double rhoold = rho;
+        if (rho > 250.0 * rhoend) {
+          rho *= 0.1;
+        } else if (rho <= 16.0 * rhoend) {
+          rho = rhoend;
+        } else {
+          rho = Math.sqrt(rho * rhoend);
+        }
+        radius = Math.max(0.5 * rhoold, rho);
+      }
+      if (parmu > 0.0) {
+        double denom = 0.0;
+        for (int k = 1; k <= mp; ++k) {
+          cmin = datmat[k][np];
+          cmax = cmin;
+          for (int i = 1; i <= n; ++i) {
+            cmin = Math.min(cmin, datmat[k][i]);
+            cmax = Math.max(cmax, datmat[k][i]);
+          }
+          if (k <= m && cmin < 0.5 * cmax) {
+            temp = Math.max(cmax, 0.0) - cmin;
+            denom = denom <= 0.0 ? temp : Math.min(denom, temp);
+          }
+        }
+        if (denom == 0.0) {
+          parmu = 0.0;
+        } else if (cmax - cmin < parmu * denom) {
+          parmu = (cmax - cmin) / denom;
+        }
+      }
+      if (iprint >= 2) {
+        System.out.format("%nReduction in RHO to %1$13.6f  and PARMU = %2$13.6f%n",
+                          rho, parmu);
+      }
+      if (iprint == 2) {
+        PrintIterationResult(nfvals, datmat[mp][np], datmat[mpp][np],
+                             COL(sim, np), n);
+      }
+
+    } while (true);
+  }
+
+  /**
+   * Calls the user-supplied calculation method, accounting for that X
+   * and CON arrays in the solver are base-1 arrays.
+   */
+  private double compute() {
+    double[] ix = new double[n];
+    System.arraycopy(x, 1, ix, 0, n);
+    double[] ocon = new double[m];
+    double result = calcfc.Compute(n, m, ix, ocon);
+    System.arraycopy(ocon, 0, con, 1, m);
+    return result;
+  }
+
+  /**
+   * Calculates the function values at X and at each X + RHO * E(J), and
+   * stores them as the columns of DATMAT for the initial simplex whose
+   * displacements SIM and inverse SIMI were set by the constructor.
+   */
+  private void computeInitialSimplex(BatchCalcfc batch) {
+    double[][] points = new double[np][n];
+    double[][] cons = new double[np][m];
+    double[] fs = new double[np];
+    for (int j = 0; j < np; ++j) {
+      System.arraycopy(x, 1, points[j], 0, n);
+      if (j > 0) {
+        points[j][j - 1] += rho;
+      }
+    }
+    batch.ComputeBatch(n, m, points, cons, fs);
+    if (variant == CobylaVariant.Prima) {
+      for (int j = 0; j < np; ++j) {
+        fs[j] = moderate(fs[j], cons[j], 0, m - 1);
+      }
+    }
+
+    // Point 0 is the pole vertex held in column NP, point J is the
+    // vertex held in column J.
+
+    double[] bx = new double[n + 1];
+    for (int j = 0; j < np; ++j) {
+      int col = j == 0 ? np : j;
+      ++nfvals;
+      f = fs[j];
+      resmax = 0.0;
+      for (int k = 1; k <= m; ++k) {
+        con[k] = cons[j][k - 1];
+        resmax = Math.max(resmax, -con[k]);
+      }
+      con[mp] = f;
+      con[mpp] = resmax;
+      for (int i = 1; i <= mpp; ++i) {
+        datmat[i][col] = con[i];
+      }
+
+      System.arraycopy(points[j], 0, bx, 1, n);
+      if (nfvals == iprint - 1 || iprint == 3) {
+        PrintIterationResult(nfvals, f, resmax, bx, n);
+      }
+      if (listener != null) {
+        listener.iteration(iterations, nfvals, f, resmax, rho, points[j]);
+      }
+    }
+  }
+
+  /**
+   * Ends the current step with the next X set, terminating instead if
+   * the evaluation limit has been reached.
+   */
+  private boolean next() {
+    if (nfvals >= maxfun && nfvals > 0) {
+      return finish(CobylaExitStatus.MaxIterationsReached);
+    }
+    return true;
+  }
+
+  /**
+   * Records the exit status and leaves the optimal vertex in X.
+   */
+  private boolean finish(CobylaExitStatus exitStatus) {
+    status = exitStatus;
+
+    // X holds the last point evaluated unless the evaluation limit
+    // was reached after the next point had been set.
+
+    boolean keepLast;
+    if (variant == CobylaVariant.Classic) {
+      keepLast = status == CobylaExitStatus.Normal && ifull;
+    } else {
+      double phipole = datmat[mp][np] + parmu * datmat[mpp][np];
+      double philast = f + parmu * resmax;
+      keepLast = status != CobylaExitStatus.MaxIterationsReached
+                 && (philast < phipole
+                     || (philast == phipole && resmax < datmat[mpp][np]));
+    }
+
+    switch (status) {
+      case Normal:
+        if (iprint >= 1) {
+          System.out.format("%nNormal return from subroutine COBYLA%n");
+        }
+        break;
+      case MaxIterationsReached:
+        if (iprint >= 1) {
+          System.out.format("%nReturn from subroutine COBYLA because the MAXFUN limit has been reached.%n");
+        }
+        break;
+      case DivergingRoundingErrors:
+        if (iprint >= 1) {
+          System.out.format("%nReturn from subroutine COBYLA because rounding errors are becoming damaging.%n");
+        }
+        break;
+      default:
+        break;
+    }
+
+    if (keepLast) {
+      if (iprint >= 1) {
+        PrintIterationResult(nfvals, f, resmax, x, n);
+      }
+      if (listener != null) {
+        listener.finished(status, nfvals, f, resmax, traceX());
+      }
+      return false;
+    }
+
+    for (int k = 1; k <= n; ++k) {
+      x[k] = sim[k][np];
+    }
+    f = datmat[mp][np];
+    resmax = datmat[mpp][np];
+    if (iprint >= 1) {
+      PrintIterationResult(nfvals, f, resmax, x, n);
+    }
+    if (listener != null) {
+      listener.finished(status, nfvals, f, resmax, traceX());
+    }
+
+    return false;
+  }
+
+  /**
+   * Replaces NaN and huge objective and constraint values by finite
+   * bounds, as in the modernized variant of the algorithm.
+   */
+  private static double moderate(double fval, double[] cval, int from,
+                                 int to) {
+    for (int k = from; k <= to; ++k) {
+      if (Double.isNaN(cval[k]) || cval[k] < -HUGECON) {
+        cval[k] = -HUGECON;
+      } else if (cval[k] > HUGECON) {
+        cval[k] = HUGECON;
+      }
+    }
+    if (Double.isNaN(fval) || fval > HUGEFUN) {
+      return HUGEFUN;
+    }
+    return Math.max(fval, -HUGEFUN);
+  }
+
+  /**
+   * Recalculates SIMI as the inverse of the leading N by N submatrix
+   * of SIM by Gauss-Jordan elimination with partial pivoting.
+   *
+   * @return false if the submatrix is numerically singular.
+   */
+  private boolean invertSimplex() {
+    double[][] aug = new double[1 + n][1 + 2 * n];
+    for (int i = 1; i <= n; ++i) {
+      for (int j = 1; j <= n; ++j) {
+        aug[i][j] = sim[i][j];
+      }
+      aug[i][n + i] = 1.0;
+    }
+    for (int col = 1; col <= n; ++col) {
+      int pivot = col;
+      for (int i = col + 1; i <= n; ++i) {
+        if (Math.abs(aug[i][col]) > Math.abs(aug[pivot][col])) {
+          pivot = i;
+        }
+      }
+      if (Math.abs(aug[pivot][col]) <= 1.0E-12 * rho) {
+        return false;
+      }
+      double[] swap = aug[col];
+      aug[col] = aug[pivot];
+      aug[pivot] = swap;
+      double temp = 1.0 / aug[col][col];
+      for (int j = 1; j <= 2 * n; ++j) {
+        aug[col][j] *= temp;
+      }
+      for (int i = 1; i <= n; ++i) {
+        if (i != col && aug[i][col] != 0.0) {
+          temp = aug[i][col];
+          for (int j = 1; j <= 2 * n; ++j) {
+            aug[i][j] -= temp * aug[col][j];
+          }
+        }
+      }
+    }
+    for (int i = 1; i <= n; ++i) {
+      for (int j = 1; j <= n; ++j) {
+        simi[i][j] = aug[i][n + j];
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Copies the base-1 X array into the reusable zero-based buffer
+   * handed to the listener.
+   */
+  private double[] traceX() {
+    if (trace == null) {
+      trace = new double[n];
+    }
+    System.arraycopy(x, 1, trace, 0, n);
+    return trace;
+  }
+}
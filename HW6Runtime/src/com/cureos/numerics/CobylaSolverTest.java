@@ -0,0 +1,98 @@
+/**
+ * CobylaSolverTest.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package com.cureos.numerics;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * JUnit tests for the start-up of CobylaSolver: a function that can
+ * evaluate batches follows the classic path unless batch start is set.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class CobylaSolverTest {
+  private static final double[] START = { 1, 1, 1 };
+
+  /**
+   * Tests that a batch function without batch start takes exactly the
+   * path of a plain function, under a full and a tight budget.
+   */
+  @Test
+  public void batchFunctionFollowsClassicPath() {
+    for (int maxfun : new int[] { 7, 1000 }) {
+      Weighted weighted = new Weighted();
+      CobylaSolver plain =
+        solve((n, m, x, con) -> weighted.Compute(n, m, x, con), maxfun,
+              false);
+      Weighted batch = new Weighted() {
+        @Override
+        public void ComputeBatch(int n, int m, double[][] x, double[][] con,
+                                 double[] f) {
+          fail("batch evaluated without batch start");
+        }
+      };
+      CobylaSolver classic = solve(batch, maxfun, false);
+      assertEquals(plain.getEvaluationCount(),
+                   classic.getEvaluationCount());
+      assertArrayEquals(plain.getX(), classic.getX(), 0);
+    }
+  }
+
+  /**
+   * Tests that a batch start evaluates the initial simplex in one
+   * batch and still converges to the minimum.
+   */
+  @Test
+  public void batchStartEvaluatesSimplexInOneBatch() {
+    Weighted batch = new Weighted();
+    CobylaSolver solver = solve(batch, 1000, true);
+    assertEquals(1, batch.batches);
+    assertEquals(CobylaExitStatus.Normal, solver.getStatus());
+    assertArrayEquals(new double[] { 3, 3, 3 }, solver.getX(), 1e-4);
+  }
+
+  private static CobylaSolver solve(Calcfc calcfc, int maxfun,
+                                    boolean batchStart) {
+    CobylaSolver solver =
+      new CobylaSolver(calcfc, START.length, 0, START, 0.5, 1.0e-6, 0,
+                       maxfun);
+    solver.setBatchStart(batchStart);
+    while (solver.step()) {
+      // each step makes one call of CALCFC, or one batch of calls
+    }
+    return solver;
+  }
+
+  /**
+   * The sum of (i+1)(x_i-3)^2, counting the batches it evaluates.
+   */
+  private static class Weighted implements BatchCalcfc {
+    int batches;
+
+    @Override
+    public double Compute(int n, int m, double[] x, double[] con) {
+      double f = 0;
+      for (int i = 0; i < n; ++i) {
+        f += (i + 1) * (x[i] - 3) * (x[i] - 3);
+      }
+      return f;
+    }
+
+    @Override
+    public void ComputeBatch(int n, int m, double[][] x, double[][] con,
+                             double[] f) {
+      ++batches;
+      for (int k = 0; k < x.length; ++k) {
+        f[k] = Compute(n, m, x[k], con[k]);
+      }
+    }
+  }
+}
@@ -0,0 +1,34 @@
+/**
+ * CobylaVariant.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package com.cureos.numerics;
+
+/**
+ * Enumeration of the COBYLA algorithm variants that may be run by a
+ * {@link CobylaSolver}.
+ * 
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public enum CobylaVariant {
+  /**
+   * Direct port of the 1990s Fortran COBYLA2, where the trust region
+   * radius is always RHO and RHO is halved at each reduction.
+   */
+  Classic,
+
+  /**
+   * Modernized COBYLA following Powell's later work as collected in
+   * PRIMA: a trust region radius that is expanded or contracted
+   * independently of RHO according to the achieved reduction, the
+   * NEWUOA-style schedule for reducing RHO, recalculation of the
+   * simplex inverse instead of terminating when rounding errors
+   * accumulate, moderation of NaN and huge function values, and
+   * return of the best point evaluated.
+   */
+  Prima
+}
@@ -0,0 +1,291 @@
+/**
+ * AsyncFunction.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous facade of a FunctionInterface: each method of the same name as
+ * a FunctionInterface method starts that remote call on a shared pool and
+ * returns a CompletableFuture of its result at once, so independent calls,
+ * such as fetching several functions' titles, run in parallel and can be
+ * composed. A RemoteException completes the future exceptionally with a
+ * CompletionException around it. Evaluations on a BinaryFunctionClient use
+ * its own pipelining rather than a pool thread.
+ * <p>
+ * The pool has at most sixteen threads, so a burst of calls queues instead
+ * of opening a connection for each.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class AsyncFunction {
+	private static final int MAX_THREADS = 16;
+	private static final AtomicInteger threadCount = new AtomicInteger();
+	private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 30,
+			TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), runnable -> {
+				Thread thread = new Thread(runnable, "async-function-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+	static {
+		executor.allowCoreThreadTimeOut(true);
+	}
+	private final FunctionInterface function;
+
+	/**
+	 * Creates the facade of a function.
+	 *
+	 * @param function - the function the calls are made on
+	 */
+	public AsyncFunction(FunctionInterface function) {
+		this.function = function;
+	}
+
+	/**
+	 * Acquires a function from one or more replicas of a server, as
+	 * FunctionLocator.acquire() does, without waiting.
+	 *
+	 * @param baseUrls - base URLs such as "binary://host:port/" or "rmi://host/"
+	 * @param name - the function name, such as "dell"
+	 * @return CompletableFuture of the function
+	 */
+	public static CompletableFuture<FunctionInterface> acquire(List<String> baseUrls, String name) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return FunctionLocator.acquire(baseUrls, name);
+			} catch (RemoteException e) {
+				throw new CompletionException(e);
+			}
+		}, executor);
+	}
+
+	/**
+	 * Gets the function the calls are made on.
+	 *
+	 * @return FunctionInterface behind the facade
+	 */
+	public FunctionInterface getFunction() {
+		return function;
+	}
+
+	/**
+	 * Starts a call on the pool.
+	 */
+	private <T> CompletableFuture<T> call(RemoteCall<T> call) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return call.on(function);
+			} catch (RemoteException e) {
+				throw new CompletionException(e);
+			}
+		}, executor);
+	}
+
+	/**
+	 * Starts a call that has no result on the pool.
+	 */
+	private CompletableFuture<Void> run(RemoteRun run) {
+		return call(function -> {
+			run.on(function);
+			return null;
+		});
+	}
+
+	/**
+	 * Evaluates the function at a point without changing its inputs. The
+	 * function must be BatchEvaluable.
+	 *
+	 * @param point - double array of input values
+	 * @return CompletableFuture of the function value at the point
+	 */
+	public CompletableFuture<Double> evaluateAt(double[] point) {
+		if (function instanceof BinaryFunctionClient) {
+			return ((BinaryFunctionClient) function).evaluateAtAsync(point);
+		}
+		return call(function -> ((BatchEvaluable) function).evaluateAt(point));
+	}
+
+	/**
+	 * Evaluates the function at each of the points without changing its inputs.
+	 * The function must be BatchEvaluable.
+	 *
+	 * @param points - double arrays of input values
+	 * @return CompletableFuture of the function value at each point
+	 */
+	public CompletableFuture<double[]> evaluateAll(double[][] points) {
+		if (function instanceof BinaryFunctionClient) {
+			return ((BinaryFunctionClient) function).evaluateAllAsync(points);
+		}
+		return call(function -> ((BatchEvaluable) function).evaluateAll(points));
+	}
+
+	public CompletableFuture<String> getEnvironmentalVariables() {
+		return call(FunctionInterface::getEnvironmentalVariables);
+	}
+
+	public CompletableFuture<String> getEnvironmentVariables() {
+		return call(FunctionInterface::getEnvironmentVariables);
+	}
+
+	public CompletableFuture<Strategy> callStrategy(String type) {
+		return call(function -> function.callStrategy(type));
+	}
+
+	public CompletableFuture<Double> evaluate() {
+		return call(FunctionInterface::evaluate);
+	}
+
+	public CompletableFuture<ArrayList<String>> getInputNames() {
+		return call(FunctionInterface::getInputNames);
+	}
+
+	public CompletableFuture<ArrayList<Double>> getInputValues() {
+		return call(FunctionInterface::getInputValues);
+	}
+
+	public CompletableFuture<PointVector> getInputVector() {
+		return call(FunctionInterface::getInputVector);
+	}
+
+	public CompletableFuture<String> getOptimizationTechnique() {
+		return call(FunctionInterface::getOptimizationTechnique);
+	}
+
+	public CompletableFuture<Double> getOutput() {
+		return call(FunctionInterface::getOutput);
+	}
+
+	public CompletableFuture<String> getTitle() {
+		return call(FunctionInterface::getTitle);
+	}
+
+	public CompletableFuture<Boolean> isMinimize() {
+		return call(FunctionInterface::isMinimize);
+	}
+
+	public CompletableFuture<String> getOptimizersString() {
+		return call(FunctionInterface::getOptimizersString);
+	}
+
+	public CompletableFuture<Double> optimize() {
+		return call(FunctionInterface::optimize);
+	}
+
+	public CompletableFuture<Void> setStrategy(Strategy s) {
+		return run(function -> function.setStrategy(s));
+	}
+
+	public CompletableFuture<Void> setInputNames(ArrayList<String> inputNames) {
+		return run(function -> function.setInputNames(inputNames));
+	}
+
+	public CompletableFuture<Void> setInputValues(ArrayList<Double> inputValues) {
+		return run(function -> function.setInputValues(inputValues));
+	}
+
+	public CompletableFuture<Void> setInputVector(PointVector inputVector) {
+		return run(function -> function.setInputVector(inputVector));
+	}
+
+	public CompletableFuture<Void> setMinimize(boolean minimize) {
+		return run(function -> function.setMinimize(minimize));
+	}
+
+	public CompletableFuture<Void> setOptimizationTechnique(String optimizationTechnique) {
+		return run(function -> function.setOptimizationTechnique(optimizationTechnique));
+	}
+
+	public CompletableFuture<Void> setOutput(Double output) {
+		return run(function -> function.setOutput(output));
+	}
+
+	public CompletableFuture<Void> setTitle(String title) {
+		return run(function -> function.setTitle(title));
+	}
+
+	public CompletableFuture<Void> registerObserver(Observer o) {
+		return run(function -> function.registerObserver(o));
+	}
+
+	public CompletableFuture<Void> removeObserver(Observer o) {
+		return run(function -> function.removeObserver(o));
+	}
+
+	public CompletableFuture<Void> notifyObservers() {
+		return run(FunctionInterface::notifyObservers);
+	}
+
+	public CompletableFuture<FunctionSnapshot> getSnapshot() {
+		return call(FunctionInterface::getSnapshot);
+	}
+
+	public CompletableFuture<Long> getMetadataVersion() {
+		return call(FunctionInterface::getMetadataVersion);
+	}
+
+	public CompletableFuture<Evaluator> getEvaluator() {
+		return call(FunctionInterface::getEvaluator);
+	}
+
+	public CompletableFuture<Long> submitOptimization(String strategy, ArrayList<Double> start, int budget) {
+		return call(function -> function.submitOptimization(strategy, start, budget));
+	}
+
+	public CompletableFuture<Long> submitOptimization(String strategy, ArrayList<Double> start, int budget,
+			int priority) {
+		return call(function -> function.submitOptimization(strategy, start, budget, priority));
+	}
+
+	public CompletableFuture<SchedulerStats> getSchedulerStats() {
+		return call(FunctionInterface::getSchedulerStats);
+	}
+
+	public CompletableFuture<JobStatus> status(long jobId) {
+		return call(function -> function.status(jobId));
+	}
+
+	public CompletableFuture<OptimizationResult> awaitResult(long jobId, long timeoutMillis) {
+		return call(function -> function.awaitResult(jobId, timeoutMillis));
+	}
+
+	public CompletableFuture<Boolean> cancel(long jobId) {
+		return call(function -> function.cancel(jobId));
+	}
+
+	public CompletableFuture<Void> registerProgressListener(ProgressListener listener, long minIntervalMillis) {
+		return run(function -> function.registerProgressListener(listener, minIntervalMillis));
+	}
+
+	public CompletableFuture<Void> removeProgressListener(ProgressListener listener) {
+		return run(function -> function.removeProgressListener(listener));
+	}
+
+	/**
+	 * A call on the function with a result.
+	 */
+	private interface RemoteCall<T> {
+		T on(FunctionInterface function) throws RemoteException;
+	}
+
+	/**
+	 * A call on the function without a result.
+	 */
+	private interface RemoteRun {
+		void on(FunctionInterface function) throws RemoteException;
+	}
+
+}
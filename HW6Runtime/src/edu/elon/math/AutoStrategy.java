@@ -0,0 +1,290 @@
+/**
+ * AutoStrategy.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses an optimizer automatically by racing the strategies registered with
+ * the StrategyFactory. Each candidate is run from the starting point on a short
+ * evaluation budget; the better half survive to the next round with double the
+ * budget (successive halving) until one remains, and the rest of the total
+ * budget is given to that winner starting from the best point seen. Candidates
+ * are ranked by the best value reached and then by the number of evaluations
+ * taken to reach it. The winner of a race is remembered for each function
+ * title for an hour so later runs on the same function skip the race. When the
+ * budget is too small for even one round, Powell is used and nothing is
+ * remembered. AutoStrategy implements the Strategy pattern.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class AutoStrategy implements Strategy {
+	private static final long WINNER_TTL_MILLIS = TimeUnit.HOURS.toMillis(1);
+	private static final ConcurrentHashMap<String, Winner> winners = new ConcurrentHashMap<String, Winner>();
+	private int maxNumberEvaluations;
+	private int raceEvaluations;
+	private String winner;
+
+	/**
+	 * Default constructor sets the total budget to 10000 function evaluations and
+	 * the first round of the race to 100 evaluations per candidate.
+	 */
+	public AutoStrategy() {
+		maxNumberEvaluations = 10000;
+		raceEvaluations = 100;
+	}
+
+	/**
+	 * Gets the maximum number of function evaluations, race included.
+	 *
+	 * @return int representing max number of function evaluations
+	 */
+	public int getMaxNumberEvaluations() {
+		return maxNumberEvaluations;
+	}
+
+	/**
+	 * Set the maximum number of function evaluations, race included.
+	 *
+	 * @param maxNumberEvaluations int representing max number of function
+	 * evaluations.
+	 */
+	public void setMaxNumberEvaluations(int maxNumberEvaluations) {
+		this.maxNumberEvaluations = maxNumberEvaluations;
+	}
+
+	/**
+	 * Gets the budget of each candidate in the first round of the race.
+	 *
+	 * @return int representing function evaluations per candidate
+	 */
+	public int getRaceEvaluations() {
+		return raceEvaluations;
+	}
+
+	/**
+	 * Sets the budget of each candidate in the first round of the race.
+	 *
+	 * @param raceEvaluations int representing function evaluations per candidate
+	 */
+	public void setRaceEvaluations(int raceEvaluations) {
+		this.raceEvaluations = raceEvaluations;
+	}
+
+	/**
+	 * Gets the strategy chosen by the most recent run.
+	 *
+	 * @return package qualified class name of the winning strategy
+	 */
+	public String getWinner() {
+		return winner;
+	}
+
+	/**
+	 * Gets the strategy remembered as the winner for a function title.
+	 *
+	 * @param title user friendly name of the function
+	 * @return package qualified class name of the strategy, null if none or if
+	 *         it was remembered more than an hour ago
+	 */
+	public static String getRememberedWinner(String title) {
+		Winner remembered = winners.get(title);
+		if (remembered == null) {
+			return null;
+		}
+		if (System.currentTimeMillis() - remembered.rememberedAt > WINNER_TTL_MILLIS) {
+			winners.remove(title, remembered);
+			return null;
+		}
+		return remembered.name;
+	}
+
+	/**
+	 * Forgets the winner remembered for a function title, so the next run races
+	 * again.
+	 *
+	 * @param title user friendly name of the function
+	 */
+	public static void forgetWinner(String title) {
+		winners.remove(title);
+	}
+
+	/**
+	 * Forgets the winners remembered for every function.
+	 */
+	public static void forgetWinners() {
+		winners.clear();
+	}
+
+	/**
+	 * Races the candidate strategies, or reuses the remembered winner for the
+	 * function, then optimizes with the winner. Leaves the best input values
+	 * found set in the function.
+	 */
+	@Override
+	public Double calculateOptimizationValues(Function function) {
+		StrategyFactory factory = StrategyFactory.getInstance();
+		ArrayList<Double> start = copy(function.getInputValues());
+		Trial best = null;
+		int used = 0;
+
+		winner = getRememberedWinner(function.getTitle());
+		if (winner == null) {
+			List<String> candidates = new ArrayList<String>();
+			for (StrategyDescriptor descriptor : factory.getDescriptors()) {
+				if (!descriptor.getName().equals(getClass().getName())) {
+					candidates.add(descriptor.getName());
+				}
+			}
+			candidates.sort(Comparator.naturalOrder());
+
+			int budget = raceEvaluations;
+			boolean raced = false;
+			while (candidates.size() > 1 && used + candidates.size() * budget < maxNumberEvaluations) {
+				List<Trial> round = new ArrayList<Trial>();
+				for (String candidate : candidates) {
+					Trial trial = run(factory.createStrategy(candidate), candidate, function, start, budget);
+					used += trial.evaluations;
+					round.add(trial);
+					if (trial.isBetterThan(best)) {
+						best = trial;
+					}
+				}
+				round.sort((a, b) -> a.isBetterThan(b) ? -1 : (b.isBetterThan(a) ? 1 : 0));
+				candidates.clear();
+				for (int i = 0; i < (round.size() + 1) / 2; i++) {
+					candidates.add(round.get(i).name);
+				}
+				budget *= 2;
+				raced = true;
+			}
+			if (raced) {
+				winner = candidates.get(0);
+				winners.put(function.getTitle(), new Winner(winner, System.currentTimeMillis()));
+			} else {
+				// no round was run, so no candidate was measured
+				winner = candidates.size() == 1 ? candidates.get(0) : Powell.class.getName();
+			}
+		}
+
+		ArrayList<Double> from = best == null ? start : best.bestInputValues;
+		Trial last = run(factory.createStrategy(winner), winner, function, from, maxNumberEvaluations - used);
+		if (last.isBetterThan(best)) {
+			best = last;
+		}
+
+		function.setOptimizationTechnique(winner);
+		if (best == null) {
+			function.setInputValues(start);
+			return function.evaluate();
+		}
+		function.setInputValues(best.bestInputValues);
+		function.setOutput(best.bestValue);
+		return best.bestValue;
+	}
+
+	/**
+	 * Runs a strategy on a budget limited view of the function.
+	 *
+	 * @param strategy the strategy to run
+	 * @param name package qualified class name of the strategy
+	 * @param function the function being optimized
+	 * @param start input values to start from
+	 * @param budget maximum number of function evaluations
+	 * @return Trial recording the best point reached and when
+	 */
+	private Trial run(Strategy strategy, String name, Function function, ArrayList<Double> start, int budget) {
+		Trial trial = new Trial(name, function.isMinimize());
+		if (strategy == null || budget <= 0) {
+			return trial;
+		}
+		BudgetedFunction budgeted = null;
+		try {
+			budgeted = new BudgetedFunction(function, start, budget);
+			strategy.calculateOptimizationValues(budgeted);
+		} catch (EvaluationStoppedException e) {
+			// the strategy used its whole budget
+		} catch (RemoteException e) {
+			e.printStackTrace();
+		} finally {
+			if (budgeted != null) {
+				trial.record(budgeted);
+				budgeted.release();
+			}
+		}
+		return trial;
+	}
+
+	/**
+	 * Makes a copy of the input values.
+	 *
+	 * @param values ArrayList<Double> representing an input point.
+	 * @return ArrayList<Double> representing duplicate copy of input point.
+	 */
+	private static ArrayList<Double> copy(ArrayList<Double> values) {
+		return new ArrayList<Double>(values);
+	}
+
+	/**
+	 * A strategy that won the race for a function, and when.
+	 */
+	private static class Winner {
+		private final String name;
+		private final long rememberedAt;
+
+		Winner(String name, long rememberedAt) {
+			this.name = name;
+			this.rememberedAt = rememberedAt;
+		}
+	}
+
+	/**
+	 * Result of running one candidate: the best point it reached and the number
+	 * of evaluations it took to reach it.
+	 */
+	private static class Trial {
+		private final String name;
+		private final boolean minimize;
+		private ArrayList<Double> bestInputValues;
+		private double bestValue;
+		private int evaluations;
+		private int evaluationsToBest;
+
+		Trial(String name, boolean minimize) {
+			this.name = name;
+			this.minimize = minimize;
+		}
+
+		void record(BudgetedFunction budgeted) {
+			bestInputValues = budgeted.getBestInputValues();
+			bestValue = budgeted.getBestValue();
+			evaluations = budgeted.getEvaluations();
+			evaluationsToBest = budgeted.getEvaluationsToBest();
+		}
+
+		boolean isBetterThan(Trial other) {
+			if (bestInputValues == null) {
+				return false;
+			}
+			if (other == null || other.bestInputValues == null) {
+				return true;
+			}
+			if (bestValue != other.bestValue) {
+				return minimize ? bestValue < other.bestValue : bestValue > other.bestValue;
+			}
+			return evaluationsToBest < other.evaluationsToBest;
+		}
+	}
+
+}
@@ -0,0 +1,66 @@
+/**
+ * BatchEvaluable.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.util.stream.IntStream;
+
+/**
+ * Implemented by a Function that can evaluate a point without changing its
+ * current inputs or output. Optimizers use it to evaluate independent points,
+ * such as the vertices of a starting simplex, concurrently.
+ * 
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public interface BatchEvaluable {
+
+	/**
+	 * Evaluates the function at the given point. Must not modify the function
+	 * state, as it may be called from several threads at once.
+	 * 
+	 * @param point double array of input values
+	 * @return function value at the point
+	 */
+	public double evaluateAt(double[] point);
+
+	/**
+	 * Evaluates the function at each of the given points. By default the points
+	 * are evaluated in parallel on this JVM's cores; a function whose
+	 * evaluations are done elsewhere can send the whole batch at once instead.
+	 * 
+	 * @param points double arrays of input values
+	 * @return function value at each point
+	 */
+	public default double[] evaluateAll(double[][] points) {
+		double[] values = new double[points.length];
+		IntStream.range(0, points.length).parallel().forEach(k -> values[k] = evaluateAt(points[k]));
+		return values;
+	}
+
+	/**
+	 * Names the objective the function computes, which the EvaluationCache keeps
+	 * its values under. A function that evaluates another's objective, such as a
+	 * local or distributed copy, returns that objective's id.
+	 * 
+	 * @return String id of the objective, by default the class name
+	 */
+	public default String getObjectiveId() {
+		return getClass().getName();
+	}
+
+	/**
+	 * Tells whether an evaluation costs more than a lookup in the shared
+	 * EvaluationCache, so it is worth caching.
+	 * 
+	 * @return true if evaluations should be cached, by default false
+	 */
+	public default boolean isExpensive() {
+		return false;
+	}
+
+}
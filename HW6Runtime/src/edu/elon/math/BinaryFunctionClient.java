@@ -0,0 +1,508 @@
+/**
+ * BinaryFunctionClient.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.rmi.NoSuchObjectException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.server.RemoteObject;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FunctionInterface over the binary protocol of a BinaryFunctionServer,
+ * looked up with a URL such as "binary://localhost:1199/dell". Evaluations use
+ * the protocol's primitive frames and can be pipelined through
+ * evaluateAtAsync() and evaluateAllAsync(); every other method is sent as a
+ * serialized call. Exported remote objects passed as arguments, such as a
+ * ProgressReceiver, are sent as their RMI stubs, as RMI itself would.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class BinaryFunctionClient implements FunctionInterface, BatchEvaluable, Closeable {
+	/**
+	 * URL scheme of the binary protocol
+	 */
+	public static final String SCHEME = "binary";
+	private final SocketChannel socket;
+	private final String objectiveId;
+	private final AtomicInteger nextId = new AtomicInteger();
+	private final ConcurrentHashMap<Integer, CompletableFuture<ByteBuffer>> pending = new ConcurrentHashMap<Integer, CompletableFuture<ByteBuffer>>();
+	private volatile RemoteException lost;
+
+	/**
+	 * Connects to a server and opens one of its functions.
+	 *
+	 * @param host - the server host
+	 * @param port - the binary protocol port
+	 * @param name - the function name, such as "dell"
+	 * @throws RemoteException if the server cannot be reached or has no such
+	 *           function
+	 */
+	public BinaryFunctionClient(String host, int port, String name) throws RemoteException {
+		objectiveId = SCHEME + "://" + host + ":" + port + "/" + name;
+		try {
+			socket = SocketChannel.open(new InetSocketAddress(host, port));
+			socket.setOption(StandardSocketOptions.TCP_NODELAY, true);
+		} catch (IOException e) {
+			throw new RemoteException("Cannot connect to " + host + ":" + port, e);
+		}
+		Thread reader = new Thread(this::read, "binary-client-" + host + ":" + port);
+		reader.setDaemon(true);
+		reader.start();
+		try {
+			await(send(BinaryFunctionServer.OPEN, ByteBuffer.wrap(name.getBytes(StandardCharsets.UTF_8))));
+		} catch (RemoteException | RuntimeException e) {
+			try {
+				socket.close();
+			} catch (IOException closing) {
+				e.addSuppressed(closing);
+			}
+			throw e instanceof RemoteException ? (RemoteException) e : new RemoteException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Connects to the function at a URL of the form binary://host:port/name.
+	 *
+	 * @param url - the function URL
+	 * @return BinaryFunctionClient for the function
+	 * @throws RemoteException
+	 */
+	public static BinaryFunctionClient connect(String url) throws RemoteException {
+		URI uri = URI.create(url);
+		if (!SCHEME.equals(uri.getScheme())) {
+			throw new RemoteException("Not a " + SCHEME + " URL: " + url);
+		}
+		return new BinaryFunctionClient(uri.getHost(), uri.getPort(), uri.getPath().substring(1));
+	}
+
+	/**
+	 * Sends an evaluation without waiting for earlier ones to be answered.
+	 *
+	 * @param point - double array of input values
+	 * @return CompletableFuture of the function value at the point
+	 */
+	public CompletableFuture<Double> evaluateAtAsync(double[] point) {
+		ByteBuffer payload = ByteBuffer.allocate(4 + 8 * point.length);
+		payload.putInt(point.length);
+		for (double d : point) {
+			payload.putDouble(d);
+		}
+		payload.flip();
+		return send(BinaryFunctionServer.EVALUATE_AT, payload).thenApply(ByteBuffer::getDouble);
+	}
+
+	/**
+	 * Sends a batch of evaluations without waiting for earlier ones to be
+	 * answered.
+	 *
+	 * @param points - double arrays of input values, all of one length
+	 * @return CompletableFuture of the function value at each point
+	 */
+	public CompletableFuture<double[]> evaluateAllAsync(double[][] points) {
+		int dimension = points.length == 0 ? 0 : points[0].length;
+		ByteBuffer payload = ByteBuffer.allocate(8 + 8 * points.length * dimension);
+		payload.putInt(points.length);
+		payload.putInt(dimension);
+		for (double[] point : points) {
+			for (double d : point) {
+				payload.putDouble(d);
+			}
+		}
+		payload.flip();
+		return send(BinaryFunctionServer.EVALUATE_ALL, payload).thenApply(buffer -> {
+			double[] values = new double[points.length];
+			for (int k = 0; k < values.length; k++) {
+				values[k] = buffer.getDouble();
+			}
+			return values;
+		});
+	}
+
+	@Override
+	public double evaluateAt(double[] point) {
+		return evaluateAtAsync(point).join();
+	}
+
+	/**
+	 * The server's objective is not known here, so its values are kept under
+	 * the function's URL.
+	 */
+	@Override
+	public String getObjectiveId() {
+		return objectiveId;
+	}
+
+	@Override
+	public double[] evaluateAll(double[][] points) {
+		return evaluateAllAsync(points).join();
+	}
+
+	/**
+	 * Closes the connection, failing any calls still waiting.
+	 */
+	@Override
+	public void close() throws IOException {
+		socket.close();
+	}
+
+	/**
+	 * Writes a request frame and returns the future of its response payload.
+	 */
+	private CompletableFuture<ByteBuffer> send(byte operation, ByteBuffer payload) {
+		int id = nextId.incrementAndGet();
+		CompletableFuture<ByteBuffer> response = new CompletableFuture<ByteBuffer>();
+		pending.put(id, response);
+		// the reader sets lost before failing the pending calls
+		if (lost != null) {
+			pending.remove(id);
+			response.completeExceptionally(lost);
+			return response;
+		}
+		ByteBuffer head = ByteBuffer.allocate(BinaryFunctionServer.HEADER);
+		head.putInt(payload.remaining());
+		head.putInt(id);
+		head.put(operation);
+		head.flip();
+		ByteBuffer[] frame = { head, payload };
+		try {
+			synchronized (socket) {
+				while (head.hasRemaining() || payload.hasRemaining()) {
+					socket.write(frame);
+				}
+			}
+		} catch (IOException e) {
+			pending.remove(id);
+			response.completeExceptionally(new RemoteException("Connection lost", e));
+		}
+		return response;
+	}
+
+	/**
+	 * Reader thread: completes the future of each response as it arrives. Any
+	 * failure, a bad frame included, closes the connection and fails every call
+	 * still waiting, so that no caller is left blocked.
+	 */
+	private void read() {
+		ByteBuffer head = ByteBuffer.allocate(BinaryFunctionServer.HEADER);
+		Throwable failure;
+		try {
+			while (true) {
+				head.clear();
+				BinaryFunctionServer.readFully(socket, head);
+				int length = head.getInt();
+				int id = head.getInt();
+				byte status = head.get();
+				if (length < 0 || length > BinaryFunctionServer.MAX_FRAME) {
+					throw new IOException("Frame length " + length + " is outside 0 to " + BinaryFunctionServer.MAX_FRAME);
+				}
+				ByteBuffer payload = ByteBuffer.allocate(length);
+				BinaryFunctionServer.readFully(socket, payload);
+				CompletableFuture<ByteBuffer> response = pending.remove(id);
+				if (response == null) {
+					continue;
+				}
+				if (status == BinaryFunctionServer.OK) {
+					response.complete(payload);
+				} else {
+					Object error = deserialize(payload);
+					response.completeExceptionally(error instanceof Throwable ? (Throwable) error
+							: new RemoteException("Server error: " + error));
+				}
+			}
+		} catch (Throwable e) {
+			failure = e;
+		}
+		lost = new RemoteException("Connection lost", failure);
+		try {
+			socket.close();
+		} catch (IOException e) {
+			// already failing, the calls are told below
+		}
+		for (Integer id : pending.keySet()) {
+			CompletableFuture<ByteBuffer> response = pending.remove(id);
+			if (response != null) {
+				response.completeExceptionally(lost);
+			}
+		}
+	}
+
+	/**
+	 * Waits for a response, rethrowing the server's exception.
+	 */
+	private ByteBuffer await(CompletableFuture<ByteBuffer> response) throws RemoteException {
+		try {
+			return response.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RemoteException("Interrupted", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RemoteException) {
+				throw (RemoteException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new RemoteException("Call failed", cause);
+		}
+	}
+
+	/**
+	 * Calls a FunctionInterface method on the server.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T invoke(String name, Class<?>[] types, Object... arguments) throws RemoteException {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream out = new StubOutputStream(bytes)) {
+				out.writeObject(name);
+				out.writeObject(types);
+				out.writeObject(arguments);
+			}
+			return (T) deserialize(await(send(BinaryFunctionServer.INVOKE, ByteBuffer.wrap(bytes.toByteArray()))));
+		} catch (RemoteException e) {
+			throw e;
+		} catch (IOException | ClassNotFoundException e) {
+			throw new RemoteException("Cannot call " + name, e);
+		}
+	}
+
+	private <T> T invoke(String name) throws RemoteException {
+		return invoke(name, new Class<?>[0]);
+	}
+
+	private static Object deserialize(ByteBuffer payload) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new ObjectInputStream(
+				new ByteArrayInputStream(payload.array(), payload.position(), payload.remaining()))) {
+			return in.readObject();
+		}
+	}
+
+	/**
+	 * Writes exported remote objects as their stubs.
+	 */
+	private static class StubOutputStream extends ObjectOutputStream {
+		StubOutputStream(ByteArrayOutputStream out) throws IOException {
+			super(out);
+			enableReplaceObject(true);
+		}
+
+		@Override
+		protected Object replaceObject(Object object) throws IOException {
+			if (object instanceof Remote) {
+				try {
+					return RemoteObject.toStub((Remote) object);
+				} catch (NoSuchObjectException e) {
+					// not exported, so already a stub or sent by value
+				}
+			}
+			return object;
+		}
+	}
+
+	@Override
+	public String getEnvironmentalVariables() throws RemoteException {
+		return invoke("getEnvironmentalVariables");
+	}
+
+	@Override
+	public Strategy callStrategy(String type) throws RemoteException {
+		return invoke("callStrategy", new Class<?>[] { String.class }, type);
+	}
+
+	@Override
+	public Double evaluate() throws RemoteException {
+		return invoke("evaluate");
+	}
+
+	@Override
+	public ArrayList<String> getInputNames() throws RemoteException {
+		return invoke("getInputNames");
+	}
+
+	@Override
+	public ArrayList<Double> getInputValues() throws RemoteException {
+		return invoke("getInputValues");
+	}
+
+	@Override
+	public PointVector getInputVector() throws RemoteException {
+		return invoke("getInputVector");
+	}
+
+	@Override
+	public String getOptimizationTechnique() throws RemoteException {
+		return invoke("getOptimizationTechnique");
+	}
+
+	@Override
+	public Double getOutput() throws RemoteException {
+		return invoke("getOutput");
+	}
+
+	@Override
+	public String getTitle() throws RemoteException {
+		return invoke("getTitle");
+	}
+
+	@Override
+	public boolean isMinimize() throws RemoteException {
+		return this.<Boolean>invoke("isMinimize");
+	}
+
+	@Override
+	public String getOptimizersString() throws RemoteException {
+		return invoke("getOptimizersString");
+	}
+
+	@Override
+	public Double optimize() throws RemoteException {
+		return invoke("optimize");
+	}
+
+	@Override
+	public void setStrategy(Strategy s) throws RemoteException {
+		invoke("setStrategy", new Class<?>[] { Strategy.class }, s);
+	}
+
+	@Override
+	public void setInputNames(ArrayList<String> inputNames) throws RemoteException {
+		invoke("setInputNames", new Class<?>[] { ArrayList.class }, inputNames);
+	}
+
+	@Override
+	public void setInputValues(ArrayList<Double> inputValues) throws RemoteException {
+		invoke("setInputValues", new Class<?>[] { ArrayList.class }, inputValues);
+	}
+
+	@Override
+	public void setInputVector(PointVector inputVector) throws RemoteException {
+		invoke("setInputVector", new Class<?>[] { PointVector.class }, inputVector);
+	}
+
+	@Override
+	public void setMinimize(boolean minimize) throws RemoteException {
+		invoke("setMinimize", new Class<?>[] { boolean.class }, minimize);
+	}
+
+	@Override
+	public void setOptimizationTechnique(String optimizationTechnique) throws RemoteException {
+		invoke("setOptimizationTechnique", new Class<?>[] { String.class }, optimizationTechnique);
+	}
+
+	@Override
+	public void setOutput(Double output) throws RemoteException {
+		invoke("setOutput", new Class<?>[] { Double.class }, output);
+	}
+
+	@Override
+	public void setTitle(String title) throws RemoteException {
+		invoke("setTitle", new Class<?>[] { String.class }, title);
+	}
+
+	@Override
+	public void registerObserver(Observer o) throws RemoteException {
+		invoke("registerObserver", new Class<?>[] { Observer.class }, o);
+	}
+
+	@Override
+	public void removeObserver(Observer o) throws RemoteException {
+		invoke("removeObserver", new Class<?>[] { Observer.class }, o);
+	}
+
+	@Override
+	public void notifyObservers() throws RemoteException {
+		invoke("notifyObservers");
+	}
+
+	@Override
+	public String getEnvironmentVariables() throws RemoteException {
+		return invoke("getEnvironmentVariables");
+	}
+
+	@Override
+	public FunctionSnapshot getSnapshot() throws RemoteException {
+		return invoke("getSnapshot");
+	}
+
+	@Override
+	public long getMetadataVersion() throws RemoteException {
+		return this.<Long>invoke("getMetadataVersion");
+	}
+
+	@Override
+	public Evaluator getEvaluator() throws RemoteException {
+		return invoke("getEvaluator");
+	}
+
+	@Override
+	public long submitOptimization(String strategy, ArrayList<Double> start, int budget) throws RemoteException {
+		return this.<Long>invoke("submitOptimization", new Class<?>[] { String.class, ArrayList.class, int.class },
+				strategy, start, budget);
+	}
+
+	@Override
+	public long submitOptimization(String strategy, ArrayList<Double> start, int budget, int priority)
+			throws RemoteException {
+		return this.<Long>invoke("submitOptimization",
+				new Class<?>[] { String.class, ArrayList.class, int.class, int.class }, strategy, start, budget, priority);
+	}
+
+	@Override
+	public SchedulerStats getSchedulerStats() throws RemoteException {
+		return invoke("getSchedulerStats");
+	}
+
+	@Override
+	public JobStatus status(long jobId) throws RemoteException {
+		return invoke("status", new Class<?>[] { long.class }, jobId);
+	}
+
+	@Override
+	public OptimizationResult awaitResult(long jobId, long timeoutMillis) throws RemoteException {
+		return invoke("awaitResult", new Class<?>[] { long.class, long.class }, jobId, timeoutMillis);
+	}
+
+	@Override
+	public boolean cancel(long jobId) throws RemoteException {
+		return this.<Boolean>invoke("cancel", new Class<?>[] { long.class }, jobId);
+	}
+
+	@Override
+	public void registerProgressListener(ProgressListener listener, long minIntervalMillis) throws RemoteException {
+		invoke("registerProgressListener", new Class<?>[] { ProgressListener.class, long.class }, listener,
+				minIntervalMillis);
+	}
+
+	@Override
+	public void removeProgressListener(ProgressListener listener) throws RemoteException {
+		invoke("removeProgressListener", new Class<?>[] { ProgressListener.class }, listener);
+	}
+
+}
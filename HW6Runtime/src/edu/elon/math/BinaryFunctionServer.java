@@ -0,0 +1,370 @@
+/**
+ * BinaryFunctionServer.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves functions over a small length-prefixed binary protocol, next to RMI,
+ * for clients that make very many evaluate calls. Each frame is an int length,
+ * an int request id and a one byte operation or status, followed by its
+ * payload. A client may send many requests without waiting, and responses
+ * carry the id of their request. Evaluations are answered in order on the
+ * connection's thread; other calls are run on a shared pool, so a long
+ * optimize() does not hold up the evaluations pipelined behind it. Each
+ * connection has its own thread.
+ *
+ * Operations:
+ * <ul>
+ * <li>OPEN: function name; chooses the function for the connection</li>
+ * <li>EVALUATE_AT: length and doubles of a point; answered with one double</li>
+ * <li>EVALUATE_ALL: count, dimension and doubles of the points; answered with
+ * count doubles</li>
+ * <li>INVOKE: serialized FunctionInterface method name, parameter types and
+ * arguments; answered with the serialized result</li>
+ * </ul>
+ * Errors are answered with the serialized exception. A frame longer than
+ * MAX_FRAME closes the connection, and an INVOKE payload may hold only the
+ * method name, parameter types and argument values of FunctionInterface calls,
+ * remote arguments being sent as their stubs. The server listens on the
+ * loopback address unless given another.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class BinaryFunctionServer {
+	static final byte OPEN = 1;
+	static final byte EVALUATE_AT = 2;
+	static final byte EVALUATE_ALL = 3;
+	static final byte INVOKE = 4;
+	static final byte OK = 0;
+	static final byte ERROR = 1;
+	static final int HEADER = 9;
+	/**
+	 * Longest frame payload accepted, in bytes
+	 */
+	static final int MAX_FRAME = 16 * 1024 * 1024;
+	// classes an INVOKE payload may hold: its Strings, parameter Classes,
+	// argument values and the stubs of remote arguments such as listeners
+	private static final ObjectInputFilter INVOKE_CLASSES = ObjectInputFilter.Config.createFilter(
+			"maxdepth=8;maxrefs=100000;maxbytes=" + MAX_FRAME + ";java.lang.*;java.util.ArrayList;edu.elon.math.*;"
+					+ "java.lang.reflect.Proxy;java.rmi.Remote;java.rmi.server.RemoteObjectInvocationHandler;java.rmi.server.RemoteObject;"
+					+ "java.rmi.server.ObjID;java.rmi.server.UID;!*");
+	private static final ObjectInputFilter INVOKE_FILTER = info -> {
+		Class<?> type = info.serialClass();
+		if (type != null && Proxy.isProxyClass(type)) {
+			// a stub; each of its interfaces has already been checked on its own
+			return ObjectInputFilter.Status.ALLOWED;
+		}
+		return INVOKE_CLASSES.checkInput(info);
+	};
+	private static final ExecutorService invoker = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "binary-invoke");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final Map<String, Function> functions;
+	private final ServerSocketChannel channel;
+	private final AtomicInteger connections = new AtomicInteger();
+
+	/**
+	 * Opens the server socket on the loopback address.
+	 *
+	 * @param port - the port to listen on, 0 for any free port
+	 * @param functions - the functions to serve by name
+	 * @throws IOException
+	 */
+	public BinaryFunctionServer(int port, Map<String, Function> functions) throws IOException {
+		this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), functions);
+	}
+
+	/**
+	 * Opens the server socket on the given address.
+	 *
+	 * @param address - the address and port to listen on
+	 * @param functions - the functions to serve by name
+	 * @throws IOException
+	 */
+	public BinaryFunctionServer(InetSocketAddress address, Map<String, Function> functions) throws IOException {
+		this.functions = new LinkedHashMap<String, Function>(functions);
+		channel = ServerSocketChannel.open();
+		channel.bind(address);
+	}
+
+	/**
+	 * Gets the port the server listens on.
+	 *
+	 * @return int port number
+	 */
+	public int getPort() {
+		return channel.socket().getLocalPort();
+	}
+
+	/**
+	 * Starts accepting connections on a daemon thread.
+	 */
+	public void start() {
+		Thread acceptor = new Thread(this::accept, "binary-accept-" + getPort());
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	/**
+	 * Stops accepting connections.
+	 *
+	 * @throws IOException
+	 */
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private void accept() {
+		while (channel.isOpen()) {
+			try {
+				SocketChannel socket = channel.accept();
+				socket.setOption(StandardSocketOptions.TCP_NODELAY, true);
+				Thread thread = new Thread(new Connection(socket), "binary-connection-" + connections.incrementAndGet());
+				thread.setDaemon(true);
+				thread.start();
+			} catch (IOException e) {
+				if (channel.isOpen()) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads a frame payload fully from a channel.
+	 *
+	 * @throws EOFException if the channel closes first
+	 */
+	static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				throw new EOFException();
+			}
+		}
+		buffer.flip();
+	}
+
+	/**
+	 * Serializes an object for an INVOKE payload or an error.
+	 */
+	static byte[] serialize(Object object) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(object);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * One client connection and the function it opened.
+	 */
+	private class Connection implements Runnable {
+		private final SocketChannel socket;
+		private final ByteBuffer header = ByteBuffer.allocate(HEADER);
+		private Function function;
+
+		Connection(SocketChannel socket) {
+			this.socket = socket;
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (true) {
+					header.clear();
+					readFully(socket, header);
+					int length = header.getInt();
+					int id = header.getInt();
+					byte operation = header.get();
+					if (length < 0 || length > MAX_FRAME) {
+						throw new IOException("Refused a frame of " + length + " bytes");
+					}
+					ByteBuffer payload = ByteBuffer.allocate(length);
+					readFully(socket, payload);
+					handle(id, operation, payload);
+				}
+			} catch (EOFException e) {
+				// client closed the connection
+			} catch (IOException e) {
+				e.printStackTrace();
+			} finally {
+				try {
+					socket.close();
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+
+		private void handle(int id, byte operation, ByteBuffer payload) throws IOException {
+			try {
+				switch (operation) {
+				case OPEN:
+					byte[] name = new byte[payload.remaining()];
+					payload.get(name);
+					function = functions.get(new String(name, "UTF-8"));
+					if (function == null) {
+						throw new IllegalArgumentException("No function named " + new String(name, "UTF-8"));
+					}
+					reply(id, OK, ByteBuffer.allocate(0));
+					break;
+				case EVALUATE_AT:
+					ByteBuffer value = ByteBuffer.allocate(8);
+					value.putDouble(evaluateAt(readPoint(payload, payload.getInt())));
+					value.flip();
+					reply(id, OK, value);
+					break;
+				case EVALUATE_ALL:
+					int count = payload.getInt();
+					int dimension = payload.getInt();
+					if (count < 0 || dimension < 0 || 8L * count * dimension > payload.remaining()) {
+						throw new IllegalArgumentException(count + " points of dimension " + dimension + " do not fit the frame");
+					}
+					ByteBuffer values = ByteBuffer.allocate(8 * count);
+					double[][] points = new double[count][];
+					for (int k = 0; k < count; k++) {
+						points[k] = readPoint(payload, dimension);
+					}
+					for (double d : evaluateAll(points)) {
+						values.putDouble(d);
+					}
+					values.flip();
+					reply(id, OK, values);
+					break;
+				case INVOKE:
+					Function target = opened();
+					invoker.execute(() -> invoke(id, target, payload));
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown operation " + operation);
+				}
+			} catch (RuntimeException e) {
+				reply(id, ERROR, ByteBuffer.wrap(serialize(e)));
+			}
+		}
+
+		private Function opened() {
+			if (function == null) {
+				throw new IllegalStateException("No function opened");
+			}
+			return function;
+		}
+
+		private double[] readPoint(ByteBuffer payload, int dimension) {
+			if (dimension < 0 || 8L * dimension > payload.remaining()) {
+				throw new IllegalArgumentException("A point of dimension " + dimension + " does not fit the frame");
+			}
+			double[] point = new double[dimension];
+			for (int i = 0; i < dimension; i++) {
+				point[i] = payload.getDouble();
+			}
+			return point;
+		}
+
+		private double evaluateAt(double[] point) {
+			Function target = opened();
+			if (target instanceof BatchEvaluable) {
+				return EvaluationCache.evaluateShared((BatchEvaluable) target, point);
+			}
+			synchronized (target) {
+				ArrayList<Double> values = new ArrayList<Double>();
+				for (double d : point) {
+					values.add(d);
+				}
+				target.setInputValues(values);
+				return target.evaluate();
+			}
+		}
+
+		private double[] evaluateAll(double[][] points) {
+			Function target = opened();
+			if (target instanceof BatchEvaluable) {
+				return EvaluationCache.evaluateAllShared((BatchEvaluable) target, points);
+			}
+			double[] values = new double[points.length];
+			for (int k = 0; k < points.length; k++) {
+				values[k] = evaluateAt(points[k]);
+			}
+			return values;
+		}
+
+		/**
+		 * Calls a FunctionInterface method on the pool and replies with its
+		 * result.
+		 */
+		private void invoke(int id, Function target, ByteBuffer payload) {
+			Object result;
+			byte status = OK;
+			try (ObjectInputStream in = new ObjectInputStream(
+					new ByteArrayInputStream(payload.array(), payload.position(), payload.remaining()))) {
+				in.setObjectInputFilter(INVOKE_FILTER);
+				String name = (String) in.readObject();
+				Class<?>[] types = (Class<?>[]) in.readObject();
+				Object[] arguments = (Object[]) in.readObject();
+				Method method = FunctionInterface.class.getMethod(name, types);
+				try {
+					result = method.invoke(target, arguments);
+				} catch (InvocationTargetException e) {
+					result = e.getCause();
+					status = ERROR;
+				}
+			} catch (ReflectiveOperationException | IOException | RuntimeException e) {
+				// includes payloads refused by the filter
+				result = e;
+				status = ERROR;
+			}
+			try {
+				reply(id, status, ByteBuffer.wrap(serialize(result)));
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+
+		/**
+		 * Writes a response frame. Called from the connection thread and the
+		 * invoke pool.
+		 */
+		private synchronized void reply(int id, byte status, ByteBuffer payload) throws IOException {
+			ByteBuffer head = ByteBuffer.allocate(HEADER);
+			head.putInt(payload.remaining());
+			head.putInt(id);
+			head.put(status);
+			head.flip();
+			ByteBuffer[] frame = { head, payload };
+			while (payload.hasRemaining() || head.hasRemaining()) {
+				socket.write(frame);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,190 @@
+/**
+ * BudgetedFunction.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.NoSuchObjectException;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Private view of a function for one strategy run. Each evaluation is counted
+ * against a budget and the best point seen is recorded; evaluate() throws
+ * EvaluationStoppedException once the budget is used or the run is stopped.
+ * Functions that are BatchEvaluable are evaluated through evaluateAt() so
+ * several views of the same function can run at once without touching its
+ * inputs, and through the shared EvaluationCache when there is one and they
+ * are expensive; other functions are evaluated one view at a time. Progress
+ * is published to the target and to any other function following the view.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+class BudgetedFunction extends Function {
+	private static final long serialVersionUID = 1L;
+	private final Function target;
+	private final int budget;
+	private final CopyOnWriteArrayList<Function> followers = new CopyOnWriteArrayList<Function>();
+	private volatile boolean stopped;
+	private volatile int evaluations;
+	private ArrayList<Double> bestInputValues;
+	private double bestValue;
+	private int evaluationsToBest;
+
+	/**
+	 * Creates a view of the target starting at the given point.
+	 *
+	 * @param target the function being optimized
+	 * @param start input values to start from
+	 * @param budget maximum number of function evaluations, no limit if zero or
+	 *          less
+	 */
+	BudgetedFunction(Function target, ArrayList<Double> start, int budget) throws RemoteException {
+		this.target = target;
+		this.budget = budget > 0 ? budget : Integer.MAX_VALUE;
+		setInputValues(new ArrayList<Double>(start));
+		setInputNames(target.getInputNames());
+		setMinimize(target.isMinimize());
+		setTitle(target.getTitle());
+	}
+
+	@Override
+	public Double evaluate() {
+		if (stopped || evaluations >= budget) {
+			throw new EvaluationStoppedException();
+		}
+		ArrayList<Double> inputs = getInputValues();
+		double[] point = new double[inputs.size()];
+		for (int i = 0; i < point.length; i++) {
+			point[i] = inputs.get(i);
+		}
+		double value;
+		if (target instanceof BatchEvaluable) {
+			value = EvaluationCache.evaluateShared((BatchEvaluable) target, point);
+			target.publishProgress(point, value);
+		} else {
+			synchronized (target) {
+				target.setInputValues(new ArrayList<Double>(inputs));
+				value = target.evaluate();
+			}
+		}
+		for (Function follower : followers) {
+			follower.publishProgress(point, value);
+		}
+		record(inputs, value);
+		setOutput(value);
+		return value;
+	}
+
+	/**
+	 * Records one evaluation, keeping the best point seen.
+	 *
+	 * @param inputValues the point evaluated
+	 * @param value the function value at the point
+	 */
+	private synchronized void record(ArrayList<Double> inputValues, double value) {
+		evaluations++;
+		if (bestInputValues == null || (isMinimize() ? value < bestValue : value > bestValue)) {
+			bestInputValues = new ArrayList<Double>(inputValues);
+			bestValue = value;
+			evaluationsToBest = evaluations;
+		}
+	}
+
+	/**
+	 * Publishes the progress of the view to another function as well, such as
+	 * one whose job joined this run.
+	 *
+	 * @param function the function whose progress listeners should follow the
+	 *          run
+	 */
+	void addFollower(Function function) {
+		if (function != target) {
+			followers.addIfAbsent(function);
+		}
+	}
+
+	/**
+	 * Stops publishing the progress of the view to a function.
+	 *
+	 * @param function a function added with addFollower()
+	 */
+	void removeFollower(Function function) {
+		followers.remove(function);
+	}
+
+	/**
+	 * Makes the next call to evaluate() stop the strategy.
+	 */
+	void stop() {
+		stopped = true;
+	}
+
+	/**
+	 * Checks whether the run was stopped before its budget was used.
+	 *
+	 * @return true if stop() has been called
+	 */
+	boolean isStopped() {
+		return stopped;
+	}
+
+	/**
+	 * Gets the number of evaluations made so far.
+	 *
+	 * @return int count of function evaluations
+	 */
+	int getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * Gets the best point seen.
+	 *
+	 * @return ArrayList<Double> of the best input values, null if none evaluated
+	 */
+	synchronized ArrayList<Double> getBestInputValues() {
+		return bestInputValues;
+	}
+
+	/**
+	 * Gets the function value at the best point seen.
+	 *
+	 * @return double best function value
+	 */
+	synchronized double getBestValue() {
+		return bestValue;
+	}
+
+	/**
+	 * Gets the number of evaluations taken to reach the best point.
+	 *
+	 * @return int count of function evaluations
+	 */
+	synchronized int getEvaluationsToBest() {
+		return evaluationsToBest;
+	}
+
+	/**
+	 * Unexports the view once the run is over.
+	 */
+	void release() {
+		try {
+			UnicastRemoteObject.unexportObject(this, true);
+		} catch (NoSuchObjectException e) {
+			// never exported
+		}
+	}
+
+	@Override
+	public String getEnvironmentalVariables() throws RemoteException {
+		return target.getEnvironmentalVariables();
+	}
+
+}
@@ -0,0 +1,96 @@
+/**
+ * CacheStats.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.io.Serializable;
+
+/**
+ * Immutable counts of an evaluation cache, or of several added together, at
+ * one moment.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public final class CacheStats implements Serializable {
+	private static final long serialVersionUID = 1L;
+	private final long hits;
+	private final long misses;
+	private final long evictions;
+	private final int entries;
+
+	CacheStats(long hits, long misses, long evictions, int entries) {
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+		this.entries = entries;
+	}
+
+	/**
+	 * Gets the number of lookups answered from the cache.
+	 *
+	 * @return long count of hits
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Gets the number of lookups not found in the cache.
+	 *
+	 * @return long count of misses
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Gets the number of entries dropped because they expired or the cache was
+	 * full.
+	 *
+	 * @return long count of evictions
+	 */
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Gets the number of entries held.
+	 *
+	 * @return int count of entries
+	 */
+	public int getEntries() {
+		return entries;
+	}
+
+	/**
+	 * Gets the share of lookups answered from the cache.
+	 *
+	 * @return double between 0 and 1, 0 if there were no lookups
+	 */
+	public double getHitRatio() {
+		return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+	}
+
+	/**
+	 * Adds the counts of another cache to these.
+	 *
+	 * @param other the counts to add
+	 * @return CacheStats of both caches together
+	 */
+	public CacheStats plus(CacheStats other) {
+		return new CacheStats(hits + other.hits, misses + other.misses, evictions + other.evictions,
+				entries + other.entries);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("hits=%d misses=%d hitRatio=%.3f evictions=%d entries=%d", hits, misses, getHitRatio(),
+				evictions, entries);
+	}
+
+}
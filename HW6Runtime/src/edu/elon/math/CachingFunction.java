@@ -0,0 +1,293 @@
+/**
+ * CachingFunction.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+
+/**
+ * Client side decorator of a FunctionInterface that keeps copies of the
+ * metadata clients read over and over but servers rarely change: title, input
+ * names, direction, optimizers and environmental variables. The copies are
+ * tagged with the server's metadata version and trusted for a short time;
+ * after that the next read asks the server for the version alone and fetches
+ * the metadata again only if it changed. Setting any of the metadata through
+ * the decorator drops the copies at once. Every other call, including all
+ * mutating calls, is passed straight through. CachingFunction implements the
+ * Decorator pattern.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class CachingFunction implements FunctionInterface {
+	private final FunctionInterface function;
+	private final long maxAgeMillis;
+	private volatile Metadata metadata;
+
+	/**
+	 * Caches the metadata of a function, checking its version at most once a
+	 * second.
+	 *
+	 * @param function - the function to decorate, usually a remote stub
+	 */
+	public CachingFunction(FunctionInterface function) {
+		this(function, 1000);
+	}
+
+	/**
+	 * Caches the metadata of a function.
+	 *
+	 * @param function - the function to decorate, usually a remote stub
+	 * @param maxAgeMillis - how long the copies are used before the version is
+	 *          checked again, zero to check on every read
+	 */
+	public CachingFunction(FunctionInterface function, long maxAgeMillis) {
+		this.function = function;
+		this.maxAgeMillis = maxAgeMillis;
+	}
+
+	/**
+	 * Gets the decorated function.
+	 *
+	 * @return FunctionInterface the calls are passed to
+	 */
+	public FunctionInterface getFunction() {
+		return function;
+	}
+
+	/**
+	 * Drops the cached metadata so the next read fetches it again.
+	 */
+	public void invalidate() {
+		metadata = null;
+	}
+
+	/**
+	 * Gets the cached metadata, checking its version if it is older than the
+	 * maximum age and fetching it again if it is missing or out of date.
+	 */
+	private Metadata metadata() throws RemoteException {
+		Metadata current = metadata;
+		long now = System.currentTimeMillis();
+		if (current != null && now - current.checkedAt < maxAgeMillis) {
+			return current;
+		}
+		long version = function.getMetadataVersion();
+		if (current != null && current.version == version) {
+			current.checkedAt = now;
+			return current;
+		}
+		// the version is read first, so a change made while fetching is seen
+		// at the next check
+		current = new Metadata(version, function.getSnapshot(), function.getOptimizersString(),
+				function.getEnvironmentVariables(), now);
+		metadata = current;
+		return current;
+	}
+
+	@Override
+	public String getTitle() throws RemoteException {
+		return metadata().snapshot.getTitle();
+	}
+
+	@Override
+	public ArrayList<String> getInputNames() throws RemoteException {
+		return new ArrayList<String>(metadata().snapshot.getInputNames());
+	}
+
+	@Override
+	public boolean isMinimize() throws RemoteException {
+		return metadata().snapshot.isMinimize();
+	}
+
+	@Override
+	public String getOptimizersString() throws RemoteException {
+		return metadata().optimizersString;
+	}
+
+	@Override
+	public String getEnvironmentalVariables() throws RemoteException {
+		// the snapshot's optimizers come from getEnvironmentalVariables()
+		return metadata().snapshot.getOptimizersString();
+	}
+
+	@Override
+	public String getEnvironmentVariables() throws RemoteException {
+		return metadata().environmentVariables;
+	}
+
+	@Override
+	public long getMetadataVersion() throws RemoteException {
+		return function.getMetadataVersion();
+	}
+
+	@Override
+	public Evaluator getEvaluator() throws RemoteException {
+		return function.getEvaluator();
+	}
+
+	@Override
+	public void setTitle(String title) throws RemoteException {
+		invalidate();
+		function.setTitle(title);
+	}
+
+	@Override
+	public void setInputNames(ArrayList<String> inputNames) throws RemoteException {
+		invalidate();
+		function.setInputNames(inputNames);
+	}
+
+	@Override
+	public void setMinimize(boolean minimize) throws RemoteException {
+		invalidate();
+		function.setMinimize(minimize);
+	}
+
+	@Override
+	public Strategy callStrategy(String type) throws RemoteException {
+		return function.callStrategy(type);
+	}
+
+	@Override
+	public Double evaluate() throws RemoteException {
+		return function.evaluate();
+	}
+
+	@Override
+	public ArrayList<Double> getInputValues() throws RemoteException {
+		return function.getInputValues();
+	}
+
+	@Override
+	public PointVector getInputVector() throws RemoteException {
+		return function.getInputVector();
+	}
+
+	@Override
+	public String getOptimizationTechnique() throws RemoteException {
+		return function.getOptimizationTechnique();
+	}
+
+	@Override
+	public Double getOutput() throws RemoteException {
+		return function.getOutput();
+	}
+
+	@Override
+	public Double optimize() throws RemoteException {
+		return function.optimize();
+	}
+
+	@Override
+	public void setStrategy(Strategy s) throws RemoteException {
+		function.setStrategy(s);
+	}
+
+	@Override
+	public void setInputValues(ArrayList<Double> inputValues) throws RemoteException {
+		function.setInputValues(inputValues);
+	}
+
+	@Override
+	public void setInputVector(PointVector inputVector) throws RemoteException {
+		function.setInputVector(inputVector);
+	}
+
+	@Override
+	public void setOptimizationTechnique(String optimizationTechnique) throws RemoteException {
+		function.setOptimizationTechnique(optimizationTechnique);
+	}
+
+	@Override
+	public void setOutput(Double output) throws RemoteException {
+		function.setOutput(output);
+	}
+
+	@Override
+	public void registerObserver(Observer o) throws RemoteException {
+		function.registerObserver(o);
+	}
+
+	@Override
+	public void removeObserver(Observer o) throws RemoteException {
+		function.removeObserver(o);
+	}
+
+	@Override
+	public void notifyObservers() throws RemoteException {
+		function.notifyObservers();
+	}
+
+	@Override
+	public FunctionSnapshot getSnapshot() throws RemoteException {
+		return function.getSnapshot();
+	}
+
+	@Override
+	public long submitOptimization(String strategy, ArrayList<Double> start, int budget) throws RemoteException {
+		return function.submitOptimization(strategy, start, budget);
+	}
+
+	@Override
+	public long submitOptimization(String strategy, ArrayList<Double> start, int budget, int priority)
+			throws RemoteException {
+		return function.submitOptimization(strategy, start, budget, priority);
+	}
+
+	@Override
+	public SchedulerStats getSchedulerStats() throws RemoteException {
+		return function.getSchedulerStats();
+	}
+
+	@Override
+	public JobStatus status(long jobId) throws RemoteException {
+		return function.status(jobId);
+	}
+
+	@Override
+	public OptimizationResult awaitResult(long jobId, long timeoutMillis) throws RemoteException {
+		return function.awaitResult(jobId, timeoutMillis);
+	}
+
+	@Override
+	public boolean cancel(long jobId) throws RemoteException {
+		return function.cancel(jobId);
+	}
+
+	@Override
+	public void registerProgressListener(ProgressListener listener, long minIntervalMillis) throws RemoteException {
+		function.registerProgressListener(listener, minIntervalMillis);
+	}
+
+	@Override
+	public void removeProgressListener(ProgressListener listener) throws RemoteException {
+		function.removeProgressListener(listener);
+	}
+
+	/**
+	 * Copies of the metadata at one version.
+	 */
+	private static class Metadata {
+		private final long version;
+		private final FunctionSnapshot snapshot;
+		private final String optimizersString;
+		private final String environmentVariables;
+		private volatile long checkedAt;
+
+		Metadata(long version, FunctionSnapshot snapshot, String optimizersString, String environmentVariables,
+				long checkedAt) {
+			this.version = version;
+			this.snapshot = snapshot;
+			this.optimizersString = optimizersString;
+			this.environmentVariables = environmentVariables;
+			this.checkedAt = checkedAt;
+		}
+	}
+
+}
@@ -0,0 +1,264 @@
+/**
+ * ColocatedFunction.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+
+/**
+ * A function served from this JVM, called directly instead of through its RMI
+ * stub. Calls are not marshalled; only the mutable lists a remote caller would
+ * have received as copies are copied, so neither side can change the other's
+ * list. The stub is kept so the server still sees the caller's lease, as
+ * FunctionFactory relies on it to take instances back.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+class ColocatedFunction implements FunctionInterface, BatchEvaluable {
+	private final Function function;
+	private final Remote stub;
+
+	/**
+	 * Wraps a function exported in this JVM.
+	 *
+	 * @param function - the exported function
+	 * @param stub - the stub the caller looked up
+	 */
+	ColocatedFunction(Function function, Remote stub) {
+		this.function = function;
+		this.stub = stub;
+	}
+
+	/**
+	 * Gets the stub the caller looked up, which FunctionFactory knows its
+	 * instances by.
+	 *
+	 * @return Remote stub of the function
+	 */
+	Remote getStub() {
+		return stub;
+	}
+
+	@Override
+	public double evaluateAt(double[] point) {
+		if (function instanceof BatchEvaluable) {
+			return ((BatchEvaluable) function).evaluateAt(point);
+		}
+		synchronized (function) {
+			ArrayList<Double> values = new ArrayList<Double>();
+			for (double d : point) {
+				values.add(d);
+			}
+			function.setInputValues(values);
+			return function.evaluate();
+		}
+	}
+
+	@Override
+	public double[] evaluateAll(double[][] points) {
+		if (function instanceof BatchEvaluable) {
+			return ((BatchEvaluable) function).evaluateAll(points);
+		}
+		return BatchEvaluable.super.evaluateAll(points);
+	}
+
+	@Override
+	public String getObjectiveId() {
+		if (function instanceof BatchEvaluable) {
+			return ((BatchEvaluable) function).getObjectiveId();
+		}
+		return function.getClass().getName();
+	}
+
+	@Override
+	public boolean isExpensive() {
+		return function instanceof BatchEvaluable && ((BatchEvaluable) function).isExpensive();
+	}
+
+	@Override
+	public ArrayList<String> getInputNames() {
+		return copy(function.getInputNames());
+	}
+
+	@Override
+	public void setInputNames(ArrayList<String> inputNames) {
+		function.setInputNames(copy(inputNames));
+	}
+
+	@Override
+	public ArrayList<Double> getInputValues() {
+		return copy(function.getInputValues());
+	}
+
+	@Override
+	public void setInputValues(ArrayList<Double> inputValues) {
+		function.setInputValues(copy(inputValues));
+	}
+
+	@Override
+	public long submitOptimization(String strategy, ArrayList<Double> start, int budget) {
+		return function.submitOptimization(strategy, start, budget);
+	}
+
+	@Override
+	public long submitOptimization(String strategy, ArrayList<Double> start, int budget, int priority) {
+		return function.submitOptimization(strategy, start, budget, priority);
+	}
+
+	private static <T> ArrayList<T> copy(ArrayList<T> list) {
+		return list == null ? null : new ArrayList<T>(list);
+	}
+
+	@Override
+	public String getEnvironmentalVariables() throws RemoteException {
+		return function.getEnvironmentalVariables();
+	}
+
+	@Override
+	public Strategy callStrategy(String type) {
+		return function.callStrategy(type);
+	}
+
+	@Override
+	public Double evaluate() {
+		return function.evaluate();
+	}
+
+	@Override
+	public PointVector getInputVector() {
+		return function.getInputVector();
+	}
+
+	@Override
+	public String getOptimizationTechnique() {
+		return function.getOptimizationTechnique();
+	}
+
+	@Override
+	public Double getOutput() {
+		return function.getOutput();
+	}
+
+	@Override
+	public String getTitle() {
+		return function.getTitle();
+	}
+
+	@Override
+	public boolean isMinimize() {
+		return function.isMinimize();
+	}
+
+	@Override
+	public String getOptimizersString() {
+		return function.getOptimizersString();
+	}
+
+	@Override
+	public Double optimize() {
+		return function.optimize();
+	}
+
+	@Override
+	public void setStrategy(Strategy s) {
+		function.setStrategy(s);
+	}
+
+	@Override
+	public void setInputVector(PointVector inputVector) {
+		function.setInputVector(inputVector);
+	}
+
+	@Override
+	public void setMinimize(boolean minimize) {
+		function.setMinimize(minimize);
+	}
+
+	@Override
+	public void setOptimizationTechnique(String optimizationTechnique) {
+		function.setOptimizationTechnique(optimizationTechnique);
+	}
+
+	@Override
+	public void setOutput(Double output) {
+		function.setOutput(output);
+	}
+
+	@Override
+	public void setTitle(String title) {
+		function.setTitle(title);
+	}
+
+	@Override
+	public void registerObserver(Observer o) {
+		function.registerObserver(o);
+	}
+
+	@Override
+	public void removeObserver(Observer o) {
+		function.removeObserver(o);
+	}
+
+	@Override
+	public void notifyObservers() {
+		function.notifyObservers();
+	}
+
+	@Override
+	public String getEnvironmentVariables() throws RemoteException {
+		return function.getEnvironmentVariables();
+	}
+
+	@Override
+	public FunctionSnapshot getSnapshot() throws RemoteException {
+		return function.getSnapshot();
+	}
+
+	@Override
+	public long getMetadataVersion() {
+		return function.getMetadataVersion();
+	}
+
+	@Override
+	public Evaluator getEvaluator() {
+		return function.getEvaluator();
+	}
+
+	@Override
+	public SchedulerStats getSchedulerStats() {
+		return function.getSchedulerStats();
+	}
+
+	@Override
+	public JobStatus status(long jobId) {
+		return function.status(jobId);
+	}
+
+	@Override
+	public OptimizationResult awaitResult(long jobId, long timeoutMillis) {
+		return function.awaitResult(jobId, timeoutMillis);
+	}
+
+	@Override
+	public boolean cancel(long jobId) {
+		return function.cancel(jobId);
+	}
+
+	@Override
+	public void registerProgressListener(ProgressListener listener, long minIntervalMillis) {
+		function.registerProgressListener(listener, minIntervalMillis);
+	}
+
+	@Override
+	public void removeProgressListener(ProgressListener listener) {
+		function.removeProgressListener(listener);
+	}
+
+}
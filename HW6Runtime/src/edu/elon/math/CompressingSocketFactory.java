@@ -0,0 +1,373 @@
+/**
+ * CompressingSocketFactory.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.rmi.NoSuchObjectException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * RMI socket factory for exported functions. Sockets have TCP_NODELAY set, so
+ * small calls are not held back, and tuned socket buffers. Their streams are
+ * buffered and sent as frames, one per flush or full buffer, and a frame at
+ * least the compression threshold long is deflated when that makes it
+ * smaller. RMI flushes after each call, so small calls go out uncompressed and
+ * large point sets and traces are compressed. The same instance is used as
+ * the client factory, which travels in the stub, and the server factory.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class CompressingSocketFactory implements RMIClientSocketFactory, RMIServerSocketFactory, Serializable {
+	private static final long serialVersionUID = 1L;
+	private static final int COMPRESSED = 0x80000000;
+	private static final AtomicLong payloadBytes = new AtomicLong();
+	private static final AtomicLong wireBytes = new AtomicLong();
+	private final int bufferSize;
+	private final int compressionThreshold;
+
+	/**
+	 * Creates a factory with 64 KB buffers that compresses frames of 1 KB or
+	 * more.
+	 */
+	public CompressingSocketFactory() {
+		this(64 * 1024, 1024);
+	}
+
+	/**
+	 * Creates a factory.
+	 *
+	 * @param bufferSize - size of the stream and socket buffers in bytes
+	 * @param compressionThreshold - smallest frame that is deflated, or a
+	 *          negative number for buffering without compression
+	 */
+	public CompressingSocketFactory(int bufferSize, int compressionThreshold) {
+		this.bufferSize = bufferSize;
+		this.compressionThreshold = compressionThreshold;
+	}
+
+	/**
+	 * Exports a remote object again with this factory, so that it accepts calls
+	 * only through framed sockets. Used when binding a Function that has
+	 * already been exported with default sockets by its constructor.
+	 *
+	 * @param object - the remote object
+	 * @return Remote stub that connects with this factory
+	 * @throws RemoteException
+	 */
+	public Remote export(Remote object) throws RemoteException {
+		try {
+			UnicastRemoteObject.unexportObject(object, true);
+		} catch (NoSuchObjectException e) {
+			// not exported yet
+		}
+		return UnicastRemoteObject.exportObject(object, 0, this, this);
+	}
+
+	/**
+	 * Gets the number of bytes written by the application to framed sockets in
+	 * this JVM.
+	 *
+	 * @return long count of bytes before compression
+	 */
+	public static long getPayloadBytes() {
+		return payloadBytes.get();
+	}
+
+	/**
+	 * Gets the number of bytes sent by framed sockets in this JVM.
+	 *
+	 * @return long count of bytes after compression, frame headers included
+	 */
+	public static long getWireBytes() {
+		return wireBytes.get();
+	}
+
+	@Override
+	public Socket createSocket(String host, int port) throws IOException {
+		Socket socket = new FramedSocket();
+		configure(socket);
+		socket.connect(new InetSocketAddress(host, port));
+		return socket;
+	}
+
+	@Override
+	public ServerSocket createServerSocket(int port) throws IOException {
+		return new ServerSocket(port) {
+			@Override
+			public Socket accept() throws IOException {
+				Socket socket = new FramedSocket();
+				implAccept(socket);
+				configure(socket);
+				return socket;
+			}
+		};
+	}
+
+	private void configure(Socket socket) throws IOException {
+		socket.setTcpNoDelay(true);
+		socket.setSendBufferSize(bufferSize);
+		socket.setReceiveBufferSize(bufferSize);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof CompressingSocketFactory)) {
+			return false;
+		}
+		CompressingSocketFactory other = (CompressingSocketFactory) o;
+		return bufferSize == other.bufferSize && compressionThreshold == other.compressionThreshold;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * bufferSize + compressionThreshold;
+	}
+
+	/**
+	 * Socket whose streams read and write frames.
+	 */
+	private class FramedSocket extends Socket {
+		private InputStream in;
+		private OutputStream out;
+
+		@Override
+		public synchronized InputStream getInputStream() throws IOException {
+			if (in == null) {
+				in = new FrameInputStream(new BufferedInputStream(super.getInputStream(), bufferSize), bufferSize);
+			}
+			return in;
+		}
+
+		@Override
+		public synchronized OutputStream getOutputStream() throws IOException {
+			if (out == null) {
+				out = new FrameOutputStream(new BufferedOutputStream(super.getOutputStream(), bufferSize + 8));
+			}
+			return out;
+		}
+	}
+
+	/**
+	 * Buffers writes and sends them as one frame on flush: a length, with the
+	 * top bit set if deflated, followed by the bytes.
+	 */
+	private class FrameOutputStream extends FilterOutputStream {
+		private final byte[] buffer = new byte[bufferSize];
+		private final byte[] compressed = new byte[bufferSize];
+		private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		private int count;
+
+		FrameOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			if (count == buffer.length) {
+				writeFrame();
+			}
+			buffer[count++] = (byte) b;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			while (len > 0) {
+				if (count == buffer.length) {
+					writeFrame();
+				}
+				int n = Math.min(len, buffer.length - count);
+				System.arraycopy(b, off, buffer, count, n);
+				count += n;
+				off += n;
+				len -= n;
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			writeFrame();
+			out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			} finally {
+				deflater.end();
+			}
+		}
+
+		private void writeFrame() throws IOException {
+			if (count == 0) {
+				return;
+			}
+			payloadBytes.addAndGet(count);
+			if (compressionThreshold >= 0 && count >= compressionThreshold) {
+				deflater.reset();
+				deflater.setInput(buffer, 0, count);
+				deflater.finish();
+				int length = 0;
+				while (!deflater.finished() && length < count) {
+					length += deflater.deflate(compressed, length, compressed.length - length);
+				}
+				if (deflater.finished() && length + 4 < count) {
+					writeInt(COMPRESSED | length);
+					writeInt(count);
+					out.write(compressed, 0, length);
+					wireBytes.addAndGet(8 + length);
+					count = 0;
+					return;
+				}
+			}
+			writeInt(count);
+			out.write(buffer, 0, count);
+			wireBytes.addAndGet(4 + count);
+			count = 0;
+		}
+
+		private void writeInt(int v) throws IOException {
+			out.write(v >>> 24);
+			out.write(v >>> 16);
+			out.write(v >>> 8);
+			out.write(v);
+		}
+	}
+
+	/**
+	 * Reads the frames written by a FrameOutputStream, refusing any frame larger
+	 * than the writer's buffer.
+	 */
+	private static class FrameInputStream extends FilterInputStream {
+		private final DataInputStream data;
+		private final int maxFrame;
+		private final Inflater inflater = new Inflater();
+		private byte[] frame = new byte[0];
+		private byte[] compressed = new byte[0];
+		private int position;
+		private int limit;
+
+		FrameInputStream(InputStream in, int maxFrame) {
+			super(in);
+			data = new DataInputStream(in);
+			this.maxFrame = maxFrame;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (!fill()) {
+				return -1;
+			}
+			return frame[position++] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (!fill()) {
+				return -1;
+			}
+			int n = Math.min(len, limit - position);
+			System.arraycopy(frame, position, b, off, n);
+			position += n;
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return limit - position;
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			} finally {
+				inflater.end();
+			}
+		}
+
+		/**
+		 * Reads the next frame once the current one is used up.
+		 *
+		 * @return false at the end of the stream
+		 */
+		private boolean fill() throws IOException {
+			while (position == limit) {
+				int header;
+				try {
+					header = data.readInt();
+				} catch (EOFException e) {
+					return false;
+				}
+				int length = checkSize(header & ~COMPRESSED);
+				if ((header & COMPRESSED) == 0) {
+					frame = ensure(frame, length);
+					data.readFully(frame, 0, length);
+					limit = length;
+				} else {
+					int size = checkSize(data.readInt());
+					compressed = ensure(compressed, length);
+					data.readFully(compressed, 0, length);
+					frame = ensure(frame, size);
+					inflater.reset();
+					inflater.setInput(compressed, 0, length);
+					try {
+						limit = inflater.inflate(frame, 0, size);
+					} catch (DataFormatException e) {
+						throw new IOException("Corrupt compressed frame", e);
+					}
+				}
+				position = 0;
+			}
+			return true;
+		}
+
+		/**
+		 * Checks a length read from the stream before anything is allocated for
+		 * it.
+		 *
+		 * @return the length
+		 * @throws IOException if it is negative or longer than any frame written
+		 */
+		private int checkSize(int size) throws IOException {
+			if (size < 0 || size > maxFrame) {
+				throw new IOException("Frame length " + size + " is outside 0 to " + maxFrame);
+			}
+			return size;
+		}
+
+		private static byte[] ensure(byte[] array, int size) {
+			return array.length >= size ? array : new byte[size];
+		}
+	}
+
+}
@@ -0,0 +1,213 @@
+/**
+ * CompressingSocketFactoryTest.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * JUnit tests for the framing of CompressingSocketFactory sockets, over a real
+ * loopback connection: bytes arrive unchanged whether their frames are
+ * deflated or not, and only frames that shrink are deflated.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class CompressingSocketFactoryTest {
+	private static final int BUFFER = 4096;
+	private static final int THRESHOLD = 256;
+
+	/**
+	 * Tests that a frame under the threshold is sent as is, behind a four byte
+	 * length.
+	 */
+	@Test(timeout = 10000)
+	public void smallFrameIsNotCompressed() throws Exception {
+		byte[] message = new byte[THRESHOLD - 1];
+		long wire = CompressingSocketFactory.getWireBytes();
+		assertArrayEquals(message, transfer(new CompressingSocketFactory(BUFFER, THRESHOLD), message));
+		assertEquals(message.length + 4, CompressingSocketFactory.getWireBytes() - wire);
+	}
+
+	/**
+	 * Tests that a compressible frame at the threshold or over is deflated and
+	 * arrives unchanged.
+	 */
+	@Test(timeout = 10000)
+	public void compressibleFrameIsDeflated() throws Exception {
+		byte[] message = new byte[BUFFER];
+		for (int i = 0; i < message.length; i++) {
+			message[i] = (byte) (i % 7);
+		}
+		long payload = CompressingSocketFactory.getPayloadBytes();
+		long wire = CompressingSocketFactory.getWireBytes();
+		assertArrayEquals(message, transfer(new CompressingSocketFactory(BUFFER, THRESHOLD), message));
+		assertEquals(message.length, CompressingSocketFactory.getPayloadBytes() - payload);
+		assertTrue(CompressingSocketFactory.getWireBytes() - wire < message.length / 4);
+	}
+
+	/**
+	 * Tests that a frame that deflating would not shrink is sent as is.
+	 */
+	@Test(timeout = 10000)
+	public void incompressibleFrameIsSentAsIs() throws Exception {
+		byte[] message = new byte[BUFFER / 2];
+		new Random(1).nextBytes(message);
+		long wire = CompressingSocketFactory.getWireBytes();
+		assertArrayEquals(message, transfer(new CompressingSocketFactory(BUFFER, THRESHOLD), message));
+		assertEquals(message.length + 4, CompressingSocketFactory.getWireBytes() - wire);
+	}
+
+	/**
+	 * Tests that a write longer than the buffer is split into several frames
+	 * and that flushes, mixed frame kinds and single byte writes keep their
+	 * order.
+	 */
+	@Test(timeout = 10000)
+	public void writesSpanningFramesArriveInOrder() throws Exception {
+		byte[] zeros = new byte[3 * BUFFER + 100];
+		byte[] noise = new byte[BUFFER + 1];
+		new Random(2).nextBytes(noise);
+		byte[] small = { 1, 2, 3 };
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		expected.write(zeros);
+		expected.write(noise);
+		expected.write(small);
+		expected.write(42);
+		CompletableFuture<byte[]> received = receive(new CompressingSocketFactory(BUFFER, THRESHOLD), port -> {
+			try (Socket socket = new CompressingSocketFactory(BUFFER, THRESHOLD).createSocket("127.0.0.1", port)) {
+				OutputStream out = socket.getOutputStream();
+				out.write(zeros);
+				out.write(noise);
+				out.flush();
+				out.write(small);
+				out.flush();
+				out.write(42);
+				out.flush();
+			}
+		});
+		assertArrayEquals(expected.toByteArray(), received.get(5, TimeUnit.SECONDS));
+	}
+
+	/**
+	 * Tests that a negative threshold turns compression off.
+	 */
+	@Test(timeout = 10000)
+	public void negativeThresholdNeverCompresses() throws Exception {
+		byte[] message = new byte[BUFFER];
+		long wire = CompressingSocketFactory.getWireBytes();
+		assertArrayEquals(message, transfer(new CompressingSocketFactory(BUFFER, -1), message));
+		assertEquals(message.length + 4, CompressingSocketFactory.getWireBytes() - wire);
+	}
+
+	/**
+	 * Tests that a frame header longer than the buffer, or a negative inflated
+	 * size, is refused with an IOException before anything is allocated for it.
+	 */
+	@Test(timeout = 10000)
+	public void oversizedFrameIsRefused() throws Exception {
+		assertRefused(new int[] { 0x7fffffff });
+		assertRefused(new int[] { BUFFER + 1 });
+		assertRefused(new int[] { 0x80000000 | 16, -1 });
+		assertRefused(new int[] { 0x80000000 | 16, 0x7fffffff });
+	}
+
+	/**
+	 * Tests that factories with the same settings are equal, as RMI needs to
+	 * share connections between stubs.
+	 */
+	@Test
+	public void equalSettingsAreEqual() {
+		assertEquals(new CompressingSocketFactory(), new CompressingSocketFactory(64 * 1024, 1024));
+		assertEquals(new CompressingSocketFactory().hashCode(), new CompressingSocketFactory(64 * 1024, 1024).hashCode());
+		assertNotEquals(new CompressingSocketFactory(BUFFER, THRESHOLD), new CompressingSocketFactory(BUFFER, -1));
+	}
+
+	/**
+	 * Sends the given header words over a plain socket and checks that the
+	 * factory's reader fails with an IOException.
+	 */
+	private static void assertRefused(int[] header) throws Exception {
+		CompletableFuture<byte[]> received = receive(new CompressingSocketFactory(BUFFER, THRESHOLD), port -> {
+			try (Socket socket = new Socket("127.0.0.1", port)) {
+				DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+				for (int word : header) {
+					out.writeInt(word);
+				}
+				out.write(new byte[16]);
+				out.flush();
+			}
+		});
+		try {
+			received.get(5, TimeUnit.SECONDS);
+			fail("frame header " + Arrays.toString(header) + " was accepted");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof UncheckedIOException);
+		}
+	}
+
+	/**
+	 * Sends a message in one flush and returns the bytes received.
+	 */
+	private static byte[] transfer(CompressingSocketFactory factory, byte[] message) throws Exception {
+		return receive(factory, port -> {
+			try (Socket socket = factory.createSocket("127.0.0.1", port)) {
+				OutputStream out = socket.getOutputStream();
+				out.write(message);
+				out.flush();
+			}
+		}).get(5, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Accepts one connection on a server socket of the factory and reads it to
+	 * the end, while the sender writes to it.
+	 */
+	private static CompletableFuture<byte[]> receive(CompressingSocketFactory factory, Sender sender)
+			throws IOException {
+		ServerSocket server = factory.createServerSocket(0);
+		CompletableFuture<byte[]> received = CompletableFuture.supplyAsync(() -> {
+			try (ServerSocket listening = server; Socket socket = listening.accept()) {
+				InputStream in = socket.getInputStream();
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				byte[] chunk = new byte[1000];
+				for (int n; (n = in.read(chunk)) > 0;) {
+					bytes.write(chunk, 0, n);
+				}
+				return bytes.toByteArray();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		sender.send(server.getLocalPort());
+		return received;
+	}
+
+	/**
+	 * Writes to a connection to the given port.
+	 */
+	private interface Sender {
+		void send(int port) throws IOException;
+	}
+
+}
@@ -0,0 +1,120 @@
+/**
+ * ConvergenceChart.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+
+import javax.swing.JPanel;
+
+/**
+ * Plots the current and best-so-far function values of a ConvergenceSeries
+ * against the evaluation count. Each series is downsampled to about one point
+ * per pixel of width before it is drawn, so painting costs the same however
+ * long the optimization has run.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class ConvergenceChart extends JPanel {
+	private static final long serialVersionUID = 1L;
+	private static final int MARGIN = 4;
+	private static final Color CURRENT_COLOR = Color.LIGHT_GRAY;
+	private static final Color BEST_COLOR = new Color(0, 90, 200);
+	private final transient ConvergenceSeries series;
+	private double[] currentX = new double[0];
+	private double[] currentY = new double[0];
+	private double[] bestX = new double[0];
+	private double[] bestY = new double[0];
+	private int[] pixelX = new int[0];
+	private int[] pixelY = new int[0];
+
+	/**
+	 * Creates a chart of the series.
+	 *
+	 * @param series - the values to plot, added to from any thread
+	 */
+	ConvergenceChart(ConvergenceSeries series) {
+		this.series = series;
+		setBackground(Color.WHITE);
+		setPreferredSize(new Dimension(300, 120));
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		super.paintComponent(g);
+		int width = getWidth() - 2 * MARGIN;
+		int height = getHeight() - 2 * MARGIN - g.getFontMetrics().getHeight();
+		if (width < 3 || height < 3) {
+			return;
+		}
+		if (currentX.length != width) {
+			currentX = new double[width];
+			currentY = new double[width];
+			bestX = new double[width];
+			bestY = new double[width];
+			pixelX = new int[width];
+			pixelY = new int[width];
+		}
+		int currentCount = series.downsampleCurrent(currentX, currentY);
+		int bestCount = series.downsampleBest(bestX, bestY);
+		if (currentCount == 0 || bestCount == 0) {
+			return;
+		}
+
+		double minX = Math.min(currentX[0], bestX[0]);
+		double maxX = Math.max(currentX[currentCount - 1], bestX[bestCount - 1]);
+		double minY = Double.POSITIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (double[] values : new double[][] { currentY, bestY }) {
+			int count = values == currentY ? currentCount : bestCount;
+			for (int i = 0; i < count; i++) {
+				if (Double.isFinite(values[i])) {
+					minY = Math.min(minY, values[i]);
+					maxY = Math.max(maxY, values[i]);
+				}
+			}
+		}
+		if (minY > maxY) {
+			return;
+		}
+		double scaleX = maxX > minX ? (width - 1) / (maxX - minX) : 0;
+		double scaleY = maxY > minY ? (height - 1) / (maxY - minY) : 0;
+
+		g.setColor(CURRENT_COLOR);
+		plot(g, currentX, currentY, currentCount, minX, scaleX, minY, scaleY, height);
+		g.setColor(BEST_COLOR);
+		plot(g, bestX, bestY, bestCount, minX, scaleX, minY, scaleY, height);
+
+		int baseline = getHeight() - MARGIN - g.getFontMetrics().getDescent();
+		g.drawString("best " + (float) bestY[bestCount - 1], MARGIN, baseline);
+		g.setColor(Color.DARK_GRAY);
+		String evaluations = (long) maxX + " evaluations";
+		g.drawString(evaluations, getWidth() - MARGIN - g.getFontMetrics().stringWidth(evaluations), baseline);
+	}
+
+	/**
+	 * Draws one downsampled series as a line, leaving out values that are not
+	 * finite.
+	 */
+	private void plot(Graphics g, double[] x, double[] y, int count, double minX, double scaleX, double minY,
+			double scaleY, int height) {
+		int points = 0;
+		for (int i = 0; i < count; i++) {
+			if (!Double.isFinite(y[i])) {
+				continue;
+			}
+			pixelX[points] = MARGIN + (int) Math.round((x[i] - minX) * scaleX);
+			pixelY[points] = MARGIN + height - 1 - (int) Math.round((y[i] - minY) * scaleY);
+			points++;
+		}
+		g.drawPolyline(pixelX, pixelY, points);
+	}
+
+}
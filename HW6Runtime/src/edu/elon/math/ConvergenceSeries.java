@@ -0,0 +1,213 @@
+/**
+ * ConvergenceSeries.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+/**
+ * The current and best-so-far function values of one optimization against the
+ * evaluation count, kept in fixed size primitive arrays so a long run uses no
+ * more memory than a short one. Once full, every second point is dropped and
+ * from then on only every second point added is kept, so the whole run stays
+ * in view at half the resolution; the latest point is always shown at the end
+ * of the curve. For plotting, either series is downsampled to a few points with
+ * the largest-triangle-three-buckets algorithm, which keeps the points that
+ * shape the curve, in time proportional to the capacity.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+class ConvergenceSeries {
+	private final double[] evaluations;
+	private final double[] current;
+	private final double[] best;
+	private int size;
+	private int stride = 1;
+	private int sinceKept;
+	// the latest point added, shown after the kept points until it is kept
+	private boolean latestPending;
+	private double latestEvaluations;
+	private double latestCurrent;
+	private double latestBest;
+
+	/**
+	 * Creates an empty series.
+	 *
+	 * @param capacity - most points kept, at least two
+	 */
+	ConvergenceSeries(int capacity) {
+		evaluations = new double[Math.max(2, capacity)];
+		current = new double[evaluations.length];
+		best = new double[evaluations.length];
+	}
+
+	/**
+	 * Adds a point. Only every stride-th point is kept; if the series is full,
+	 * every second point kept is dropped first and the stride doubled.
+	 *
+	 * @param evaluationCount - evaluations since the optimization started
+	 * @param currentOutput - function value at the latest point evaluated
+	 * @param bestOutput - best function value so far
+	 */
+	synchronized void add(double evaluationCount, double currentOutput, double bestOutput) {
+		latestEvaluations = evaluationCount;
+		latestCurrent = currentOutput;
+		latestBest = bestOutput;
+		if (++sinceKept < stride) {
+			latestPending = true;
+			return;
+		}
+		sinceKept = 0;
+		latestPending = false;
+		if (size == evaluations.length) {
+			decimate();
+		}
+		evaluations[size] = evaluationCount;
+		current[size] = currentOutput;
+		best[size] = bestOutput;
+		size++;
+	}
+
+	/**
+	 * Keeps the first point and every second one after it, and doubles the
+	 * stride to match.
+	 */
+	private void decimate() {
+		int kept = 0;
+		for (int i = 0; i < size; i += 2) {
+			evaluations[kept] = evaluations[i];
+			current[kept] = current[i];
+			best[kept] = best[i];
+			kept++;
+		}
+		size = kept;
+		stride *= 2;
+	}
+
+	/**
+	 * Removes every point.
+	 */
+	synchronized void clear() {
+		size = 0;
+		stride = 1;
+		sinceKept = 0;
+		latestPending = false;
+	}
+
+	/**
+	 * @return number of points that would be plotted, the latest included
+	 */
+	synchronized int size() {
+		return count();
+	}
+
+	/**
+	 * @return number of points added for each point kept
+	 */
+	synchronized int getStride() {
+		return stride;
+	}
+
+	/**
+	 * Downsamples the current values into the given arrays.
+	 *
+	 * @param x - receives the evaluation counts, its length the most points kept
+	 * @param y - receives the current values, as long as x
+	 * @return number of points written
+	 */
+	synchronized int downsampleCurrent(double[] x, double[] y) {
+		return downsample(current, latestCurrent, x, y);
+	}
+
+	/**
+	 * Downsamples the best-so-far values into the given arrays.
+	 *
+	 * @param x - receives the evaluation counts, its length the most points kept
+	 * @param y - receives the best values, as long as x
+	 * @return number of points written
+	 */
+	synchronized int downsampleBest(double[] x, double[] y) {
+		return downsample(best, latestBest, x, y);
+	}
+
+	/**
+	 * Largest-triangle-three-buckets: the first and last points are kept and
+	 * the points between are split into buckets, one for each point left to
+	 * write. From each bucket the point is kept that makes the largest triangle
+	 * with the point kept from the bucket before and the average of the bucket
+	 * after.
+	 */
+	private int downsample(double[] values, double latest, double[] x, double[] y) {
+		int points = count();
+		int threshold = x.length;
+		if (points <= threshold || threshold < 3) {
+			int count = Math.min(points, threshold);
+			for (int i = 0; i < count; i++) {
+				x[i] = evaluationsAt(i);
+				y[i] = valueAt(values, latest, i);
+			}
+			return count;
+		}
+		double bucket = (double) (points - 2) / (threshold - 2);
+		int kept = 0;
+		int count = 0;
+		x[count] = evaluationsAt(0);
+		y[count++] = valueAt(values, latest, 0);
+		for (int b = 0; b < threshold - 2; b++) {
+			int nextStart = (int) ((b + 1) * bucket) + 1;
+			int nextEnd = Math.min((int) ((b + 2) * bucket) + 1, points);
+			double averageX = 0;
+			double averageY = 0;
+			for (int i = nextStart; i < nextEnd; i++) {
+				averageX += evaluationsAt(i);
+				averageY += valueAt(values, latest, i);
+			}
+			averageX /= nextEnd - nextStart;
+			averageY /= nextEnd - nextStart;
+
+			double keptX = evaluationsAt(kept);
+			double keptY = valueAt(values, latest, kept);
+			double largest = -1;
+			int chosen = nextStart - 1;
+			for (int i = (int) (b * bucket) + 1; i < nextStart; i++) {
+				double area = Math.abs((keptX - averageX) * (valueAt(values, latest, i) - keptY)
+						- (keptX - evaluationsAt(i)) * (averageY - keptY));
+				if (area > largest) {
+					largest = area;
+					chosen = i;
+				}
+			}
+			x[count] = evaluationsAt(chosen);
+			y[count++] = valueAt(values, latest, chosen);
+			kept = chosen;
+		}
+		x[count] = evaluationsAt(points - 1);
+		y[count++] = valueAt(values, latest, points - 1);
+		return count;
+	}
+
+	/**
+	 * Number of kept points, and the latest point if it has not been kept.
+	 */
+	private int count() {
+		return latestPending ? size + 1 : size;
+	}
+
+	/**
+	 * Evaluation count of the i-th point, the latest one following those kept.
+	 */
+	private double evaluationsAt(int i) {
+		return i < size ? evaluations[i] : latestEvaluations;
+	}
+
+	/**
+	 * Value of the i-th point, the latest one following those kept.
+	 */
+	private double valueAt(double[] values, double latest, int i) {
+		return i < size ? values[i] : latest;
+	}
+
+}
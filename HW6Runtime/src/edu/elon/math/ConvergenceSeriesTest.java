@@ -0,0 +1,126 @@
+/**
+ * ConvergenceSeriesTest.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * JUnit tests for ConvergenceSeries: decimation once full and
+ * largest-triangle-three-buckets downsampling.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class ConvergenceSeriesTest {
+
+	/**
+	 * Tests that a series that is not full gives back every point.
+	 */
+	@Test
+	public void keepsEveryPointUntilFull() {
+		ConvergenceSeries series = series(8, 8);
+		double[] x = new double[8];
+		double[] y = new double[8];
+		assertEquals(8, series.downsampleCurrent(x, y));
+		assertArrayEquals(new double[] { 0, 1, 2, 3, 4, 5, 6, 7 }, x, 0);
+		assertArrayEquals(new double[] { 0, -1, -2, -3, -4, -5, -6, -7 }, y, 0);
+		assertEquals(1, series.getStride());
+	}
+
+	/**
+	 * Tests that a full series drops every second point and keeps the start of
+	 * the run, evenly spaced, rather than overwriting it.
+	 */
+	@Test
+	public void decimatesWhenFull() {
+		ConvergenceSeries series = series(8, 9);
+		assertEquals(2, series.getStride());
+		double[] x = new double[8];
+		double[] y = new double[8];
+		assertEquals(5, series.downsampleCurrent(x, y));
+		assertArrayEquals(new double[] { 0, 2, 4, 6, 8 }, slice(x, 5), 0);
+	}
+
+	/**
+	 * Tests that a long run stays in view from its first point, with the latest
+	 * point at the end of the curve even when it was not kept.
+	 */
+	@Test
+	public void longRunKeepsFirstAndLatestPoints() {
+		ConvergenceSeries series = series(16, 1001);
+		int count = series.size();
+		assertTrue(count <= 17);
+		double[] x = new double[count];
+		double[] y = new double[count];
+		assertEquals(count, series.downsampleBest(x, y));
+		assertEquals(0, x[0], 0);
+		assertEquals(1000, x[count - 1], 0);
+		assertEquals(-1000, y[count - 1], 0);
+		for (int i = 1; i < count - 1; i++) {
+			assertEquals(series.getStride(), x[i] - x[i - 1], 0);
+		}
+	}
+
+	/**
+	 * Tests that clearing the series starts again at full resolution.
+	 */
+	@Test
+	public void clearResetsStride() {
+		ConvergenceSeries series = series(8, 100);
+		series.clear();
+		assertEquals(0, series.size());
+		assertEquals(1, series.getStride());
+		series.add(5, 1, 1);
+		assertEquals(1, series.size());
+	}
+
+	/**
+	 * Tests that downsampling keeps the first and last points and the peak that
+	 * shapes the curve, in order.
+	 */
+	@Test
+	public void downsampleKeepsPeak() {
+		ConvergenceSeries series = new ConvergenceSeries(100);
+		for (int i = 0; i < 100; i++) {
+			series.add(i, i == 37 ? 50 : 0, 0);
+		}
+		double[] x = new double[10];
+		double[] y = new double[10];
+		assertEquals(10, series.downsampleCurrent(x, y));
+		assertEquals(0, x[0], 0);
+		assertEquals(99, x[9], 0);
+		boolean peak = false;
+		for (int i = 0; i < 10; i++) {
+			peak |= x[i] == 37 && y[i] == 50;
+			if (i > 0) {
+				assertTrue(x[i] > x[i - 1]);
+			}
+		}
+		assertTrue(peak);
+	}
+
+	/**
+	 * A series of the given capacity with points (i, -i, -i) added.
+	 */
+	private static ConvergenceSeries series(int capacity, int points) {
+		ConvergenceSeries series = new ConvergenceSeries(capacity);
+		for (int i = 0; i < points; i++) {
+			series.add(i, -i, -i);
+		}
+		return series;
+	}
+
+	private static double[] slice(double[] values, int length) {
+		double[] slice = new double[length];
+		System.arraycopy(values, 0, slice, 0, length);
+		return slice;
+	}
+
+}
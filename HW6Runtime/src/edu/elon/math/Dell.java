@@ -19,7 +19,8 @@ import java.util.ArrayList;
  * @version 1.0
  * 
  */
-public class Dell extends Function implements Serializable {
+public class Dell extends Function implements Serializable, BatchEvaluable {
+	private static final Objective OBJECTIVE = new Objective();
 	private ArrayList<Observer> observers;
 
 	/**
@@ -98,20 +99,42 @@ public class Dell extends Function implements Serializable {
 	 */
 	@Override
 	public Double evaluate() {
-		double x1 = getInputValues().get(0).doubleValue();
-		double y1 = getInputValues().get(1).doubleValue();
-		double[] cost = { 7.9, 25, 13.1, 17.4, 19.5, 13, 17.8, 8.0, 9.2, 6.3, 42.0, 6.6 };
-		double[] quantity = { 19, 2, 9, 4, 5, 6, 3, 11, 14, 17, 1, 20 };
-		double lsq = 0.0;
-		for (int i = 0; i < cost.length; i++) {
-			lsq = lsq + Math.pow(cost[i] - x1 * Math.pow(quantity[i], y1), 2);
-		}
+		double[] point = { getInputValues().get(0).doubleValue(), getInputValues().get(1).doubleValue() };
+		double lsq = evaluateAt(point);
 
 		this.setOutput(new Double(lsq));
 		notifyObservers();
 		return this.getOutput();
 	}
 
+	/**
+	 * Evaluates the sum of square error at the given point without changing the
+	 * current inputs or output.
+	 * 
+	 * @param point double array of the two input values
+	 * @return sum of square error at the point
+	 */
+	@Override
+	public double evaluateAt(double[] point) {
+		return OBJECTIVE.evaluateAt(point);
+	}
+
+	/**
+	 * Gets the objective as mobile code, since it is cheap enough for clients
+	 * to evaluate in their own JVM.
+	 * 
+	 * @return Evaluator of the sum of square error
+	 */
+	@Override
+	public String getObjectiveId() {
+		return OBJECTIVE.getObjectiveId();
+	}
+
+	@Override
+	public Evaluator getEvaluator() {
+		return OBJECTIVE;
+	}
+
 	// @Override
 	// public void registerObserver(Observer o) {
 	// observers.add(o);
@@ -141,4 +164,25 @@ public class Dell extends Function implements Serializable {
 
 		return System.getenv("optimizers");
 	}
+
+	/**
+	 * The sum of square error, with no function state, so it can be sent
+	 * to clients.
+	 */
+	private static class Objective implements Evaluator {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public double evaluateAt(double[] point) {
+			double x1 = point[0];
+			double y1 = point[1];
+			double[] cost = { 7.9, 25, 13.1, 17.4, 19.5, 13, 17.8, 8.0, 9.2, 6.3, 42.0, 6.6 };
+			double[] quantity = { 19, 2, 9, 4, 5, 6, 3, 11, 14, 17, 1, 20 };
+			double lsq = 0.0;
+			for (int i = 0; i < cost.length; i++) {
+				lsq = lsq + Math.pow(cost[i] - x1 * Math.pow(quantity[i], y1), 2);
+			}
+			return lsq;
+		}
+	}
 }
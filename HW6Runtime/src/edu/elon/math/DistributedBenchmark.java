@@ -0,0 +1,177 @@
+/**
+ * DistributedBenchmark.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.io.File;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures EvaluationCoordinator throughput with one to N worker processes on
+ * one machine. Each worker is started as "FunctionServer worker port" in its
+ * own JVM limited to one processor, to stand in for one machine. The benchmark
+ * then kills a worker in the middle of a batch and checks that the batch still
+ * matches a local evaluation.
+ *
+ * Usage: java edu.elon.math.DistributedBenchmark [workers] [points]
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class DistributedBenchmark {
+	private static final int FIRST_PORT = 1100;
+
+	public static void main(String[] args) throws Exception {
+		int maxWorkers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		int count = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+
+		List<Process> processes = new ArrayList<Process>();
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> processes.forEach(Process::destroyForcibly)));
+		List<String> urls = new ArrayList<String>();
+		for (int i = 0; i < maxWorkers; i++) {
+			processes.add(startWorker(FIRST_PORT + i));
+			urls.add("rmi://localhost:" + (FIRST_PORT + i) + "/worker");
+		}
+		List<EvaluationWorker> workers = new ArrayList<EvaluationWorker>();
+		for (String url : urls) {
+			workers.add(lookup(url));
+		}
+
+		Expensive local = new Expensive();
+		String name = Expensive.class.getName();
+		Random random = new Random(1);
+		double[][] points = new double[count][Expensive.DIMENSION];
+		for (double[] point : points) {
+			for (int j = 0; j < point.length; j++) {
+				point[j] = random.nextDouble() * 4 - 2;
+			}
+		}
+		double[] expected = local.evaluateAll(points);
+
+		System.out.println("workers  evaluations/s  speedup");
+		double single = 0;
+		for (int n = 1; n <= maxWorkers; n++) {
+			EvaluationCoordinator coordinator = new EvaluationCoordinator(workers.subList(0, n));
+			coordinator.evaluateAll(name, Arrays.copyOf(points, Math.min(count, 8 * n)));
+			long start = System.nanoTime();
+			double[] values = coordinator.evaluateAll(name, points);
+			double rate = count / ((System.nanoTime() - start) / 1e9);
+			if (n == 1) {
+				single = rate;
+			}
+			check(expected, values);
+			System.out.printf("%7d  %13.1f  %7.2f%n", n, rate, rate / single);
+		}
+
+		if (maxWorkers > 1) {
+			EvaluationCoordinator coordinator = new EvaluationCoordinator(workers);
+			Thread killer = new Thread(() -> {
+				try {
+					Thread.sleep(100);
+				} catch (InterruptedException e) {
+					return;
+				}
+				processes.get(0).destroyForcibly();
+			});
+			killer.start();
+			double[] values = coordinator.evaluateAll(name, points);
+			killer.join();
+			check(expected, values);
+			System.out.println("Killed one worker during a batch: " + coordinator.getWorkerCount() + " of " + maxWorkers
+					+ " workers left, all values correct");
+		}
+		System.exit(0);
+	}
+
+	private static Process startWorker(int port) throws Exception {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		return new ProcessBuilder(java, "-XX:ActiveProcessorCount=1", "-cp", System.getProperty("java.class.path"),
+				FunctionServer.class.getName(), "worker", Integer.toString(port)).inheritIO().start();
+	}
+
+	private static EvaluationWorker lookup(String url) throws Exception {
+		for (int attempt = 0;; attempt++) {
+			try {
+				return (EvaluationWorker) java.rmi.Naming.lookup(url);
+			} catch (Exception e) {
+				if (attempt == 100) {
+					throw e;
+				}
+				Thread.sleep(100);
+			}
+		}
+	}
+
+	private static void check(double[] expected, double[] values) {
+		if (!Arrays.equals(expected, values)) {
+			throw new IllegalStateException("Distributed values differ from local values");
+		}
+	}
+
+	/**
+	 * Costly test function: an extended Rosenbrock function summed over many
+	 * shifted copies of the point.
+	 */
+	public static class Expensive extends Function implements BatchEvaluable {
+		private static final long serialVersionUID = 1L;
+		static final int DIMENSION = 10;
+		private static final int REPEATS = 20000;
+
+		public Expensive() throws RemoteException {
+			ArrayList<String> names = new ArrayList<String>();
+			ArrayList<Double> values = new ArrayList<Double>();
+			for (int i = 0; i < DIMENSION; i++) {
+				names.add("x" + (i + 1));
+				values.add(0.0);
+			}
+			setInputNames(names);
+			setInputValues(values);
+			setMinimize(true);
+			setTitle("Expensive");
+		}
+
+		@Override
+		public Double evaluate() {
+			double[] point = new double[DIMENSION];
+			for (int i = 0; i < DIMENSION; i++) {
+				point[i] = getInputValues().get(i);
+			}
+			setOutput(evaluateAt(point));
+			notifyObservers();
+			return getOutput();
+		}
+
+		@Override
+		public double evaluateAt(double[] point) {
+			double sum = 0;
+			for (int r = 0; r < REPEATS; r++) {
+				double shift = r * 1e-6;
+				for (int i = 0; i < point.length - 1; i++) {
+					double a = point[i] + shift;
+					double b = point[i + 1] - a * a;
+					sum += 100 * b * b + (1 - a) * (1 - a);
+				}
+			}
+			return sum / REPEATS;
+		}
+
+		@Override
+		public boolean isExpensive() {
+			return true;
+		}
+
+		@Override
+		public String getEnvironmentalVariables() {
+			return System.getenv("optimizers");
+		}
+	}
+
+}
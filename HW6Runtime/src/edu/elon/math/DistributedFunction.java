@@ -0,0 +1,87 @@
+/**
+ * DistributedFunction.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+
+/**
+ * Function whose evaluations are done by worker processes through an
+ * EvaluationCoordinator. It takes its title, inputs and direction from a local
+ * prototype of the function, and the workers create their own instance of the
+ * prototype's class. Batches of independent points, such as the vertices of a
+ * starting simplex or the starting points of Powell.findMinima(), are sharded
+ * across the workers.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class DistributedFunction extends Function implements BatchEvaluable {
+	private static final long serialVersionUID = 1L;
+	private final Function prototype;
+	private final EvaluationCoordinator coordinator;
+
+	/**
+	 * Creates a distributed view of a function.
+	 *
+	 * @param prototype - local instance of a BatchEvaluable function
+	 * @param coordinator - the coordinator of the workers
+	 */
+	public DistributedFunction(Function prototype, EvaluationCoordinator coordinator) throws RemoteException {
+		if (!(prototype instanceof BatchEvaluable)) {
+			throw new IllegalArgumentException(prototype.getTitle() + " cannot be evaluated by a worker");
+		}
+		this.prototype = prototype;
+		this.coordinator = coordinator;
+		setTitle(prototype.getTitle());
+		setInputNames(prototype.getInputNames());
+		setInputValues(new ArrayList<Double>(prototype.getInputValues()));
+		setMinimize(prototype.isMinimize());
+	}
+
+	@Override
+	public Double evaluate() {
+		double[] point = new double[getInputValues().size()];
+		for (int i = 0; i < point.length; i++) {
+			point[i] = getInputValues().get(i);
+		}
+		setOutput(evaluateAt(point));
+		notifyObservers();
+		return getOutput();
+	}
+
+	@Override
+	public double evaluateAt(double[] point) {
+		return evaluateAll(new double[][] { point })[0];
+	}
+
+	@Override
+	public double[] evaluateAll(double[][] points) {
+		return coordinator.evaluateAll(prototype.getClass().getName(), points);
+	}
+
+	@Override
+	public String getObjectiveId() {
+		return ((BatchEvaluable) prototype).getObjectiveId();
+	}
+
+	/**
+	 * Each evaluation is a round trip to a worker, so it is always worth
+	 * caching.
+	 */
+	@Override
+	public boolean isExpensive() {
+		return true;
+	}
+
+	@Override
+	public String getEnvironmentalVariables() throws RemoteException {
+		return prototype.getEnvironmentalVariables();
+	}
+
+}
@@ -0,0 +1,389 @@
+/**
+ * EvaluationCache.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
+import java.rmi.Naming;
+import java.rmi.NotBoundException;
+import java.rmi.RemoteException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cluster-wide cache of function values shared by FunctionServer replicas, so
+ * a point one server has evaluated is not evaluated again by another. Points
+ * are partitioned across EvaluationCacheNode processes by consistent hashing
+ * of the function's objective id and point: each node has many positions on a
+ * hash ring and a point belongs to the first node after it, so adding or
+ * losing a node moves only that node's share of the points. A node that
+ * cannot be reached is skipped, its points going to the next node on the ring,
+ * and is tried again after five seconds. A small near cache in this JVM
+ * answers repeated points without a remote call.
+ * <p>
+ * Only BatchEvaluable functions are cached, since their evaluateAt() depends
+ * on the point alone, and evaluateShared() caches only those that say they are
+ * expensive; a cheap function costs less to evaluate again than a remote
+ * lookup. Values are kept under the function's objective id, so a wrapper
+ * such as LocalFunction or DistributedFunction shares the values of the
+ * objective it evaluates. A FunctionServer started with the
+ * edu.elon.math.cacheNodes property, a comma separated list of node URLs such
+ * as "rmi://host:1100/evaluationCache", shares one EvaluationCache for its
+ * optimization jobs and binary protocol evaluations.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class EvaluationCache {
+	/**
+	 * System property listing the URLs of the cache nodes
+	 */
+	public static final String NODES_PROPERTY = "edu.elon.math.cacheNodes";
+	private static final int VIRTUAL_NODES = 64;
+	private static final long RETRY_MILLIS = 5000;
+	private static volatile EvaluationCache shared;
+	private final List<Node> nodes = new ArrayList<Node>();
+	private final TreeMap<Integer, Node> ring = new TreeMap<Integer, Node>();
+	private final EvaluationStore near;
+	private final AtomicLong nearHits = new AtomicLong();
+	private final AtomicLong remoteHits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Creates a cache over the given nodes with a near cache of ten thousand
+	 * points kept for thirty seconds.
+	 *
+	 * @param urls - URLs of the cache nodes, the same list on every server
+	 */
+	public EvaluationCache(List<String> urls) {
+		this(urls, 10000, TimeUnit.SECONDS.toMillis(30));
+	}
+
+	/**
+	 * Creates a cache over the given nodes. Nodes are looked up when first
+	 * used, so they may start after the cache.
+	 *
+	 * @param urls - URLs of the cache nodes, the same list on every server
+	 * @param nearEntries - most points held in this JVM
+	 * @param nearTtlMillis - time a point is held in this JVM
+	 */
+	public EvaluationCache(List<String> urls, int nearEntries, long nearTtlMillis) {
+		near = new EvaluationStore(nearEntries, nearTtlMillis);
+		for (String url : urls) {
+			Node node = new Node(url);
+			nodes.add(node);
+			for (int i = 0; i < VIRTUAL_NODES; i++) {
+				ring.put(position(url + "#" + i), node);
+			}
+		}
+	}
+
+	/**
+	 * Gets the cache shared by this JVM's functions.
+	 *
+	 * @return EvaluationCache, null if evaluations are not cached
+	 */
+	public static EvaluationCache getShared() {
+		return shared;
+	}
+
+	/**
+	 * Sets the cache shared by this JVM's functions.
+	 *
+	 * @param cache - the cache, null to stop caching
+	 */
+	public static void setShared(EvaluationCache cache) {
+		shared = cache;
+	}
+
+	/**
+	 * Evaluates a function at a point through the shared cache, if there is one
+	 * and the function is expensive.
+	 *
+	 * @param function - the function
+	 * @param point - double array of input values
+	 * @return function value at the point
+	 */
+	static double evaluateShared(BatchEvaluable function, double[] point) {
+		EvaluationCache cache = shared;
+		return cache == null || !function.isExpensive() ? function.evaluateAt(point)
+				: cache.evaluateAt(function, point);
+	}
+
+	/**
+	 * Evaluates a function at each of the points through the shared cache, if
+	 * there is one and the function is expensive.
+	 *
+	 * @param function - the function
+	 * @param points - double arrays of input values
+	 * @return function value at each point
+	 */
+	static double[] evaluateAllShared(BatchEvaluable function, double[][] points) {
+		EvaluationCache cache = shared;
+		return cache == null || !function.isExpensive() ? function.evaluateAll(points)
+				: cache.evaluateAll(function, points);
+	}
+
+	/**
+	 * Gets the value of a function at a point from the cache, or evaluates and
+	 * caches it.
+	 *
+	 * @param function - the function
+	 * @param point - double array of input values
+	 * @return function value at the point
+	 */
+	public double evaluateAt(BatchEvaluable function, double[] point) {
+		return evaluateAll(function, new double[][] { point })[0];
+	}
+
+	/**
+	 * Gets the values of a function at each of the points from the cache,
+	 * evaluating and caching those missing. The near cache is asked first, then
+	 * each node once for all of its missing points, and the points still
+	 * missing are evaluated as one batch.
+	 *
+	 * @param function - the function
+	 * @param points - double arrays of input values
+	 * @return function value at each point
+	 */
+	public double[] evaluateAll(BatchEvaluable function, double[][] points) {
+		String objectiveId = function.getObjectiveId();
+		double[] values = new double[points.length];
+		EvaluationStore.Key[] keys = new EvaluationStore.Key[points.length];
+		List<Integer> missing = new ArrayList<Integer>();
+		for (int k = 0; k < points.length; k++) {
+			keys[k] = new EvaluationStore.Key(objectiveId, points[k].clone());
+			values[k] = near.get(keys[k]);
+			if (Double.isNaN(values[k])) {
+				missing.add(k);
+			}
+		}
+		nearHits.addAndGet(points.length - missing.size());
+
+		for (Map.Entry<Node, List<Integer>> group : byOwner(keys, missing).entrySet()) {
+			double[] found = group.getKey().get(objectiveId, select(keys, group.getValue()));
+			for (int j = 0; j < found.length; j++) {
+				int k = group.getValue().get(j);
+				if (!Double.isNaN(found[j])) {
+					values[k] = found[j];
+					near.put(keys[k], found[j]);
+					remoteHits.incrementAndGet();
+				}
+			}
+		}
+
+		List<Integer> computed = new ArrayList<Integer>();
+		for (int k : missing) {
+			if (Double.isNaN(values[k])) {
+				computed.add(k);
+			}
+		}
+		if (computed.isEmpty()) {
+			return values;
+		}
+		misses.addAndGet(computed.size());
+		double[][] batch = select(keys, computed);
+		double[] results = batch.length == 1 ? new double[] { function.evaluateAt(batch[0]) }
+				: function.evaluateAll(batch);
+		for (int j = 0; j < results.length; j++) {
+			int k = computed.get(j);
+			values[k] = results[j];
+			near.put(keys[k], results[j]);
+		}
+		for (Map.Entry<Node, List<Integer>> group : byOwner(keys, computed).entrySet()) {
+			List<Integer> indices = group.getValue();
+			double[] stored = new double[indices.size()];
+			for (int j = 0; j < stored.length; j++) {
+				stored[j] = values[indices.get(j)];
+			}
+			group.getKey().put(objectiveId, select(keys, indices), stored);
+		}
+		return values;
+	}
+
+	/**
+	 * Gets this JVM's view of the cache: hits in the near cache or on a node,
+	 * and points that had to be evaluated.
+	 *
+	 * @return CacheStats of lookups made through this cache
+	 */
+	public CacheStats getStats() {
+		CacheStats nearStats = near.getStats();
+		return new CacheStats(nearHits.get() + remoteHits.get(), misses.get(), nearStats.getEvictions(),
+				nearStats.getEntries());
+	}
+
+	/**
+	 * Gets the counts of every node that can be reached, added together.
+	 *
+	 * @return CacheStats of the cluster's nodes
+	 */
+	public CacheStats getClusterStats() {
+		CacheStats total = new CacheStats(0, 0, 0, 0);
+		for (Node node : nodes) {
+			CacheStats stats = node.getStats();
+			if (stats != null) {
+				total = total.plus(stats);
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Groups points by the node that holds them, skipping nodes that are down.
+	 */
+	private Map<Node, List<Integer>> byOwner(EvaluationStore.Key[] keys, List<Integer> indices) {
+		Map<Node, List<Integer>> groups = new LinkedHashMap<Node, List<Integer>>();
+		for (int k : indices) {
+			Node owner = owner(keys[k]);
+			if (owner != null) {
+				groups.computeIfAbsent(owner, node -> new ArrayList<Integer>()).add(k);
+			}
+		}
+		return groups;
+	}
+
+	/**
+	 * Finds the first node at or after the key's position on the ring that is
+	 * not down.
+	 *
+	 * @return Node, null if every node is down
+	 */
+	private Node owner(EvaluationStore.Key key) {
+		if (ring.isEmpty()) {
+			return null;
+		}
+		int position = mix(key.hashCode());
+		Integer start = ring.ceilingKey(position);
+		if (start == null) {
+			start = ring.firstKey();
+		}
+		long now = System.currentTimeMillis();
+		for (Node node : ring.tailMap(start).values()) {
+			if (node.isUp(now)) {
+				return node;
+			}
+		}
+		for (Node node : ring.headMap(start).values()) {
+			if (node.isUp(now)) {
+				return node;
+			}
+		}
+		return null;
+	}
+
+	private static double[][] select(EvaluationStore.Key[] keys, List<Integer> indices) {
+		double[][] points = new double[indices.size()][];
+		for (int j = 0; j < points.length; j++) {
+			points[j] = keys[indices.get(j)].getPoint();
+		}
+		return points;
+	}
+
+	/**
+	 * Position of a node on the ring, from the MD5 digest of its name.
+	 */
+	private static int position(String name) {
+		try {
+			byte[] digest = MessageDigest.getInstance("MD5").digest(name.getBytes(StandardCharsets.UTF_8));
+			return (digest[0] & 0xff) << 24 | (digest[1] & 0xff) << 16 | (digest[2] & 0xff) << 8 | (digest[3] & 0xff);
+		} catch (NoSuchAlgorithmException e) {
+			return mix(name.hashCode());
+		}
+	}
+
+	/**
+	 * Spreads a hash code over the ring.
+	 */
+	private static int mix(int h) {
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+
+	/**
+	 * One cache node, looked up when first used and skipped for a while after
+	 * it cannot be reached.
+	 */
+	private static class Node {
+		private final String url;
+		private volatile EvaluationCacheNode stub;
+		private volatile long downUntil;
+
+		Node(String url) {
+			this.url = url;
+		}
+
+		boolean isUp(long now) {
+			return now >= downUntil;
+		}
+
+		double[] get(String objectiveId, double[][] points) {
+			try {
+				return stub().get(objectiveId, points);
+			} catch (RemoteException e) {
+				down();
+				double[] none = new double[points.length];
+				Arrays.fill(none, Double.NaN);
+				return none;
+			}
+		}
+
+		void put(String objectiveId, double[][] points, double[] values) {
+			try {
+				stub().put(objectiveId, points, values);
+			} catch (RemoteException e) {
+				down();
+			}
+		}
+
+		CacheStats getStats() {
+			try {
+				return stub().getStats();
+			} catch (RemoteException e) {
+				down();
+				return null;
+			}
+		}
+
+		private EvaluationCacheNode stub() throws RemoteException {
+			EvaluationCacheNode current = stub;
+			if (current == null) {
+				try {
+					current = (EvaluationCacheNode) Naming.lookup(url);
+				} catch (NotBoundException | MalformedURLException e) {
+					throw new RemoteException("Cannot find " + url, e);
+				}
+				stub = current;
+			}
+			return current;
+		}
+
+		private void down() {
+			stub = null;
+			downUntil = System.currentTimeMillis() + RETRY_MILLIS;
+		}
+
+		@Override
+		public String toString() {
+			return url;
+		}
+	}
+
+}
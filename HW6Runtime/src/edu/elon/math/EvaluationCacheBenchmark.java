@@ -0,0 +1,115 @@
+/**
+ * EvaluationCacheBenchmark.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures how much work an EvaluationCache saves when several function
+ * servers evaluate the same points. Each cache node is started as
+ * "FunctionServer cache port" in its own JVM, and each server is stood in for
+ * by its own EvaluationCache with its own near cache. Every server evaluates
+ * the same points in turn, so only the first should compute them. The
+ * benchmark then kills a node and checks that the values are still right.
+ *
+ * Usage: java edu.elon.math.EvaluationCacheBenchmark [nodes] [servers] [points]
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class EvaluationCacheBenchmark {
+	private static final int FIRST_PORT = 1100;
+
+	public static void main(String[] args) throws Exception {
+		int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+		int serverCount = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+		int count = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+		List<Process> processes = new ArrayList<Process>();
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> processes.forEach(Process::destroyForcibly)));
+		List<String> urls = new ArrayList<String>();
+		for (int i = 0; i < nodeCount; i++) {
+			processes.add(startNode(FIRST_PORT + i));
+			urls.add("rmi://localhost:" + (FIRST_PORT + i) + "/evaluationCache");
+		}
+		for (String url : urls) {
+			awaitNode(url);
+		}
+
+		DistributedBenchmark.Expensive function = new DistributedBenchmark.Expensive();
+		Random random = new Random(1);
+		double[][] points = new double[count][DistributedBenchmark.Expensive.DIMENSION];
+		for (double[] point : points) {
+			for (int j = 0; j < point.length; j++) {
+				point[j] = random.nextDouble() * 4 - 2;
+			}
+		}
+		long start = System.nanoTime();
+		double[] expected = function.evaluateAll(points);
+		System.out.printf("uncached  %8.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+		System.out.println("server  one at a time (ms)  batch (ms)  hit ratio");
+		List<EvaluationCache> servers = new ArrayList<EvaluationCache>();
+		for (int s = 0; s < serverCount; s++) {
+			EvaluationCache cache = new EvaluationCache(urls);
+			servers.add(cache);
+			start = System.nanoTime();
+			double[] values = new double[count];
+			for (int k = 0; k < count; k++) {
+				values[k] = cache.evaluateAt(function, points[k]);
+			}
+			double single = (System.nanoTime() - start) / 1e6;
+			check(expected, values);
+			start = System.nanoTime();
+			check(expected, cache.evaluateAll(function, points));
+			double batch = (System.nanoTime() - start) / 1e6;
+			System.out.printf("%6d  %19.1f  %10.1f  %9.3f%n", s + 1, single, batch, cache.getStats().getHitRatio());
+		}
+		System.out.println("Cluster: " + servers.get(0).getClusterStats());
+
+		if (nodeCount > 1) {
+			processes.get(0).destroyForcibly().waitFor();
+			EvaluationCache cache = new EvaluationCache(urls);
+			check(expected, cache.evaluateAll(function, points));
+			System.out.println("Killed one node: all values correct, hit ratio " + cache.getStats().getHitRatio()
+					+ ", cluster " + cache.getClusterStats());
+		}
+		System.exit(0);
+	}
+
+	private static Process startNode(int port) throws Exception {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), FunctionServer.class.getName(),
+				"cache", Integer.toString(port)).inheritIO().start();
+	}
+
+	private static void awaitNode(String url) throws Exception {
+		for (int attempt = 0;; attempt++) {
+			try {
+				java.rmi.Naming.lookup(url);
+				return;
+			} catch (Exception e) {
+				if (attempt == 100) {
+					throw e;
+				}
+				Thread.sleep(100);
+			}
+		}
+	}
+
+	private static void check(double[] expected, double[] values) {
+		if (!Arrays.equals(expected, values)) {
+			throw new IllegalStateException("Cached values differ from computed values");
+		}
+	}
+
+}
@@ -0,0 +1,56 @@
+/**
+ * EvaluationCacheNode.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+/**
+ * Remote interface of one partition of the cluster-wide evaluation cache. An
+ * EvaluationCache decides which node holds each point; a node only stores the
+ * values it is given. Points travel in batches so one call serves many.
+ *
+ * @author emccarthy3, dwinsor, jrhodes
+ *
+ */
+public interface EvaluationCacheNode extends Remote {
+
+	/**
+	 * Gets the cached values of a function at each of the given points.
+	 * 
+	 * @param objectiveId
+	 *          - the function's BatchEvaluable.getObjectiveId()
+	 * @param points
+	 *          - double arrays of input values
+	 * @return the value at each point, NaN where the point is not cached
+	 * @throws RemoteException
+	 */
+	public double[] get(String objectiveId, double[][] points) throws RemoteException;
+
+	/**
+	 * Caches the values of a function at each of the given points.
+	 * 
+	 * @param objectiveId
+	 *          - the function's BatchEvaluable.getObjectiveId()
+	 * @param points
+	 *          - double arrays of input values
+	 * @param values
+	 *          - the value at each point
+	 * @throws RemoteException
+	 */
+	public void put(String objectiveId, double[][] points, double[] values) throws RemoteException;
+
+	/**
+	 * Gets the hit and miss counts and size of the node.
+	 * 
+	 * @return CacheStats of the node
+	 * @throws RemoteException
+	 */
+	public CacheStats getStats() throws RemoteException;
+
+}
@@ -0,0 +1,64 @@
+/**
+ * EvaluationCacheServer.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One partition of the cluster-wide evaluation cache, run by "FunctionServer
+ * cache". It holds the points the EvaluationCache hashes to it, up to a
+ * maximum number and for a limited time.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class EvaluationCacheServer extends UnicastRemoteObject implements EvaluationCacheNode {
+	private static final long serialVersionUID = 1L;
+	private final EvaluationStore store;
+
+	/**
+	 * Creates a node holding up to a million points for ten minutes each.
+	 */
+	public EvaluationCacheServer() throws RemoteException {
+		this(1000000, TimeUnit.MINUTES.toMillis(10));
+	}
+
+	/**
+	 * Creates and exports a node.
+	 *
+	 * @param maxEntries - most points held at once
+	 * @param ttlMillis - time a point is kept after it was stored
+	 */
+	public EvaluationCacheServer(int maxEntries, long ttlMillis) throws RemoteException {
+		store = new EvaluationStore(maxEntries, ttlMillis);
+	}
+
+	@Override
+	public double[] get(String objectiveId, double[][] points) {
+		double[] values = new double[points.length];
+		for (int k = 0; k < points.length; k++) {
+			values[k] = store.get(new EvaluationStore.Key(objectiveId, points[k]));
+		}
+		return values;
+	}
+
+	@Override
+	public void put(String objectiveId, double[][] points, double[] values) {
+		for (int k = 0; k < points.length; k++) {
+			store.put(new EvaluationStore.Key(objectiveId, points[k]), values[k]);
+		}
+	}
+
+	@Override
+	public CacheStats getStats() {
+		return store.getStats();
+	}
+
+}
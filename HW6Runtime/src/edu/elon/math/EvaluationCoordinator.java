@@ -0,0 +1,246 @@
+/**
+ * EvaluationCoordinator.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.Naming;
+import java.rmi.RemoteException;
+import java.rmi.ServerError;
+import java.rmi.ServerException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Shards batches of evaluations across a set of EvaluationWorker processes. A
+ * batch is cut into several chunks per worker and put on a shared queue, and
+ * each worker takes its next chunk as soon as it has returned the last, so
+ * faster workers end up evaluating more of the batch. When a worker cannot be
+ * reached its chunk is put back for the others and the worker is dropped from
+ * the set; a chunk that fails on MAX_ATTEMPTS workers, or an error or runtime
+ * exception raised by the function itself, fails the whole batch.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class EvaluationCoordinator {
+	private static final int CHUNKS_PER_WORKER = 4;
+	private static final int MAX_ATTEMPTS = 3;
+	private static final ExecutorService pool = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "evaluation-coordinator");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final CopyOnWriteArrayList<EvaluationWorker> workers = new CopyOnWriteArrayList<EvaluationWorker>();
+	private final AtomicInteger nextWorker = new AtomicInteger();
+
+	/**
+	 * Creates a coordinator for the given workers.
+	 *
+	 * @param workers the worker stubs
+	 */
+	public EvaluationCoordinator(List<EvaluationWorker> workers) {
+		this.workers.addAll(workers);
+	}
+
+	/**
+	 * Looks up the workers bound at the given URLs, such as
+	 * "rmi://localhost:1100/worker".
+	 *
+	 * @param urls the worker URLs
+	 * @return EvaluationCoordinator for the workers that could be found
+	 */
+	public static EvaluationCoordinator connect(List<String> urls) {
+		List<EvaluationWorker> found = new ArrayList<EvaluationWorker>();
+		for (String url : urls) {
+			try {
+				found.add((EvaluationWorker) Naming.lookup(url));
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		}
+		return new EvaluationCoordinator(found);
+	}
+
+	/**
+	 * Adds a worker, or brings back one that was dropped.
+	 *
+	 * @param worker the worker stub
+	 */
+	public void addWorker(EvaluationWorker worker) {
+		workers.addIfAbsent(worker);
+	}
+
+	/**
+	 * Gets the number of workers still in the set.
+	 *
+	 * @return int count of workers
+	 */
+	public int getWorkerCount() {
+		return workers.size();
+	}
+
+	/**
+	 * Evaluates a function at each of the given points on the workers.
+	 *
+	 * @param functionClass package qualified class name of a BatchEvaluable
+	 *          Function available to the workers
+	 * @param points double arrays of input values
+	 * @return function value at each point
+	 * @throws IllegalStateException if the batch could not be evaluated
+	 */
+	public double[] evaluateAll(String functionClass, double[][] points) {
+		double[] values = new double[points.length];
+		List<EvaluationWorker> live = new ArrayList<EvaluationWorker>(workers);
+		if (points.length == 0) {
+			return values;
+		}
+		if (live.isEmpty()) {
+			throw new IllegalStateException("No evaluation workers");
+		}
+
+		int chunkSize = Math.max(1, (points.length + live.size() * CHUNKS_PER_WORKER - 1)
+				/ (live.size() * CHUNKS_PER_WORKER));
+		LinkedBlockingQueue<Chunk> queue = new LinkedBlockingQueue<Chunk>();
+		for (int from = 0; from < points.length; from += chunkSize) {
+			queue.add(new Chunk(points, from, Math.min(points.length, from + chunkSize)));
+		}
+		// small batches go to as many workers as they have chunks, taken in turn
+		int used = Math.min(live.size(), queue.size());
+		int first = Math.floorMod(nextWorker.getAndIncrement(), live.size());
+		Batch batch = new Batch(functionClass, queue, values, used);
+		for (int i = 0; i < used; i++) {
+			EvaluationWorker worker = live.get((first + i) % live.size());
+			pool.execute(() -> batch.drain(worker));
+		}
+		batch.await();
+		return values;
+	}
+
+	/**
+	 * Contiguous slice of a batch.
+	 */
+	private static class Chunk {
+		private final double[][] points;
+		private final int from;
+		private int attempts;
+
+		Chunk(double[][] all, int from, int to) {
+			this.points = new double[to - from][];
+			System.arraycopy(all, from, points, 0, points.length);
+			this.from = from;
+		}
+	}
+
+	/**
+	 * State shared by the threads evaluating one batch. Each thread blocks on the
+	 * queue for its next chunk; when the batch is done or fails, one stop chunk
+	 * per thread is queued to release them, and the caller is released through a
+	 * latch.
+	 */
+	private class Batch {
+		private final Chunk stop = new Chunk(new double[0][], 0, 0);
+		private final String functionClass;
+		private final LinkedBlockingQueue<Chunk> queue;
+		private final double[] values;
+		private final int workerCount;
+		private final AtomicInteger remaining;
+		private final AtomicInteger draining;
+		private final AtomicReference<RuntimeException> failure = new AtomicReference<RuntimeException>();
+		private final AtomicBoolean finished = new AtomicBoolean();
+		private final CountDownLatch done = new CountDownLatch(1);
+
+		Batch(String functionClass, LinkedBlockingQueue<Chunk> queue, double[] values, int workerCount) {
+			this.functionClass = functionClass;
+			this.queue = queue;
+			this.values = values;
+			this.workerCount = workerCount;
+			this.remaining = new AtomicInteger(queue.size());
+			this.draining = new AtomicInteger(workerCount);
+		}
+
+		/**
+		 * Evaluates chunks on one worker until the batch is done or the worker is
+		 * lost.
+		 */
+		void drain(EvaluationWorker worker) {
+			try {
+				while (true) {
+					Chunk chunk = queue.take();
+					if (chunk == stop) {
+						return;
+					}
+					try {
+						double[] result = worker.evaluate(functionClass, chunk.points);
+						System.arraycopy(result, 0, values, chunk.from, result.length);
+						if (remaining.decrementAndGet() == 0) {
+							finish();
+						}
+					} catch (ServerException | ServerError | RuntimeException e) {
+						// raised by the function itself, so no other worker would do better
+						fail(new IllegalStateException("Evaluation failed on a worker", e));
+						return;
+					} catch (RemoteException e) {
+						workers.remove(worker);
+						if (++chunk.attempts >= MAX_ATTEMPTS) {
+							fail(new IllegalStateException("Evaluation failed on " + MAX_ATTEMPTS + " workers", e));
+						} else {
+							queue.add(chunk);
+						}
+						return;
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				if (draining.decrementAndGet() == 0 && remaining.get() > 0) {
+					fail(new IllegalStateException("No evaluation workers left"));
+				}
+			}
+		}
+
+		private void fail(RuntimeException e) {
+			failure.compareAndSet(null, e);
+			finish();
+		}
+
+		/**
+		 * Releases the caller and the threads still waiting for a chunk.
+		 */
+		private void finish() {
+			if (finished.compareAndSet(false, true)) {
+				done.countDown();
+				for (int i = 0; i < workerCount; i++) {
+					queue.add(stop);
+				}
+			}
+		}
+
+		/**
+		 * Waits until every chunk is evaluated or the batch fails.
+		 */
+		void await() {
+			try {
+				done.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				fail(new IllegalStateException("Interrupted while evaluating", e));
+			}
+			if (failure.get() != null) {
+				throw failure.get();
+			}
+		}
+	}
+
+}
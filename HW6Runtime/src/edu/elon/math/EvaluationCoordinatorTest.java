@@ -0,0 +1,178 @@
+/**
+ * EvaluationCoordinatorTest.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import static org.junit.Assert.*;
+
+import java.rmi.ConnectException;
+import java.rmi.RemoteException;
+import java.rmi.ServerException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * JUnit tests for EvaluationCoordinator, run with workers in this JVM that
+ * stand in for healthy, lost and failing worker processes.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class EvaluationCoordinatorTest {
+	private static final String FUNCTION = "edu.elon.math.Sum";
+
+	/**
+	 * Tests that every point is evaluated and its value returned in its place.
+	 */
+	@Test(timeout = 10000)
+	public void evaluatesEveryPoint() {
+		EvaluationCoordinator coordinator = new EvaluationCoordinator(
+				Arrays.asList(new Worker(), new Worker(), new Worker()));
+		double[][] points = points(100);
+		assertArrayEquals(sums(points), coordinator.evaluateAll(FUNCTION, points), 0);
+	}
+
+	/**
+	 * Tests that an empty batch needs no workers.
+	 */
+	@Test
+	public void emptyBatch() {
+		EvaluationCoordinator coordinator = new EvaluationCoordinator(new ArrayList<EvaluationWorker>());
+		assertEquals(0, coordinator.evaluateAll(FUNCTION, new double[0][]).length);
+	}
+
+	/**
+	 * Tests that a batch with no workers fails rather than waiting.
+	 */
+	@Test(expected = IllegalStateException.class, timeout = 10000)
+	public void noWorkers() {
+		new EvaluationCoordinator(new ArrayList<EvaluationWorker>()).evaluateAll(FUNCTION, points(1));
+	}
+
+	/**
+	 * Tests that the chunks of a worker that cannot be reached are evaluated by
+	 * the others and that the worker is dropped.
+	 */
+	@Test(timeout = 10000)
+	public void lostWorkerChunksGoToOthers() {
+		Worker lost = new Worker() {
+			@Override
+			public double[] evaluate(String functionClass, double[][] points) throws RemoteException {
+				throw new ConnectException("worker stopped");
+			}
+		};
+		EvaluationCoordinator coordinator = new EvaluationCoordinator(Arrays.asList(lost, new Worker(), new Worker()));
+		double[][] points = points(50);
+		assertArrayEquals(sums(points), coordinator.evaluateAll(FUNCTION, points), 0);
+		assertEquals(2, coordinator.getWorkerCount());
+	}
+
+	/**
+	 * Tests that a batch fails once every worker has been lost.
+	 */
+	@Test(expected = IllegalStateException.class, timeout = 10000)
+	public void allWorkersLost() {
+		List<EvaluationWorker> workers = new ArrayList<EvaluationWorker>();
+		for (int i = 0; i < 3; i++) {
+			workers.add(new Worker() {
+				@Override
+				public double[] evaluate(String functionClass, double[][] points) throws RemoteException {
+					throw new ConnectException("worker stopped");
+				}
+			});
+		}
+		new EvaluationCoordinator(workers).evaluateAll(FUNCTION, points(20));
+	}
+
+	/**
+	 * Tests that an exception thrown by the function on a remote worker fails
+	 * the batch and leaves the worker in the set.
+	 */
+	@Test(timeout = 10000)
+	public void serverExceptionFailsBatch() {
+		Worker failing = new Worker() {
+			@Override
+			public double[] evaluate(String functionClass, double[][] points) throws RemoteException {
+				throw new ServerException("function failed", new IllegalArgumentException());
+			}
+		};
+		EvaluationCoordinator coordinator = new EvaluationCoordinator(Arrays.asList(failing));
+		try {
+			coordinator.evaluateAll(FUNCTION, points(20));
+			fail("batch should have failed");
+		} catch (IllegalStateException e) {
+			assertTrue(e.getCause() instanceof ServerException);
+		}
+		assertEquals(1, coordinator.getWorkerCount());
+	}
+
+	/**
+	 * Tests that a runtime exception from a worker in this JVM, which is not
+	 * wrapped in a ServerException, fails the batch instead of leaving the other
+	 * workers waiting for its chunk.
+	 */
+	@Test(timeout = 10000)
+	public void runtimeExceptionFailsBatch() {
+		List<EvaluationWorker> workers = new ArrayList<EvaluationWorker>();
+		for (int i = 0; i < 2; i++) {
+			workers.add(new Worker() {
+				@Override
+				public double[] evaluate(String functionClass, double[][] points) {
+					for (double[] point : points) {
+						if (point[0] == 7) {
+							throw new IllegalArgumentException("bad point");
+						}
+					}
+					return sums(points);
+				}
+			});
+		}
+		try {
+			new EvaluationCoordinator(workers).evaluateAll(FUNCTION, points(40));
+			fail("batch should have failed");
+		} catch (IllegalStateException e) {
+			assertTrue(e.getCause() instanceof IllegalArgumentException);
+		}
+	}
+
+	private static double[][] points(int count) {
+		double[][] points = new double[count][];
+		for (int k = 0; k < count; k++) {
+			points[k] = new double[] { k, 2 * k, 0.5 };
+		}
+		return points;
+	}
+
+	private static double[] sums(double[][] points) {
+		double[] sums = new double[points.length];
+		for (int k = 0; k < points.length; k++) {
+			for (double d : points[k]) {
+				sums[k] += d;
+			}
+		}
+		return sums;
+	}
+
+	/**
+	 * Worker that sums the coordinates of each point.
+	 */
+	private static class Worker implements EvaluationWorker {
+		@Override
+		public double[] evaluate(String functionClass, double[][] points) throws RemoteException {
+			return sums(points);
+		}
+
+		@Override
+		public int getProcessors() {
+			return 1;
+		}
+	}
+
+}
@@ -0,0 +1,19 @@
+/**
+ * EvaluationStoppedException.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+/**
+ * Thrown from BudgetedFunction.evaluate() to stop a strategy once its budget is
+ * used or its run has been stopped.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+class EvaluationStoppedException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,153 @@
+/**
+ * EvaluationStore.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Function values by point, bounded in size and age. The least recently used
+ * entry is dropped when the store is full, and an entry older than the time to
+ * live is dropped when next looked up or when the store fills. Used for a
+ * cache node's partition and for the near cache in front of the cluster.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+class EvaluationStore {
+	private final int maxEntries;
+	private final long ttlMillis;
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * Creates an empty store.
+	 *
+	 * @param maxEntries most entries held at once
+	 * @param ttlMillis time an entry is kept after it was stored
+	 */
+	EvaluationStore(int maxEntries, long ttlMillis) {
+		this.maxEntries = maxEntries;
+		this.ttlMillis = ttlMillis;
+	}
+
+	/**
+	 * Gets the value stored for a point.
+	 *
+	 * @param key the function and point
+	 * @return the value, NaN if it is not stored or has expired
+	 */
+	synchronized double get(Key key) {
+		Entry entry = entries.get(key);
+		if (entry != null && System.currentTimeMillis() - entry.storedAt > ttlMillis) {
+			entries.remove(key);
+			evictions++;
+			entry = null;
+		}
+		if (entry == null) {
+			misses++;
+			return Double.NaN;
+		}
+		hits++;
+		return entry.value;
+	}
+
+	/**
+	 * Stores the value for a point. NaN values are not stored, since NaN marks
+	 * a miss.
+	 *
+	 * @param key the function and point
+	 * @param value the function value at the point
+	 */
+	synchronized void put(Key key, double value) {
+		if (Double.isNaN(value)) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		entries.put(key, new Entry(value, now));
+		if (entries.size() > maxEntries) {
+			// expired entries go first, then the least recently used
+			for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext();) {
+				if (now - iterator.next().storedAt > ttlMillis) {
+					iterator.remove();
+					evictions++;
+				}
+			}
+			Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+			while (entries.size() > maxEntries) {
+				eldest.next();
+				eldest.remove();
+				evictions++;
+			}
+		}
+	}
+
+	/**
+	 * Gets the hit, miss and eviction counts and size of the store.
+	 *
+	 * @return CacheStats of the store
+	 */
+	synchronized CacheStats getStats() {
+		return new CacheStats(hits, misses, evictions, entries.size());
+	}
+
+	/**
+	 * A function's objective and one point of it.
+	 */
+	static final class Key {
+		private final String objectiveId;
+		private final double[] point;
+		private final int hash;
+
+		/**
+		 * @param objectiveId the function's BatchEvaluable.getObjectiveId()
+		 * @param point input values, not changed afterwards
+		 */
+		Key(String objectiveId, double[] point) {
+			this.objectiveId = objectiveId;
+			this.point = point;
+			hash = 31 * objectiveId.hashCode() + Arrays.hashCode(point);
+		}
+
+		/**
+		 * @return the input values, not to be changed
+		 */
+		double[] getPoint() {
+			return point;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return hash == other.hash && objectiveId.equals(other.objectiveId) && Arrays.equals(point, other.point);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	private static class Entry {
+		private final double value;
+		private final long storedAt;
+
+		Entry(double value, long storedAt) {
+			this.value = value;
+			this.storedAt = storedAt;
+		}
+	}
+
+}
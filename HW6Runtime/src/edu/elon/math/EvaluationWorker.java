@@ -0,0 +1,44 @@
+/**
+ * EvaluationWorker.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+/**
+ * Remote interface of a worker process that evaluates batches of points for an
+ * EvaluationCoordinator. Only the function's class name and the points travel;
+ * the function definition is loaded on the worker.
+ *
+ * @author emccarthy3, dwinsor, jrhodes
+ *
+ */
+public interface EvaluationWorker extends Remote {
+
+	/**
+	 * Evaluates a function at each of the given points.
+	 * 
+	 * @param functionClass
+	 *          - package qualified class name of a BatchEvaluable Function
+	 * @param points
+	 *          - double arrays of input values
+	 * @return function value at each point
+	 * @throws RemoteException
+	 *           if the function cannot be created on the worker
+	 */
+	public double[] evaluate(String functionClass, double[][] points) throws RemoteException;
+
+	/**
+	 * Gets the number of processors the worker evaluates on.
+	 * 
+	 * @return int count of processors
+	 * @throws RemoteException
+	 */
+	public int getProcessors() throws RemoteException;
+
+}
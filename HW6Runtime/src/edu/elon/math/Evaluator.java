@@ -0,0 +1,23 @@
+/**
+ * Evaluator.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.io.Serializable;
+
+/**
+ * Mobile code for a cheap objective: the bare evaluation of a function, with
+ * none of its state, sent to a client by value so the client can evaluate the
+ * function in its own JVM. A client without the class loads it from the
+ * server's RMI codebase. Implementations must be stateless.
+ * 
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public interface Evaluator extends BatchEvaluable, Serializable {
+
+}
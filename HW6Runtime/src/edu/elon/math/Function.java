@@ -9,9 +9,15 @@ package edu.elon.math;
 
 import java.rmi.Remote;
 import java.rmi.RemoteException;
+import java.rmi.server.RemoteServer;
+import java.rmi.server.ServerNotActiveException;
 import java.rmi.server.UnicastRemoteObject;
+import java.rmi.server.Unreferenced;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Observable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.swing.JTextField;
 
@@ -24,7 +30,7 @@ import javax.swing.JTextField;
  * @author dpowell2, dwinsor, jrhodes, emcarthy
  * @version 1.0
  */
-public abstract class Function extends UnicastRemoteObject implements FunctionInterface {
+public abstract class Function extends UnicastRemoteObject implements FunctionInterface, Unreferenced {
 
 	/**
 	 * constant to represent new line
@@ -38,7 +44,9 @@ public abstract class Function extends UnicastRemoteObject implements FunctionIn
 	private ArrayList<String> inputNames;
 	private Strategy strategy;
 	private ArrayList<Double> inputValues;
-	private ArrayList<Observer> observers;
+	private List<Observer> observers = new CopyOnWriteArrayList<Observer>();
+	private final ProgressPublisher progress = new ProgressPublisher(this);
+	private volatile Runnable unreferencedHandler;
 
 	// true if minimization function and false if maximization
 	private boolean minimize;
@@ -47,6 +55,7 @@ public abstract class Function extends UnicastRemoteObject implements FunctionIn
 	private String title;
 	private StrategyFactory factory = StrategyFactory.getInstance();
 	private String optimizersString;
+	private final AtomicLong metadataVersion = new AtomicLong();
 
 	/**
 	 * Default constructor
@@ -100,6 +109,15 @@ public abstract class Function extends UnicastRemoteObject implements FunctionIn
 		return inputValues;
 	}
 
+	/**
+	 * Returns the current value of each input as a compact PointVector.
+	 * 
+	 * @return PointVector of values representing current point.
+	 */
+	public PointVector getInputVector() {
+		return inputValues == null ? null : PointVector.of(inputValues);
+	}
+
 	/**
 	 * Gets the full package qualified classname of the currently set optimization
 	 * technique
@@ -151,7 +169,9 @@ public abstract class Function extends UnicastRemoteObject implements FunctionIn
 	 * @return Double representing best achieved function value.
 	 */
 	public Double optimize() {
-		Double optimalValue = strategy.calculateOptimizationValues(this);
+		progress.reset();
+		Double optimalValue = OptimizationScheduler.getInstance().call(currentClient(), 0,
+				() -> strategy.calculateOptimizationValues(this));
 		return optimalValue;
 	}
 
@@ -175,6 +195,7 @@ public abstract class Function extends UnicastRemoteObject implements FunctionIn
 	 */
 	public void setInputNames(ArrayList<String> inputNames) {
 		this.inputNames = inputNames;
+		metadataVersion.incrementAndGet();
 	}
 
 	/**
@@ -188,6 +209,16 @@ public abstract class Function extends UnicastRemoteObject implements FunctionIn
 		this.inputValues = inputValues;
 	}
 
+	/**
+	 * Sets the current value of the input set from a compact PointVector.
+	 * 
+	 * @param inputVector
+	 *          PointVector representing the value of each input parameter.
+	 */
+	public void setInputVector(PointVector inputVector) {
+		setInputValues(inputVector.toList());
+	}
+
 	/**
 	 * Sets function to be a minimization or a maximization
 	 * 
@@ -196,6 +227,7 @@ public abstract class Function extends UnicastRemoteObject implements FunctionIn
 	 */
 	public void setMinimize(boolean minimize) {
 		this.minimize = minimize;
+		metadataVersion.incrementAndGet();
 	}
 
 	/**
@@ -228,6 +260,7 @@ public abstract class Function extends UnicastRemoteObject implements FunctionIn
 	 */
 	public void setTitle(String title) {
 		this.title = title;
+		metadataVersion.incrementAndGet();
 	}
 
 	public void registerObserver(Observer o) {
@@ -241,16 +274,218 @@ public abstract class Function extends UnicastRemoteObject implements FunctionIn
 		}
 	}
 
+	/**
+	 * Tells the local observers of the current inputs and publishes the current
+	 * inputs and output to the remote progress listeners.
+	 */
 	public void notifyObservers() {
 		for (Observer observer : observers) {
 			observer.update(getInputValues());
 		}
+		ArrayList<Double> values = getInputValues();
+		Double value = getOutput();
+		if (values != null && value != null) {
+			double[] point = new double[values.size()];
+			for (int i = 0; i < point.length; i++) {
+				point[i] = values.get(i);
+			}
+			progress.publish(point, value);
+		}
+	}
+
+	/**
+	 * Publishes an evaluation made without changing the current inputs, as
+	 * optimization jobs do.
+	 * 
+	 * @param point
+	 *          the point evaluated, not changed afterwards
+	 * @param value
+	 *          the function value at the point
+	 */
+	void publishProgress(double[] point, double value) {
+		progress.publish(point, value);
+	}
+
+	public void registerProgressListener(ProgressListener listener, long minIntervalMillis) {
+		progress.add(listener, minIntervalMillis);
+	}
+
+	public void removeProgressListener(ProgressListener listener) {
+		progress.remove(listener);
+	}
+
+	/**
+	 * Puts the function back in the state recorded by a snapshot, dropping its
+	 * strategy and observers, so a pooled instance can be handed to a new client.
+	 * 
+	 * @param snapshot
+	 *          the state to restore
+	 */
+	void restore(FunctionSnapshot snapshot) {
+		setTitle(snapshot.getTitle());
+		setInputNames(new ArrayList<String>(snapshot.getInputNames()));
+		setInputValues(snapshot.getInputValues());
+		setOutput(snapshot.getOutput());
+		setMinimize(snapshot.isMinimize());
+		setStrategy(null);
+		setOptimizationTechnique(null);
+		observers.clear();
+		progress.clear();
+	}
+
+	/**
+	 * Sets what to do when no client holds a remote reference any more.
+	 * 
+	 * @param handler
+	 *          run from unreferenced(), may be null
+	 */
+	void setUnreferencedHandler(Runnable handler) {
+		unreferencedHandler = handler;
+	}
+
+	/**
+	 * Called by the RMI runtime once the leases of all clients have ended.
+	 */
+	@Override
+	public void unreferenced() {
+		Runnable handler = unreferencedHandler;
+		if (handler != null) {
+			handler.run();
+		}
 	}
 
 	public String getEnvironmentVariables() throws RemoteException {
 		return System.getenv("optimizers");
 	}
 
+	/**
+	 * Gets an immutable snapshot of the function title, input names and values,
+	 * output, direction and available optimizers.
+	 * 
+	 * @return FunctionSnapshot of the current function state
+	 */
+	public FunctionSnapshot getSnapshot() throws RemoteException {
+		ArrayList<Double> values = getInputValues();
+		double[] point = new double[values.size()];
+		for (int i = 0; i < point.length; i++) {
+			point[i] = values.get(i);
+		}
+		return new FunctionSnapshot(getTitle(), getInputNames(), point, getOutput(), isMinimize(),
+				getEnvironmentalVariables());
+	}
+
+	/**
+	 * Gets the version of the function metadata, which changes whenever the
+	 * title, input names or direction is set.
+	 * 
+	 * @return long version of the metadata
+	 */
+	public long getMetadataVersion() {
+		return metadataVersion.get();
+	}
+
+	/**
+	 * Gets an evaluator the client can run in its own JVM. Functions are
+	 * evaluated on the server unless they override this.
+	 * 
+	 * @return null
+	 */
+	public Evaluator getEvaluator() {
+		return null;
+	}
+
+	/**
+	 * Queues an optimization of the function on the server job pool.
+	 * 
+	 * @param strategy
+	 *          package qualified class name of the optimizer to use
+	 * @param start
+	 *          input values to start from, the current inputs if null
+	 * @param budget
+	 *          maximum number of function evaluations, no limit if zero or less
+	 * @return long id of the job
+	 */
+	public long submitOptimization(String strategy, ArrayList<Double> start, int budget) {
+		return submitOptimization(strategy, start, budget, 0);
+	}
+
+	/**
+	 * Queues an optimization of the function on the server job pool.
+	 * 
+	 * @param strategy
+	 *          package qualified class name of the optimizer to use
+	 * @param start
+	 *          input values to start from, the current inputs if null
+	 * @param budget
+	 *          maximum number of function evaluations, no limit if zero or less
+	 * @param priority
+	 *          higher priorities are served first
+	 * @return long id of the job
+	 */
+	public long submitOptimization(String strategy, ArrayList<Double> start, int budget, int priority) {
+		progress.reset();
+		return OptimizationJobManager.getInstance().submit(this, currentClient(), strategy,
+				start == null ? getInputValues() : start, budget, priority);
+	}
+
+	/**
+	 * Gets the queue depth and wait time metrics of the server's optimization
+	 * scheduler.
+	 * 
+	 * @return SchedulerStats of the scheduler
+	 */
+	public SchedulerStats getSchedulerStats() {
+		return OptimizationScheduler.getInstance().getStats();
+	}
+
+	/**
+	 * Gets the host of the client making the current remote call.
+	 * 
+	 * @return String host name, or "local" for calls made in this JVM
+	 */
+	static String currentClient() {
+		try {
+			return RemoteServer.getClientHost();
+		} catch (ServerNotActiveException e) {
+			return "local";
+		}
+	}
+
+	/**
+	 * Gets the current state of an optimization job.
+	 * 
+	 * @param jobId
+	 *          id returned by submitOptimization()
+	 * @return JobStatus of the job
+	 */
+	public JobStatus status(long jobId) {
+		return OptimizationJobManager.getInstance().status(this, jobId);
+	}
+
+	/**
+	 * Waits for an optimization job to finish.
+	 * 
+	 * @param jobId
+	 *          id returned by submitOptimization()
+	 * @param timeoutMillis
+	 *          longest time to wait in milliseconds
+	 * @return OptimizationResult of the job, null if it did not finish in time
+	 */
+	public OptimizationResult awaitResult(long jobId, long timeoutMillis) {
+		return OptimizationJobManager.getInstance().awaitResult(this, jobId, timeoutMillis);
+	}
+
+	/**
+	 * Cancels an optimization job.
+	 * 
+	 * @param jobId
+	 *          id returned by submitOptimization()
+	 * @return true if the job had not already finished
+	 */
+	public boolean cancel(long jobId) {
+		return OptimizationJobManager.getInstance().cancel(this, jobId);
+	}
+
 	/**
 	 * User friendly representation of the function state and configuration. Shows
 	 * the function name, input variable names and input variable values
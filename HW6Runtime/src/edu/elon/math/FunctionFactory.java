@@ -0,0 +1,260 @@
+/**
+ * FunctionFactory.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.NoSuchObjectException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.server.RemoteObject;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remote factory that gives each client session its own function instance.
+ * Instances are exported once and kept in a pool for each function name,
+ * pre-warmed at start up; a released instance is restored to its starting
+ * state and handed to the next client. Instances left idle in a pool beyond the
+ * pre-warmed number are unexported after the idle timeout. Each client host may
+ * hold a limited number of instances at once, and an instance whose client
+ * stops holding a reference (its RMI lease ends) is taken back as if released.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class FunctionFactory extends UnicastRemoteObject implements FunctionFactoryInterface {
+	private static final long serialVersionUID = 1L;
+	private static final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "function-pool-evictor");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final Map<String, Pool> pools = new LinkedHashMap<String, Pool>();
+	private final ConcurrentHashMap<Remote, Lease> leases = new ConcurrentHashMap<Remote, Lease>();
+	private final ConcurrentHashMap<String, AtomicInteger> clientCounts = new ConcurrentHashMap<String, AtomicInteger>();
+	private final int prewarm;
+	private final int maxPerClient;
+	private final long idleTimeoutMillis;
+	private final CompressingSocketFactory sockets;
+
+	/**
+	 * Default constructor serves Dell, SamsClub and MinimumAbsoluteSum with four
+	 * pre-warmed instances each, eight instances per client and a five minute
+	 * idle timeout.
+	 */
+	public FunctionFactory() throws RemoteException {
+		this(4, 8, TimeUnit.MINUTES.toMillis(5));
+	}
+
+	/**
+	 * Creates the factory and pre-warms its pools.
+	 *
+	 * @param prewarm - instances of each function created at start up and kept
+	 *          however long they are idle
+	 * @param maxPerClient - most instances one client host may hold at once
+	 * @param idleTimeoutMillis - time after which an extra idle instance is
+	 *          unexported
+	 */
+	public FunctionFactory(int prewarm, int maxPerClient, long idleTimeoutMillis) throws RemoteException {
+		this(prewarm, maxPerClient, idleTimeoutMillis, null);
+	}
+
+	/**
+	 * Creates the factory and pre-warms its pools, exporting the pooled
+	 * instances with the given socket factory.
+	 *
+	 * @param prewarm - instances of each function created at start up and kept
+	 *          however long they are idle
+	 * @param maxPerClient - most instances one client host may hold at once
+	 * @param idleTimeoutMillis - time after which an extra idle instance is
+	 *          unexported
+	 * @param sockets - socket factory for the pooled instances, or null for
+	 *          default sockets
+	 */
+	public FunctionFactory(int prewarm, int maxPerClient, long idleTimeoutMillis, CompressingSocketFactory sockets)
+			throws RemoteException {
+		this.prewarm = prewarm;
+		this.sockets = sockets;
+		this.maxPerClient = maxPerClient;
+		this.idleTimeoutMillis = idleTimeoutMillis;
+		pools.put("dell", new Pool(Dell.class));
+		pools.put("samsClub", new Pool(SamsClub.class));
+		pools.put("minAbsSum", new Pool(MinimumAbsoluteSum.class));
+		long period = Math.max(1, idleTimeoutMillis / 2);
+		evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public ArrayList<String> getFunctionNames() {
+		return new ArrayList<String>(pools.keySet());
+	}
+
+	@Override
+	public FunctionInterface acquire(String name) throws RemoteException {
+		Pool pool = pools.get(name);
+		if (pool == null) {
+			throw new RemoteException("No function named " + name);
+		}
+		String client = Function.currentClient();
+		AtomicInteger count = clientCounts.computeIfAbsent(client, key -> new AtomicInteger());
+		if (count.incrementAndGet() > maxPerClient) {
+			count.decrementAndGet();
+			throw new RemoteException("Client " + client + " already holds " + maxPerClient + " functions");
+		}
+		try {
+			Function function = pool.take();
+			Remote stub = RemoteObject.toStub(function);
+			Lease lease = new Lease(client, pool, function);
+			leases.put(stub, lease);
+			function.setUnreferencedHandler(() -> giveBack(stub));
+			return (FunctionInterface) stub;
+		} catch (RemoteException | RuntimeException e) {
+			count.decrementAndGet();
+			throw e;
+		}
+	}
+
+	@Override
+	public void release(FunctionInterface function) {
+		giveBack(function instanceof ColocatedFunction ? ((ColocatedFunction) function).getStub() : function);
+	}
+
+	/**
+	 * Ends the lease of an instance and returns it to its pool.
+	 *
+	 * @param stub the stub handed out by acquire()
+	 */
+	private void giveBack(Remote stub) {
+		Lease lease = leases.remove(stub);
+		if (lease == null) {
+			return;
+		}
+		lease.function.setUnreferencedHandler(null);
+		AtomicInteger count = clientCounts.get(lease.client);
+		if (count != null) {
+			count.decrementAndGet();
+		}
+		lease.pool.put(lease.function);
+	}
+
+	/**
+	 * Unexports idle instances beyond the pre-warmed number.
+	 */
+	private void evictIdle() {
+		long now = System.currentTimeMillis();
+		for (Pool pool : pools.values()) {
+			pool.evict(now);
+		}
+	}
+
+	/**
+	 * An instance handed out to a client.
+	 */
+	private static class Lease {
+		private final String client;
+		private final Pool pool;
+		private final Function function;
+
+		Lease(String client, Pool pool, Function function) {
+			this.client = client;
+			this.pool = pool;
+			this.function = function;
+		}
+	}
+
+	/**
+	 * Idle instances of one function, most recently used first.
+	 */
+	private class Pool {
+		private final Class<? extends Function> type;
+		private final ArrayDeque<Function> idle = new ArrayDeque<Function>();
+		private final ArrayDeque<Long> idleSince = new ArrayDeque<Long>();
+		private FunctionSnapshot start;
+
+		Pool(Class<? extends Function> type) throws RemoteException {
+			this.type = type;
+			for (int i = 0; i < prewarm; i++) {
+				put(create());
+			}
+		}
+
+		/**
+		 * Creates and exports a new instance.
+		 */
+		private Function create() throws RemoteException {
+			try {
+				Function function = type.getDeclaredConstructor().newInstance();
+				if (sockets != null) {
+					sockets.export(function);
+				}
+				FunctionLocator.registerColocated(function);
+				synchronized (this) {
+					if (start == null) {
+						start = function.getSnapshot();
+					}
+				}
+				return function;
+			} catch (ReflectiveOperationException e) {
+				throw new RemoteException("Cannot create " + type.getName(), e);
+			}
+		}
+
+		/**
+		 * Takes the most recently used idle instance, or creates one.
+		 */
+		Function take() throws RemoteException {
+			synchronized (this) {
+				if (!idle.isEmpty()) {
+					idleSince.pollFirst();
+					return idle.pollFirst();
+				}
+			}
+			return create();
+		}
+
+		/**
+		 * Restores an instance to its starting state and makes it idle.
+		 */
+		synchronized void put(Function function) {
+			function.restore(start);
+			idle.addFirst(function);
+			idleSince.addFirst(System.currentTimeMillis());
+		}
+
+		/**
+		 * Unexports the instances idle longest, keeping the pre-warmed number.
+		 */
+		synchronized void evict(long now) {
+			Iterator<Function> functions = idle.descendingIterator();
+			Iterator<Long> since = idleSince.descendingIterator();
+			while (idle.size() > prewarm && functions.hasNext()) {
+				Function function = functions.next();
+				if (now - since.next() < idleTimeoutMillis) {
+					break;
+				}
+				functions.remove();
+				since.remove();
+				FunctionLocator.unregisterColocated(function);
+				try {
+					UnicastRemoteObject.unexportObject(function, true);
+				} catch (NoSuchObjectException e) {
+					// already unexported
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,55 @@
+/**
+ * FunctionFactoryInterface.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+
+/**
+ * Remote interface of the FunctionFactory, which hands each client its own
+ * function instance instead of one instance shared by every client.
+ *
+ * @author emccarthy3, dwinsor, jrhodes
+ *
+ */
+public interface FunctionFactoryInterface extends Remote {
+
+	/**
+	 * Gets the names of the functions the factory can hand out
+	 * 
+	 * @return ArrayList<String> of function names, such as "dell"
+	 * @throws RemoteException
+	 */
+	public ArrayList<String> getFunctionNames() throws RemoteException;
+
+	/**
+	 * Hands out a function instance for the calling client's use only. The
+	 * instance is taken back when released, or once the client no longer holds
+	 * a reference to it.
+	 * 
+	 * @param name
+	 *          - the name of the function
+	 * @return FunctionInterface of a function in its starting state
+	 * @throws RemoteException
+	 *           if the name is unknown or the client already holds its limit of
+	 *           functions
+	 */
+	public FunctionInterface acquire(String name) throws RemoteException;
+
+	/**
+	 * Gives a function instance back to the factory. The client must not use it
+	 * afterwards.
+	 * 
+	 * @param function
+	 *          - a function returned by acquire()
+	 * @throws RemoteException
+	 */
+	public void release(FunctionInterface function) throws RemoteException;
+
+}
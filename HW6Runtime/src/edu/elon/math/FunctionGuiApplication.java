@@ -11,12 +11,19 @@ import java.awt.BorderLayout;
 import java.awt.Container;
 import java.awt.GridLayout;
 import java.io.Serializable;
+import java.rmi.NoSuchObjectException;
 import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import javax.naming.Context;
-import javax.naming.InitialContext;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
@@ -27,7 +34,8 @@ import javax.swing.JScrollPane;
 import javax.swing.JSeparator;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
-import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 
 /**
  * Application which contains the main method that when run causes a GUI(s) to
@@ -40,25 +48,43 @@ import javax.swing.SwingUtilities;
  * @author dpowell2, dwinsor, emccarthy, jrhodes
  * @version 1.0
  */
-public class FunctionGuiApplication extends JFrame implements Observer, Serializable {
+public class FunctionGuiApplication extends JFrame implements Serializable {
+
+	// longest a single awaitResult call holds a server thread
+	private static final long RESULT_POLL_MILLIS = 1000;
+	// shortest time between two progress batches pushed by the server
+	private static final long PROGRESS_INTERVAL_MILLIS = 100;
+	// most repaints of the text-fields each second while optimizing
+	private static final int MAX_REPAINTS_PER_SECOND = 20;
+	// most progress points kept for the convergence chart
+	private static final int CONVERGENCE_POINTS = 16384;
+	private static final AtomicInteger optimizationThreads = new AtomicInteger();
+	// runs the optimizations of every window
+	private static final ExecutorService optimizations = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "gui-optimization-" + optimizationThreads.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
 
 	private JButton solveButton;
 	private JButton optimizeButton;
+	private JButton cancelButton;
 
 	private FunctionInterface function;
+	private FunctionSnapshot snapshot;
+	private Evaluator evaluator;
 	private JComboBox<String> comboBox;
 	private JScrollPane scroll;
+	private ConvergenceSeries convergence;
+	private ConvergenceChart chart;
 
 	private JTextField resultTextField;
 	private String[] optimizersArray;
 	private ArrayList<String> labels;
 	private ArrayList<JTextField> textFields;
 	private String optimizersString;
-	private ArrayList<Strategy> stratArray;
-	private ArrayList<Double> textFieldValues;
-	private ArrayList<Double> inputValues;
 	private DefaultComboBoxModel<String> model;
-	private ThreadClass threadClass;
+	private volatile OptimizationTask task;
 
 	/**
 	 * Application to optimize an Elon function using one of a variety of
@@ -85,30 +111,44 @@ public class FunctionGuiApplication extends JFrame implements Observer, Serializ
 
 		System.setProperty("java.security.policy", "client.policy");
 		System.setSecurityManager(new SecurityManager());
-		String url = "rmi://localhost/";
-		if (args.length == 1) {
-			url = "rmi://" + args[0] + "/";
+		// each argument is a host name, or a base URL such as
+		// "binary://host:1199/"; several arguments are replicas of one server
+		List<String> url = new ArrayList<String>();
+		for (String arg : args) {
+			url.add(arg.contains("://") ? arg : "rmi://" + arg + "/");
+		}
+		if (url.isEmpty()) {
+			url.add("rmi://localhost/");
 		}
 		// change to "rmi://yourserver.com/"
 		// when server runs on remote machine yourserver.com
 		try {
-			Context namingContext = new InitialContext();
-			FunctionInterface f1 = (FunctionInterface) namingContext.lookup(url + "dell");
+			// over RMI each client gets its own instances rather than the shared
+			// ones bound under "dell", "samsClub" and "minAbsSum"; the three are
+			// acquired in parallel
+			CompletableFuture<FunctionInterface> dellFuture = AsyncFunction.acquire(url, "dell");
 			// Dell f1 = (Dell) namingContext.lookup(url + "dell");
 
-			FunctionInterface f2 = (FunctionInterface) namingContext.lookup(url + "samsClub");
+			CompletableFuture<FunctionInterface> samsFuture = AsyncFunction.acquire(url, "samsClub");
 			// SamsClub f2 = (SamsClub) namingContext.lookup(url + "samsClub");
 
-			FunctionInterface f3 = (FunctionInterface) namingContext.lookup(url + "minAbsSum");
+			CompletableFuture<FunctionInterface> minFuture = AsyncFunction.acquire(url, "minAbsSum");
 			// MinimumAbsoluteSum f3 = (MinimumAbsoluteSum)
 			// namingContext.lookup(url + "minAbsSum");
+			FunctionInterface f1 = new CachingFunction(dellFuture.join());
+			FunctionInterface f2 = new CachingFunction(samsFuture.join());
+			FunctionInterface f3 = new CachingFunction(minFuture.join());
 			FunctionGuiApplication dellApplication = new FunctionGuiApplication(f1);
 			FunctionGuiApplication samsApplication = new FunctionGuiApplication(f2);
 			FunctionGuiApplication minApplication = new FunctionGuiApplication(f3);
-			System.out.println("Environment Variables" + f3.getEnvironmentalVariables());
-			System.out.println(f1.getTitle());
-			System.out.println(f2.getTitle());
-			System.out.println(f3.getTitle());
+			CompletableFuture<String> environment = new AsyncFunction(f3).getEnvironmentalVariables();
+			CompletableFuture<String> dellTitle = new AsyncFunction(f1).getTitle();
+			CompletableFuture<String> samsTitle = new AsyncFunction(f2).getTitle();
+			CompletableFuture<String> minTitle = new AsyncFunction(f3).getTitle();
+			System.out.println("Environment Variables" + environment.join());
+			System.out.println(dellTitle.join());
+			System.out.println(samsTitle.join());
+			System.out.println(minTitle.join());
 
 			FunctionServer server;
 			String optimizersEnvironment;
@@ -129,43 +169,38 @@ public class FunctionGuiApplication extends JFrame implements Observer, Serializ
 
 	/**
 	 * FunctionGuiApplication takes observable (in this case a function) as a
-	 * parameter and adds itself as an observer of the function.
+	 * parameter. Each optimization it starts listens to the progress of its own
+	 * job.
 	 * 
 	 * @param o
 	 */
 	public FunctionGuiApplication(FunctionInterface function) {
 		this.function = function;
-		// try {
-		// function.registerObserver(this);
-		// } catch (RemoteException e1) {
-		// e1.printStackTrace();
-		// }
-		textFieldValues = new ArrayList<Double>();
 		textFields = new ArrayList<JTextField>();
+		AsyncFunction async = new AsyncFunction(function);
+		CompletableFuture<FunctionSnapshot> snapshotFuture = async.getSnapshot();
+		// cheap functions are optimized here rather than on the server
+		CompletableFuture<Evaluator> evaluatorFuture = async.getEvaluator();
 		try {
-			labels = function.getInputNames();
-			function.getInputValues();
-		} catch (RemoteException e) {
+			snapshot = snapshotFuture.join();
+			labels = new ArrayList<String>(snapshot.getInputNames());
+			evaluator = evaluatorFuture.join();
+		} catch (CompletionException e) {
 			e.printStackTrace();
 		}
 
 		createGui();
-
 	}
 
 	/**
 	 * Method sets up GUI display(s) based on input values and labels defined in
-	 * the observer (function) itself.
+	 * the observer (function) itself. Everything shown is taken from the
+	 * snapshot fetched in the constructor so building the GUI costs one remote
+	 * call.
 	 */
 	public void createGui() {
-		try {
-			this.setTitle(function.getTitle());
-		} catch (RemoteException e1) {
-			// TODO Auto-generated catch block
-			e1.printStackTrace();
-		}
+		this.setTitle(snapshot.getTitle());
 		resultTextField = new JTextField();
-		inputValues = new ArrayList<Double>();
 		Container container = this.getContentPane();
 
 		JPanel holdGrid = new JPanel();
@@ -176,30 +211,15 @@ public class FunctionGuiApplication extends JFrame implements Observer, Serializ
 		JPanel techniquePanel = new JPanel();
 		JPanel bottomGrid = new JPanel();
 		// optimizersString = System.getenv("optimizers");
-		try {
-			optimizersString = function.getEnvironmentalVariables();
-
-		} catch (RemoteException e) {
-			e.printStackTrace();
-		}
+		optimizersString = snapshot.getOptimizersString();
 		System.out.println("OP STRING!! " + optimizersString);
 		optimizersArray = optimizersString.split(",");
 		for (int i = 0; i < optimizersArray.length; ++i) {
 			System.out.println("THE ARRAY " + optimizersArray[i]);
 		}
 		model = new DefaultComboBoxModel<String>();
-		stratArray = new ArrayList<Strategy>();
 
 		for (int i = 0; i < optimizersArray.length; ++i) {
-			Strategy strat;
-			try {
-				strat = function.callStrategy(optimizersArray[i]);
-				function.setStrategy(strat);
-				stratArray.add(strat);
-			} catch (RemoteException e) {
-				e.printStackTrace();
-			}
-
 			model.addElement(optimizersArray[i]);
 		}
 
@@ -213,15 +233,9 @@ public class FunctionGuiApplication extends JFrame implements Observer, Serializ
 		rightGrid.setLayout(new GridLayout(gridHeight, 3));
 
 		for (int i = 0; i < labels.size(); ++i) {
-			JTextField jText;
-			try {
-				jText = new JTextField(function.getInputValues().get(i) + "", SwingConstants.RIGHT);
-				jText.setText(function.getInputValues().get(i) + "");
-				textFieldValues.add(function.getInputValues().get(i));
-				textFields.add(jText);
-			} catch (RemoteException e) {
-				e.printStackTrace();
-			}
+			double value = snapshot.getInputValue(i);
+			JTextField jText = new JTextField(value + "", SwingConstants.RIGHT);
+			textFields.add(jText);
 
 			leftGrid.add(new JLabel(labels.get(i), SwingConstants.RIGHT));
 			rightGrid.add(textFields.get(i));
@@ -232,6 +246,8 @@ public class FunctionGuiApplication extends JFrame implements Observer, Serializ
 
 		buttonPanel.add(solveButton = new JButton("Solve"));
 		buttonPanel.add(optimizeButton = new JButton("Optimize"));
+		buttonPanel.add(cancelButton = new JButton("Cancel"));
+		cancelButton.setEnabled(false);
 
 		holdGrid.setLayout(new BorderLayout(5, 0));
 		holdGrid.add(leftGrid, BorderLayout.WEST);
@@ -240,6 +256,8 @@ public class FunctionGuiApplication extends JFrame implements Observer, Serializ
 
 		bottomGrid.setLayout(new BorderLayout(3, 0));
 		bottomGrid.add(resultPanel, BorderLayout.NORTH);
+		convergence = new ConvergenceSeries(CONVERGENCE_POINTS);
+		bottomGrid.add(chart = new ConvergenceChart(convergence), BorderLayout.CENTER);
 		bottomGrid.add(buttonPanel, BorderLayout.SOUTH);
 
 		container.add(techniquePanel, BorderLayout.NORTH);
@@ -247,10 +265,8 @@ public class FunctionGuiApplication extends JFrame implements Observer, Serializ
 		container.add(bottomGrid, BorderLayout.SOUTH);
 
 		solveButton.addActionListener(event -> solve());
-		optimizeButton.addActionListener(event -> {
-			threadClass = new ThreadClass();
-			threadClass.start();
-		});
+		optimizeButton.addActionListener(event -> optimize());
+		cancelButton.addActionListener(event -> cancel());
 
 		this.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		this.setVisible(true);
@@ -269,7 +285,7 @@ public class FunctionGuiApplication extends JFrame implements Observer, Serializ
 		}
 
 		try {
-			function.setInputValues(inputs);
+			function.setInputVector(PointVector.of(inputs));
 			function.evaluate();
 		} catch (RemoteException e) {
 			e.printStackTrace();
@@ -278,59 +294,229 @@ public class FunctionGuiApplication extends JFrame implements Observer, Serializ
 	}
 
 	/**
-	 * This method gets called when the values of the function have been modified
-	 * through setChange() and notifyObservers() methods. It resets the text-field
-	 * values based on that change.
+	 * Starts an optimization from the values in the text-fields with the
+	 * technique selected, disabling Optimize until it finishes.
 	 */
-	@Override
-	public void update(ArrayList<Double> inputValues) {
-		for (int i = 0; i < textFields.size(); ++i) {
-			textFields.get(i).setText(inputValues.get(i) + "");
+	public void optimize() {
+		ArrayList<Double> inputs = new ArrayList<Double>();
+
+		for (JTextField textfield : textFields) {
+			inputs.add(Double.parseDouble(textfield.getText()));
 		}
-		try {
-			resultTextField.setText(function.getOutput() + "");
-		} catch (RemoteException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+		synchronized (convergence) {
+			task = new OptimizationTask(comboBox.getSelectedItem().toString(), inputs);
+			convergence.clear();
+		}
+		chart.repaint();
+		optimizeButton.setEnabled(false);
+		cancelButton.setEnabled(true);
+		optimizations.execute(task);
+	}
+
+	/**
+	 * Cancels the running optimization, keeping the best point it has found.
+	 */
+	public void cancel() {
+		if (task != null) {
+			task.requestCancel();
+			cancelButton.setEnabled(false);
 		}
+	}
 
+	/**
+	 * Shows a point and its function value in the text-fields. Called on the
+	 * event dispatch thread.
+	 */
+	private void show(ArrayList<Double> values, Double output) {
+		for (int i = 0; i < textFields.size(); ++i) {
+			textFields.get(i).setText(values.get(i) + "");
+		}
+		resultTextField.setText(output + "");
 	}
 
 	/**
-	 * ThreadClass class starts a thread in order to dynamically update the GUI
-	 * when update() method is called.
+	 * OptimizationTask runs one optimization on the shared optimization threads
+	 * and dynamically updates the GUI when its update() method is called. The
+	 * optimization is submitted as a job and collected in short waits, so no RMI
+	 * connection is held for the whole run. A function that offers an evaluator
+	 * is optimized as a job in this JVM instead. Each task listens through its
+	 * own ProgressReceiver, so a late batch from an earlier optimization is told
+	 * apart and ignored. Progress is published to the event dispatch thread and
+	 * repainted at most MAX_REPAINTS_PER_SECOND times a second, however fast the
+	 * function is evaluated; the best point found is shown when the job finishes
+	 * or is cancelled.
 	 * 
 	 * @author dwinsor, emccarthy, jrhodes
 	 *
 	 */
-	public class ThreadClass extends Thread {
-		public void run() {
-
-			ArrayList<Double> inputs = new ArrayList<Double>();
+	public class OptimizationTask extends SwingWorker<OptimizationResult, OptimizationTask.Progress>
+			implements Observer {
+		private final String technique;
+		private final ArrayList<Double> inputs;
+		private final Timer repaintTimer;
+		private Progress pending;
+		private long lastRepaint;
+		private volatile FunctionInterface target;
+		private volatile long jobId = -1;
+		private volatile boolean cancelRequested;
+		private volatile ProgressReceiver progress;
+
+		/**
+		 * Creates a task starting from the given inputs. Called on the event
+		 * dispatch thread.
+		 */
+		OptimizationTask(String technique, ArrayList<Double> inputs) {
+			this.technique = technique;
+			this.inputs = inputs;
+			repaintTimer = new Timer(0, event -> repaintPending());
+			repaintTimer.setRepeats(false);
+		}
 
-			for (JTextField textfield : textFields) {
-				inputs.add(Double.parseDouble(textfield.getText()));
+		@Override
+		protected OptimizationResult doInBackground() throws RemoteException {
+			LocalFunction local = null;
+			if (evaluator != null && StrategyFactory.getInstance().hasStrategy(technique)) {
+				local = new LocalFunction(snapshot, evaluator);
+				target = local;
+			} else {
+				target = function;
 			}
+			progress = new ProgressReceiver(this);
 			try {
-				function.callStrategy(comboBox.getSelectedItem().toString());
-			} catch (RemoteException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
+				target.registerProgressListener(progress, PROGRESS_INTERVAL_MILLIS);
+				jobId = target.submitOptimization(technique, inputs, 0);
+				if (cancelRequested) {
+					target.cancel(jobId);
+				}
+				OptimizationResult result = null;
+				while (result == null) {
+					result = target.awaitResult(jobId, RESULT_POLL_MILLIS);
+				}
+				if (local != null && result.getInputValues() != null) {
+					// set the best point found on the remote function
+					local.setInputValues(result.getInputValues());
+					local.setOutput(result.getOutput());
+					local.setOptimizationTechnique(technique);
+					local.publish(function);
+				}
+				return result;
+			} finally {
+				try {
+					target.removeProgressListener(progress);
+				} catch (RemoteException e) {
+					e.printStackTrace();
+				}
+				try {
+					UnicastRemoteObject.unexportObject(progress, true);
+				} catch (NoSuchObjectException e) {
+					// already unexported
+				}
 			}
-			for (int i = 0; i < textFields.size(); ++i) {
-				double value = textFieldValues.get(i);
-				inputValues.add(value);
+		}
+
+		/**
+		 * Called by the task's ProgressReceiver when the progress of its job is
+		 * pushed. Adds the current and best values to the convergence chart and
+		 * passes the best point so far on to be repainted, unless a newer
+		 * optimization has started and cleared the chart.
+		 */
+		@Override
+		public void update(ArrayList<Double> inputValues) {
+			synchronized (convergence) {
+				if (task != this) {
+					return;
+				}
+				convergence.add(progress.getEvaluations(), progress.getCurrentOutput(), progress.getBestOutput());
 			}
+			report(inputValues, progress.getBestOutput());
+		}
+
+		/**
+		 * Passes the best point so far to the event dispatch thread. Called on the
+		 * thread that received the progress.
+		 */
+		void report(ArrayList<Double> values, double output) {
+			publish(new Progress(values, output));
+		}
+
+		/**
+		 * Keeps only the latest progress and repaints it now, or once the repaint
+		 * interval has passed.
+		 */
+		@Override
+		protected void process(List<Progress> chunks) {
+			pending = chunks.get(chunks.size() - 1);
+			long wait = lastRepaint + 1000 / MAX_REPAINTS_PER_SECOND - System.currentTimeMillis();
+			if (wait <= 0) {
+				repaintPending();
+			} else if (!repaintTimer.isRunning()) {
+				repaintTimer.setInitialDelay((int) wait);
+				repaintTimer.restart();
+			}
+		}
+
+		private void repaintPending() {
+			if (pending != null && !isDone()) {
+				show(pending.values, pending.output);
+				chart.repaint();
+				lastRepaint = System.currentTimeMillis();
+			}
+			pending = null;
+		}
+
+		/**
+		 * Cancels the job, which then finishes with the best point found so far.
+		 * Called on the event dispatch thread.
+		 */
+		void requestCancel() {
+			cancelRequested = true;
+			FunctionInterface submitted = target;
+			long id = jobId;
+			if (submitted != null && id >= 0) {
+				optimizations.execute(() -> {
+					try {
+						submitted.cancel(id);
+					} catch (RemoteException e) {
+						e.printStackTrace();
+					}
+				});
+			}
+		}
+
+		@Override
+		protected void done() {
+			repaintTimer.stop();
+			pending = null;
+			chart.repaint();
 			try {
-				function.setInputValues(inputs);
-				function.callStrategy(comboBox.getSelectedItem().toString());
-				function.optimize();
-			} catch (RemoteException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
+				OptimizationResult best = get();
+				if (best.getInputValues() != null) {
+					show(best.getInputValues(), best.getOutput());
+				}
+			} catch (ExecutionException e) {
+				e.getCause().printStackTrace();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (task == this) {
+				task = null;
+				optimizeButton.setEnabled(true);
+				cancelButton.setEnabled(false);
 			}
+		}
+
+		/**
+		 * The best point so far and its function value.
+		 */
+		class Progress {
+			private final ArrayList<Double> values;
+			private final double output;
 
+			Progress(ArrayList<Double> values, double output) {
+				this.values = values;
+				this.output = output;
+			}
 		}
 	}
 
-}
\ No newline at end of file
+}
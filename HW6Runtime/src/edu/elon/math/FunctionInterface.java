@@ -60,6 +60,14 @@ public interface FunctionInterface extends Remote {
 	 */
 	public ArrayList<Double> getInputValues() throws RemoteException;
 
+	/**
+	 * Returns the current value of each input as a compact PointVector, which
+	 * crosses the wire as raw doubles instead of boxed Doubles.
+	 * 
+	 * @return PointVector of values representing current point.
+	 */
+	public PointVector getInputVector() throws RemoteException;
+
 	/**
 	 * Gets the full package qualified classname of the currently set optimization
 	 * technique
@@ -129,6 +137,14 @@ public interface FunctionInterface extends Remote {
 	 */
 	public void setInputValues(ArrayList<Double> inputValues) throws RemoteException;
 
+	/**
+	 * Sets the current value of the input set from a compact PointVector.
+	 * 
+	 * @param inputVector
+	 *          PointVector representing the value of each input parameter.
+	 */
+	public void setInputVector(PointVector inputVector) throws RemoteException;
+
 	/**
 	 * Sets function to be a minimization or a maximization
 	 * 
@@ -195,4 +211,134 @@ public interface FunctionInterface extends Remote {
 	 */
 	public String getEnvironmentVariables() throws RemoteException;
 
+	/**
+	 * Gets an immutable snapshot of the function title, input names and values,
+	 * output, direction and available optimizers in a single remote call.
+	 * 
+	 * @return FunctionSnapshot of the current function state
+	 * @throws RemoteException
+	 */
+	public FunctionSnapshot getSnapshot() throws RemoteException;
+
+	/**
+	 * Gets the version of the function metadata: title, input names, direction
+	 * and optimizers. The version changes whenever any of them is set, so a
+	 * client holding copies of them can tell when to fetch them again.
+	 * 
+	 * @return long version of the metadata
+	 * @throws RemoteException
+	 */
+	public long getMetadataVersion() throws RemoteException;
+
+	/**
+	 * Gets an evaluator the client can run in its own JVM, for functions cheap
+	 * enough to evaluate anywhere. Expensive or data-bound functions have none
+	 * and must be evaluated on the server.
+	 * 
+	 * @return Evaluator of the function, null if it has none
+	 * @throws RemoteException
+	 */
+	public Evaluator getEvaluator() throws RemoteException;
+
+	/**
+	 * Queues an optimization of the function on the server and returns at once.
+	 * The job runs on a server side thread pool on its own copy of the inputs, so
+	 * several jobs may run on the same function.
+	 * 
+	 * @param strategy
+	 *          package qualified class name of the optimizer to use
+	 * @param start
+	 *          ArrayList<Double> of input values to start from
+	 * @param budget
+	 *          maximum number of function evaluations, no limit if zero or less
+	 * @return long id of the job
+	 * @throws RemoteException
+	 */
+	public long submitOptimization(String strategy, ArrayList<Double> start, int budget) throws RemoteException;
+
+	/**
+	 * Queues an optimization with a priority. When the server is busy, waiting
+	 * work of higher priority runs first, and clients with the same priority
+	 * take turns.
+	 * 
+	 * @param strategy
+	 *          package qualified class name of the optimizer to use
+	 * @param start
+	 *          ArrayList<Double> of input values to start from
+	 * @param budget
+	 *          maximum number of function evaluations, no limit if zero or less
+	 * @param priority
+	 *          higher priorities are served first, 0 for normal
+	 * @return long id of the job
+	 * @throws RemoteException
+	 * @throws java.util.concurrent.RejectedExecutionException
+	 *           if the server has too much work waiting
+	 */
+	public long submitOptimization(String strategy, ArrayList<Double> start, int budget, int priority)
+			throws RemoteException;
+
+	/**
+	 * Gets the queue depth and wait time metrics of the server's optimization
+	 * scheduler.
+	 * 
+	 * @return SchedulerStats of the scheduler
+	 * @throws RemoteException
+	 */
+	public SchedulerStats getSchedulerStats() throws RemoteException;
+
+	/**
+	 * Gets the current state of an optimization job.
+	 * 
+	 * @param jobId
+	 *          id returned by submitOptimization()
+	 * @return JobStatus of the job
+	 * @throws RemoteException
+	 */
+	public JobStatus status(long jobId) throws RemoteException;
+
+	/**
+	 * Waits for an optimization job to finish. The server forgets the job once
+	 * its result has been returned.
+	 * 
+	 * @param jobId
+	 *          id returned by submitOptimization()
+	 * @param timeoutMillis
+	 *          longest time to wait in milliseconds
+	 * @return OptimizationResult of the job, null if it did not finish in time
+	 * @throws RemoteException
+	 */
+	public OptimizationResult awaitResult(long jobId, long timeoutMillis) throws RemoteException;
+
+	/**
+	 * Cancels an optimization job. A running job stops at its next function
+	 * evaluation.
+	 * 
+	 * @param jobId
+	 *          id returned by submitOptimization()
+	 * @return true if the job had not already finished
+	 * @throws RemoteException
+	 */
+	public boolean cancel(long jobId) throws RemoteException;
+
+	/**
+	 * Registers a remote callback that is sent the progress of each evaluation,
+	 * coalesced into at most one batch per interval.
+	 * 
+	 * @param listener
+	 *          the exported callback, such as a ProgressReceiver
+	 * @param minIntervalMillis
+	 *          shortest time between two batches in milliseconds
+	 * @throws RemoteException
+	 */
+	public void registerProgressListener(ProgressListener listener, long minIntervalMillis) throws RemoteException;
+
+	/**
+	 * Removes a remote progress callback
+	 * 
+	 * @param listener
+	 *          the callback passed to registerProgressListener()
+	 * @throws RemoteException
+	 */
+	public void removeProgressListener(ProgressListener listener) throws RemoteException;
+
 }
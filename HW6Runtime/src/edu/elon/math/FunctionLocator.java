@@ -0,0 +1,137 @@
+/**
+ * FunctionLocator.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.NoSuchObjectException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.server.RemoteObject;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+
+/**
+ * Finds functions by URL so clients can switch transports by changing the URL
+ * alone. "binary://host:port/name" connects to a BinaryFunctionServer; any
+ * other URL, such as "rmi://host/dell", is looked up through JNDI as before.
+ * A function may also be acquired from several replicas of a server at once.
+ * <p>
+ * Objects the server exports register themselves here. When a lookup finds
+ * one of them, so the client and server share a JVM, the locator hands back
+ * the object itself behind the same interface instead of its RMI stub.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class FunctionLocator {
+	private static final ConcurrentHashMap<Remote, Remote> colocated = new ConcurrentHashMap<Remote, Remote>();
+
+	private FunctionLocator() {
+	}
+
+	/**
+	 * Finds the function at a URL.
+	 *
+	 * @param url - "binary://host:port/name" or a JNDI name such as
+	 *          "rmi://host/dell"
+	 * @return FunctionInterface for the function
+	 * @throws RemoteException if the function cannot be found
+	 */
+	public static FunctionInterface lookup(String url) throws RemoteException {
+		if (isBinary(url)) {
+			return BinaryFunctionClient.connect(url);
+		}
+		return (FunctionInterface) colocate(jndiLookup(url));
+	}
+
+	/**
+	 * Gets a function for the caller from a server. Over RMI the instance comes
+	 * from the server's FunctionFactory, so the caller has it to itself; over
+	 * the binary protocol the server's shared instance is opened.
+	 *
+	 * @param baseUrl - "binary://host:port/" or "rmi://host/"
+	 * @param name - the function name, such as "dell"
+	 * @return FunctionInterface for the function
+	 * @throws RemoteException if the function cannot be found
+	 */
+	public static FunctionInterface acquire(String baseUrl, String name) throws RemoteException {
+		if (isBinary(baseUrl)) {
+			return BinaryFunctionClient.connect(baseUrl + name);
+		}
+		FunctionFactoryInterface factory = (FunctionFactoryInterface) colocate(jndiLookup(baseUrl + "functionFactory"));
+		return (FunctionInterface) colocate(factory.acquire(name));
+	}
+
+	/**
+	 * Gets a function for the caller from one or more replicas of a server. With
+	 * several replicas the calls are balanced across them by a
+	 * ReplicatedFunction, which moves to another replica if one is lost.
+	 *
+	 * @param baseUrls - base URLs such as "binary://host:port/" or "rmi://host/"
+	 * @param name - the function name, such as "dell"
+	 * @return FunctionInterface for the function
+	 * @throws RemoteException if the function cannot be found
+	 */
+	public static FunctionInterface acquire(List<String> baseUrls, String name) throws RemoteException {
+		if (baseUrls.size() == 1) {
+			return acquire(baseUrls.get(0), name);
+		}
+		return new ReplicatedFunction(baseUrls, name);
+	}
+
+	/**
+	 * Records an exported object so lookups in this JVM can bypass its stub.
+	 * Called once the object is exported with its final socket factory.
+	 *
+	 * @param object - the exported object
+	 * @throws NoSuchObjectException if the object is not exported
+	 */
+	static void registerColocated(Remote object) throws NoSuchObjectException {
+		colocated.put(RemoteObject.toStub(object), object);
+	}
+
+	/**
+	 * Forgets an object before it is unexported.
+	 *
+	 * @param object - the exported object
+	 */
+	static void unregisterColocated(Remote object) {
+		try {
+			colocated.remove(RemoteObject.toStub(object));
+		} catch (NoSuchObjectException e) {
+			// never registered
+		}
+	}
+
+	/**
+	 * Replaces a stub of an object exported in this JVM with the object.
+	 * Functions are wrapped in a ColocatedFunction.
+	 */
+	private static Object colocate(Object found) {
+		Remote object = found instanceof Remote ? colocated.get(found) : null;
+		if (object instanceof Function) {
+			return new ColocatedFunction((Function) object, (Remote) found);
+		}
+		return object == null ? found : object;
+	}
+
+	private static boolean isBinary(String url) {
+		return url.startsWith(BinaryFunctionClient.SCHEME + "://");
+	}
+
+	private static Object jndiLookup(String url) throws RemoteException {
+		try {
+			return new InitialContext().lookup(url);
+		} catch (NamingException e) {
+			throw new RemoteException("Cannot find " + url, e);
+		}
+	}
+
+}
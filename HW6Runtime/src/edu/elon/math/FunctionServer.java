@@ -7,8 +7,17 @@
  */
 package edu.elon.math;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.rmi.Remote;
 import java.rmi.RemoteException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.naming.Context;
 import javax.naming.InitialContext;
@@ -20,6 +29,29 @@ import javax.naming.NamingException;
  *
  */
 public class FunctionServer implements Remote {
+	/**
+	 * System property choosing the sockets the functions are bound with: plain,
+	 * buffered or compressed
+	 */
+	public static final String SOCKETS_PROPERTY = "edu.elon.math.sockets";
+	/**
+	 * System property giving the port of the binary protocol endpoint, which is
+	 * off unless it is set
+	 */
+	public static final String BINARY_PORT_PROPERTY = "edu.elon.math.binaryPort";
+	/**
+	 * System property giving the address the binary protocol endpoint listens
+	 * on, the loopback address unless it is set
+	 */
+	public static final String BINARY_ADDRESS_PROPERTY = "edu.elon.math.binaryAddress";
+	/**
+	 * Usual port of the binary protocol endpoint
+	 */
+	public static final int BINARY_PORT = 1199;
+	/**
+	 * Registry port of a cache node started with no port argument
+	 */
+	public static final int CACHE_PORT = 1100;
 	// private static ArrayList<JTextField> textFields;
 	// public static void main(String[] args) {
 	// Function samsFunction = new SamsClub();
@@ -38,7 +70,33 @@ public class FunctionServer implements Remote {
 	 * minAbsSumFunction.setTextFields(textFields);
 	 */
 
+	/**
+	 * Binds the functions and the function factory, exported with the sockets
+	 * chosen by the edu.elon.math.sockets property. If the
+	 * edu.elon.math.binaryPort property is set, also serves the same functions
+	 * over the binary protocol on that port, listening on the loopback address
+	 * or on the edu.elon.math.binaryAddress address.
+	 * Evaluations of expensive functions are shared with other servers through
+	 * the cache nodes listed in the edu.elon.math.cacheNodes property, if it is
+	 * set. With the arguments "worker [port]" starts an evaluation worker for an
+	 * EvaluationCoordinator instead, and with "cache [port]" an
+	 * EvaluationCacheServer.
+	 * 
+	 * @param args
+	 */
 	public static void main(String args[]) {
+		if (args.length > 0 && args[0].equals("worker")) {
+			startWorker(args.length > 1 ? Integer.parseInt(args[1]) : Registry.REGISTRY_PORT);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("cache")) {
+			startCache(args.length > 1 ? Integer.parseInt(args[1]) : CACHE_PORT);
+			return;
+		}
+		String cacheNodes = System.getProperty(EvaluationCache.NODES_PROPERTY);
+		if (cacheNodes != null && !cacheNodes.trim().isEmpty()) {
+			EvaluationCache.setShared(new EvaluationCache(Arrays.asList(cacheNodes.trim().split("\\s*,\\s*"))));
+		}
 
 		System.setProperty("java.security.policy", "client.policy");
 		System.setSecurityManager(new SecurityManager());
@@ -48,13 +106,37 @@ public class FunctionServer implements Remote {
 			Function f1 = new Dell();
 			Function f2 = new SamsClub();
 			Function f3 = new MinimumAbsoluteSum();
+			CompressingSocketFactory sockets = getSocketFactory(System.getProperty(SOCKETS_PROPERTY, "plain"));
+			FunctionFactory factory = new FunctionFactory(4, 8, TimeUnit.MINUTES.toMillis(5), sockets);
+			if (sockets != null) {
+				sockets.export(f1);
+				sockets.export(f2);
+				sockets.export(f3);
+				sockets.export(factory);
+			}
+			for (Remote served : new Remote[] { f1, f2, f3, factory }) {
+				FunctionLocator.registerColocated(served);
+			}
 			namingContext = new InitialContext();
 			namingContext.bind("rmi:dell", f1);
 			namingContext.bind("rmi:samsClub", f2);
 			namingContext.bind("rmi:minAbsSum", f3);
+			namingContext.bind("rmi:functionFactory", factory);
+			String binaryPort = System.getProperty(BINARY_PORT_PROPERTY, "off");
+			if (!binaryPort.equals("off")) {
+				Map<String, Function> functions = new LinkedHashMap<String, Function>();
+				functions.put("dell", f1);
+				functions.put("samsClub", f2);
+				functions.put("minAbsSum", f3);
+				String binaryAddress = System.getProperty(BINARY_ADDRESS_PROPERTY);
+				InetSocketAddress address = binaryAddress == null
+						? new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(binaryPort))
+						: new InetSocketAddress(binaryAddress, Integer.parseInt(binaryPort));
+				new BinaryFunctionServer(address, functions).start();
+			}
 		} catch (NamingException e) {
 			e.printStackTrace();
-		} catch (RemoteException e) {
+		} catch (IOException e) {
 			// TODO Auto-generated catch block
 			e.printStackTrace();
 		}
@@ -68,4 +150,60 @@ public class FunctionServer implements Remote {
 		}
 	}
 
+	/**
+	 * Gets the socket factory selected by name: "plain" for default RMI sockets,
+	 * "buffered" for buffered sockets with TCP_NODELAY, or "compressed" for
+	 * buffered sockets that also deflate large frames.
+	 * 
+	 * @param name
+	 *          - the value of the edu.elon.math.sockets property
+	 * @return CompressingSocketFactory, or null for default sockets
+	 */
+	public static CompressingSocketFactory getSocketFactory(String name) {
+		switch (name) {
+		case "buffered":
+			return new CompressingSocketFactory(64 * 1024, -1);
+		case "compressed":
+			return new CompressingSocketFactory();
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Creates a registry on the port and binds a FunctionWorker in it as
+	 * "worker". Workers load function classes from their own class path, so no
+	 * code is downloaded and no security manager is installed.
+	 * 
+	 * @param port
+	 *          - the registry port, different for each worker on one machine
+	 */
+	public static void startWorker(int port) {
+		try {
+			Registry registry = LocateRegistry.createRegistry(port);
+			registry.rebind("worker", new FunctionWorker());
+			System.out.println("Worker waiting for evaluations on port " + port + "...");
+		} catch (RemoteException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Creates a registry on the port and binds an EvaluationCacheServer in it as
+	 * "evaluationCache", to be listed in the edu.elon.math.cacheNodes property
+	 * of the function servers as rmi://host:port/evaluationCache.
+	 * 
+	 * @param port
+	 *          - the registry port, different for each node on one machine
+	 */
+	public static void startCache(int port) {
+		try {
+			Registry registry = LocateRegistry.createRegistry(port);
+			registry.rebind("evaluationCache", new EvaluationCacheServer());
+			System.out.println("Cache node waiting for evaluations on port " + port + "...");
+		} catch (RemoteException e) {
+			e.printStackTrace();
+		}
+	}
+
 }
@@ -0,0 +1,223 @@
+/**
+ * FunctionSnapshot.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable copy of everything a client needs to display a function: title,
+ * input names and values, output, direction and the available optimizers. It
+ * is returned by FunctionInterface.getSnapshot() so a GUI can be built from one
+ * remote call. It is serialized through a compact proxy that writes the values
+ * as raw doubles rather than as an ArrayList of Double.
+ *
+ * @author emccarthy3, dwinsor, jrhodes
+ *
+ */
+public final class FunctionSnapshot implements Serializable {
+	private static final long serialVersionUID = 1L;
+	private final String title;
+	private final List<String> inputNames;
+	private final double[] inputValues;
+	private final Double output;
+	private final boolean minimize;
+	private final String optimizersString;
+
+	/**
+	 * Creates a snapshot of a function's state.
+	 *
+	 * @param title - the user friendly name of the function
+	 * @param inputNames - the names of the input parameters
+	 * @param inputValues - the current value of each input parameter
+	 * @param output - the current function result, may be null
+	 * @param minimize - true if a minimization problem
+	 * @param optimizersString - comma separated optimizer class names, may be
+	 *          null
+	 */
+	public FunctionSnapshot(String title, List<String> inputNames, double[] inputValues, Double output,
+			boolean minimize, String optimizersString) {
+		this.title = title;
+		this.inputNames = Collections.unmodifiableList(new ArrayList<String>(inputNames));
+		this.inputValues = inputValues.clone();
+		this.output = output;
+		this.minimize = minimize;
+		this.optimizersString = optimizersString;
+	}
+
+	/**
+	 * Gets the name of the function
+	 *
+	 * @return String representing the user friendly name of the function.
+	 */
+	public String getTitle() {
+		return title;
+	}
+
+	/**
+	 * Gets the names of each input parameter
+	 *
+	 * @return unmodifiable List<String> of names for each input parameter
+	 */
+	public List<String> getInputNames() {
+		return inputNames;
+	}
+
+	/**
+	 * Gets the number of input parameters
+	 *
+	 * @return int count of input parameters
+	 */
+	public int getInputCount() {
+		return inputValues.length;
+	}
+
+	/**
+	 * Gets the value of one input parameter
+	 *
+	 * @param i - index of the input parameter
+	 * @return double value of the input parameter
+	 */
+	public double getInputValue(int i) {
+		return inputValues[i];
+	}
+
+	/**
+	 * Gets a copy of the value of each input parameter
+	 *
+	 * @return ArrayList<Double> of values representing the point.
+	 */
+	public ArrayList<Double> getInputValues() {
+		ArrayList<Double> values = new ArrayList<Double>(inputValues.length);
+		for (double d : inputValues) {
+			values.add(d);
+		}
+		return values;
+	}
+
+	/**
+	 * Gets the function output value when the snapshot was taken
+	 *
+	 * @return Double representing function result, null if not yet evaluated
+	 */
+	public Double getOutput() {
+		return output;
+	}
+
+	/**
+	 * Gets the direction of the optimization problem.
+	 *
+	 * @return boolean value of true if minimization
+	 */
+	public boolean isMinimize() {
+		return minimize;
+	}
+
+	/**
+	 * Gets the optimizers available on the server, as found in its "optimizers"
+	 * environmental variable.
+	 *
+	 * @return String of comma separated optimizer class names, may be null
+	 */
+	public String getOptimizersString() {
+		return optimizersString;
+	}
+
+	@Override
+	public String toString() {
+		return title + " " + inputNames + " " + Arrays.toString(inputValues);
+	}
+
+	/**
+	 * Serializes the snapshot through its compact proxy.
+	 *
+	 * @return SerializationProxy holding the snapshot state
+	 */
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	/**
+	 * Snapshots are only ever read through the proxy.
+	 */
+	private void readObject(ObjectInputStream in) throws InvalidObjectException {
+		throw new InvalidObjectException("Proxy required");
+	}
+
+	/**
+	 * Writes the snapshot as strings, primitives and raw doubles.
+	 */
+	private static class SerializationProxy implements Externalizable {
+		private static final long serialVersionUID = 1L;
+		private FunctionSnapshot snapshot;
+
+		/**
+		 * Required by Externalizable.
+		 */
+		public SerializationProxy() {
+		}
+
+		SerializationProxy(FunctionSnapshot snapshot) {
+			this.snapshot = snapshot;
+		}
+
+		@Override
+		public void writeExternal(ObjectOutput out) throws IOException {
+			out.writeUTF(snapshot.title == null ? "" : snapshot.title);
+			out.writeBoolean(snapshot.minimize);
+			out.writeBoolean(snapshot.output != null);
+			if (snapshot.output != null) {
+				out.writeDouble(snapshot.output);
+			}
+			out.writeBoolean(snapshot.optimizersString != null);
+			if (snapshot.optimizersString != null) {
+				out.writeUTF(snapshot.optimizersString);
+			}
+			out.writeInt(snapshot.inputNames.size());
+			for (String name : snapshot.inputNames) {
+				out.writeUTF(name);
+			}
+			out.writeInt(snapshot.inputValues.length);
+			for (double value : snapshot.inputValues) {
+				out.writeDouble(value);
+			}
+		}
+
+		@Override
+		public void readExternal(ObjectInput in) throws IOException {
+			String title = in.readUTF();
+			boolean minimize = in.readBoolean();
+			Double output = in.readBoolean() ? in.readDouble() : null;
+			String optimizersString = in.readBoolean() ? in.readUTF() : null;
+			int nameCount = in.readInt();
+			List<String> names = new ArrayList<String>(nameCount);
+			for (int i = 0; i < nameCount; i++) {
+				names.add(in.readUTF());
+			}
+			double[] values = new double[in.readInt()];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = in.readDouble();
+			}
+			snapshot = new FunctionSnapshot(title, names, values, output, minimize, optimizersString);
+		}
+
+		private Object readResolve() {
+			return snapshot;
+		}
+	}
+
+}
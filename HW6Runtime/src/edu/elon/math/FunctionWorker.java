@@ -0,0 +1,74 @@
+/**
+ * FunctionWorker.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluation worker run by "FunctionServer worker". Each function is created
+ * once from its class name on first use and then evaluates every batch sent
+ * for it on all of the worker's processors. Only classes that are both
+ * Functions and BatchEvaluable are created; any other name is refused before
+ * the class is initialized or a constructor is run.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class FunctionWorker extends UnicastRemoteObject implements EvaluationWorker {
+	private static final long serialVersionUID = 1L;
+	private final ConcurrentHashMap<String, BatchEvaluable> functions = new ConcurrentHashMap<String, BatchEvaluable>();
+
+	/**
+	 * Creates and exports a worker.
+	 */
+	public FunctionWorker() throws RemoteException {
+	}
+
+	@Override
+	public double[] evaluate(String functionClass, double[][] points) throws RemoteException {
+		return getFunction(functionClass).evaluateAll(points);
+	}
+
+	@Override
+	public int getProcessors() {
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Gets the worker's instance of a function, creating it the first time.
+	 *
+	 * @param functionClass package qualified class name of the function
+	 * @return BatchEvaluable instance of the function
+	 * @throws RemoteException if the class is missing or is not a BatchEvaluable
+	 *           Function
+	 */
+	private BatchEvaluable getFunction(String functionClass) throws RemoteException {
+		BatchEvaluable function = functions.get(functionClass);
+		if (function != null) {
+			return function;
+		}
+		try {
+			Class<?> type = Class.forName(functionClass, false, FunctionWorker.class.getClassLoader());
+			if (!Function.class.isAssignableFrom(type) || !BatchEvaluable.class.isAssignableFrom(type)) {
+				throw new RemoteException(functionClass + " cannot be evaluated by a worker");
+			}
+			Function instance = (Function) type.getDeclaredConstructor().newInstance();
+			BatchEvaluable existing = functions.putIfAbsent(functionClass, (BatchEvaluable) instance);
+			if (existing != null) {
+				UnicastRemoteObject.unexportObject(instance, true);
+				return existing;
+			}
+			return (BatchEvaluable) instance;
+		} catch (ReflectiveOperationException e) {
+			throw new RemoteException("Cannot create " + functionClass, e);
+		}
+	}
+
+}
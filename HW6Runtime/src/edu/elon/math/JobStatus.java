@@ -0,0 +1,37 @@
+/**
+ * JobStatus.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+/**
+ * State of an optimization job submitted through
+ * FunctionInterface.submitOptimization().
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public enum JobStatus {
+	/** Waiting for a server thread */
+	QUEUED,
+	/** Being optimized */
+	RUNNING,
+	/** Finished, either converged or out of budget */
+	DONE,
+	/** Cancelled before finishing */
+	CANCELLED,
+	/** Stopped by an error, or the strategy could not be created */
+	FAILED;
+
+	/**
+	 * Checks whether the job has stopped running.
+	 *
+	 * @return true if DONE, CANCELLED or FAILED
+	 */
+	public boolean isFinished() {
+		return this == DONE || this == CANCELLED || this == FAILED;
+	}
+}
@@ -0,0 +1,121 @@
+/**
+ * LocalFunction.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+
+/**
+ * A copy of a remote function that evaluates in the client's JVM with the
+ * Evaluator downloaded from the server, so a strategy can be run on the client
+ * without a round trip for each evaluation. The copy starts from a snapshot of
+ * the remote function; once the strategy is done, publish() sets the best
+ * point found on the remote function. The copy is never reachable from other
+ * JVMs: it is unexported as soon as it is created.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class LocalFunction extends Function implements BatchEvaluable {
+	private static final long serialVersionUID = 1L;
+	private final Evaluator evaluator;
+	private final String environmentalVariables;
+
+	/**
+	 * Creates a local copy of a function.
+	 *
+	 * @param snapshot - the state of the remote function to start from
+	 * @param evaluator - the evaluator of the remote function
+	 */
+	public LocalFunction(FunctionSnapshot snapshot, Evaluator evaluator) throws RemoteException {
+		// Function exports every instance; a local copy has no remote callers
+		UnicastRemoteObject.unexportObject(this, true);
+		this.evaluator = evaluator;
+		environmentalVariables = snapshot.getOptimizersString();
+		restore(snapshot);
+	}
+
+	/**
+	 * Creates a local copy of a remote function if it offers an evaluator.
+	 *
+	 * @param function - the remote function
+	 * @return LocalFunction copy, or null if the function must be evaluated on
+	 *         the server
+	 * @throws RemoteException
+	 */
+	public static LocalFunction download(FunctionInterface function) throws RemoteException {
+		Evaluator evaluator = function.getEvaluator();
+		if (evaluator == null) {
+			return null;
+		}
+		return new LocalFunction(function.getSnapshot(), evaluator);
+	}
+
+	/**
+	 * Evaluates the function at the current inputs in this JVM and notifies the
+	 * observers.
+	 *
+	 * @return Double instance of function value
+	 */
+	@Override
+	public Double evaluate() {
+		ArrayList<Double> values = getInputValues();
+		double[] point = new double[values.size()];
+		for (int i = 0; i < point.length; i++) {
+			point[i] = values.get(i);
+		}
+		setOutput(evaluator.evaluateAt(point));
+		notifyObservers();
+		return getOutput();
+	}
+
+	@Override
+	public double evaluateAt(double[] point) {
+		return evaluator.evaluateAt(point);
+	}
+
+	@Override
+	public double[] evaluateAll(double[][] points) {
+		return evaluator.evaluateAll(points);
+	}
+
+	@Override
+	public String getObjectiveId() {
+		return evaluator.getObjectiveId();
+	}
+
+	@Override
+	public boolean isExpensive() {
+		return evaluator.isExpensive();
+	}
+
+	@Override
+	public String getEnvironmentalVariables() {
+		return environmentalVariables;
+	}
+
+	@Override
+	public Evaluator getEvaluator() {
+		return evaluator;
+	}
+
+	/**
+	 * Sets the current inputs, output and optimization technique on the remote
+	 * function, as if it had been optimized there.
+	 *
+	 * @param function - the remote function this is a copy of
+	 * @throws RemoteException
+	 */
+	public void publish(FunctionInterface function) throws RemoteException {
+		function.setInputVector(getInputVector());
+		function.setOutput(getOutput());
+		function.setOptimizationTechnique(getOptimizationTechnique());
+	}
+
+}
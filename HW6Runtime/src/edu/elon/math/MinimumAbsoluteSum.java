@@ -23,7 +23,8 @@ import javax.swing.JTextField;
  * @version 1.0
  * 
  */
-public class MinimumAbsoluteSum extends Function implements Serializable {
+public class MinimumAbsoluteSum extends Function implements Serializable, BatchEvaluable {
+	private static final Objective OBJECTIVE = new Objective();
 	private ArrayList<Observer> observers;
 	/**
 	 * Default constructor to set initial input values
@@ -124,22 +125,44 @@ public class MinimumAbsoluteSum extends Function implements Serializable {
 	 */
 	@Override
 	public Double evaluate() {
-		double v1 = Math.abs(getInputValues().get(0).doubleValue());
-		double v2 = Math.abs(getInputValues().get(1).doubleValue());
-		double v3 = Math.abs(getInputValues().get(2).doubleValue());
-		double v4 = Math.abs(getInputValues().get(3).doubleValue());
-		double v5 = Math.abs(getInputValues().get(4).doubleValue());
-		double v6 = Math.abs(getInputValues().get(5).doubleValue());
-		double v7 = Math.abs(getInputValues().get(6).doubleValue());
-		double v8 = Math.abs(getInputValues().get(7).doubleValue());
-		double v9 = Math.abs(getInputValues().get(8).doubleValue());
-		double v10 = Math.abs(getInputValues().get(9).doubleValue());
-		double sum = v1 + v2 + v3 + v4 + v5 + v6 + v7 + v8 + v9 + v10;
+		double[] point = new double[10];
+		for (int i = 0; i < point.length; i++) {
+			point[i] = getInputValues().get(i).doubleValue();
+		}
+		double sum = evaluateAt(point);
 		this.setOutput(new Double(sum));
 		notifyObservers();
 		return this.getOutput();
 
 	}
+
+	/**
+	 * Evaluates the sum of absolute values at the given point without changing
+	 * the current inputs or output.
+	 * 
+	 * @param point double array of the ten input values
+	 * @return sum of absolute values at the point
+	 */
+	@Override
+	public double evaluateAt(double[] point) {
+		return OBJECTIVE.evaluateAt(point);
+	}
+
+	/**
+	 * Gets the objective as mobile code, since it is cheap enough for clients
+	 * to evaluate in their own JVM.
+	 * 
+	 * @return Evaluator of the sum of absolute values
+	 */
+	@Override
+	public String getObjectiveId() {
+		return OBJECTIVE.getObjectiveId();
+	}
+
+	@Override
+	public Evaluator getEvaluator() {
+		return OBJECTIVE;
+	}
 //	@Override
 //	public void registerObserver(Observer o) {
 //		observers.add(o);
@@ -171,4 +194,20 @@ public class MinimumAbsoluteSum extends Function implements Serializable {
 	}
 
 
+	/**
+	 * The sum of absolute values, with no function state, so it can be sent
+	 * to clients.
+	 */
+	private static class Objective implements Evaluator {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public double evaluateAt(double[] point) {
+			double sum = 0.0;
+			for (int i = 0; i < 10; i++) {
+				sum += Math.abs(point[i]);
+			}
+			return sum;
+		}
+	}
 }
@@ -225,4 +225,13 @@ public class NelderMead implements Strategy {
 		return bestInputPoint;
 	}
 
+	/**
+	 * NelderMead keeps its simplex in fields and always takes the same path from
+	 * the same start.
+	 */
+	@Override
+	public StrategyDescriptor getDescriptor() {
+		return new StrategyDescriptor(getClass().getName(), false, false, false, false, true);
+	}
+
 }
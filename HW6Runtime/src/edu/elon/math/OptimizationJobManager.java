@@ -0,0 +1,509 @@
+/**
+ * OptimizationJobManager.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs the optimization jobs submitted through
+ * FunctionInterface.submitOptimization() through the OptimizationScheduler,
+ * so a client does not hold an RMI connection thread for the whole run. Each
+ * run optimizes its own BudgetedFunction view of the function, so
+ * runs on the same function do not disturb each other or the function's
+ * inputs. A finished job is kept until its result is collected, or for ten
+ * minutes. Uses the singleton pattern.
+ *
+ * Jobs whose strategy is deterministic are fingerprinted by function class,
+ * title and direction, strategy, budget and start point. A job identical to one
+ * still queued or running joins that run instead of starting another; every job
+ * of the run receives its result under its own id, and the progress of the run
+ * is published to the function of every job that joined it. Results of
+ * completed runs are kept for five minutes in a small cache, and an identical
+ * job submitted in that time is answered from it at once. Jobs of any other
+ * strategy, such as RandomWalk, always get a run of their own.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+class OptimizationJobManager {
+	private static final long RETENTION_MILLIS = TimeUnit.MINUTES.toMillis(10);
+	private static final long RESULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+	private static final int MAX_CACHED_RESULTS = 64;
+	private final LongSupplier clock;
+	private final AtomicLong nextJobId = new AtomicLong(1);
+	private final ConcurrentHashMap<Long, Job> jobs = new ConcurrentHashMap<Long, Job>();
+	private final ConcurrentHashMap<Fingerprint, Run> runs = new ConcurrentHashMap<Fingerprint, Run>();
+	private final Map<Fingerprint, CachedResult> results = new LinkedHashMap<Fingerprint, CachedResult>(16, 0.75f,
+			true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Fingerprint, CachedResult> eldest) {
+			return size() > MAX_CACHED_RESULTS;
+		}
+	};
+
+	/**
+	 * This is the singleton private no-argument constructor.
+	 */
+	private OptimizationJobManager() {
+		this(System::currentTimeMillis);
+	}
+
+	/**
+	 * Creates a job manager that reads the time from the given clock, so tests
+	 * can let results and jobs expire.
+	 *
+	 * @param clock current time in milliseconds
+	 */
+	OptimizationJobManager(LongSupplier clock) {
+		this.clock = clock;
+	}
+
+	/**
+	 * Holds the unique instance, which the class loader creates safely on first
+	 * use.
+	 */
+	private static class Holder {
+		private static final OptimizationJobManager uniqueInstance = new OptimizationJobManager();
+	}
+
+	/**
+	 * Gets the unique instance of OptimizationJobManager.
+	 *
+	 * @return uniqueInstance - the unique job manager
+	 */
+	static OptimizationJobManager getInstance() {
+		return Holder.uniqueInstance;
+	}
+
+	/**
+	 * Queues a job to optimize the function with the OptimizationScheduler. If
+	 * the strategy is deterministic, the job instead joins an identical run
+	 * already queued or running, or is answered from the result of an identical
+	 * run that recently completed.
+	 *
+	 * @param function the function to optimize
+	 * @param client the client the job is for
+	 * @param strategy package qualified class name of the strategy to use
+	 * @param start input values to start from
+	 * @param budget maximum number of function evaluations, no limit if zero or
+	 *          less
+	 * @param priority higher priorities are served first
+	 * @return long id of the job
+	 * @throws RejectedExecutionException if the server is too busy
+	 */
+	long submit(Function function, String client, String strategy, ArrayList<Double> start, int budget,
+			int priority) {
+		purge();
+		Job job = new Job(nextJobId.getAndIncrement(), function);
+		jobs.put(job.id, job);
+		if (!isRepeatable(strategy)) {
+			Run run = new Run(null, function, strategy, new ArrayList<Double>(start), budget);
+			run.join(job);
+			schedule(client, priority, run, job);
+			return job.id;
+		}
+		Fingerprint key = new Fingerprint(function, strategy, start, budget);
+		while (true) {
+			OptimizationResult cached = getCachedResult(key);
+			if (cached != null) {
+				job.complete(cached.withJobId(job.id));
+				return job.id;
+			}
+			Run run = new Run(key, function, strategy, new ArrayList<Double>(start), budget);
+			Run existing = runs.putIfAbsent(key, run);
+			if (existing == null) {
+				run.join(job);
+				schedule(client, priority, run, job);
+				return job.id;
+			}
+			if (existing.join(job)) {
+				return job.id;
+			}
+			// the run finished or was cancelled after it was found
+			runs.remove(key, existing);
+		}
+	}
+
+	/**
+	 * Hands a new run to the OptimizationScheduler, forgetting it and its job if
+	 * the scheduler refuses it.
+	 *
+	 * @throws RejectedExecutionException if the server is too busy
+	 */
+	private void schedule(String client, int priority, Run run, Job job) {
+		try {
+			OptimizationScheduler.getInstance().submit(client, priority, run);
+		} catch (RejectedExecutionException e) {
+			if (run.key != null) {
+				runs.remove(run.key, run);
+			}
+			jobs.remove(job.id);
+			throw e;
+		}
+	}
+
+	/**
+	 * Checks whether every run of the strategy from the same start gives the
+	 * same result, so runs may be shared and their results cached. Strategies
+	 * the StrategyFactory does not know yet are not.
+	 *
+	 * @param strategy package qualified class name of the strategy
+	 * @return true if the strategy is registered as deterministic
+	 */
+	private static boolean isRepeatable(String strategy) {
+		StrategyDescriptor descriptor = strategy == null ? null
+				: StrategyFactory.getInstance().getDescriptor(strategy);
+		return descriptor != null && descriptor.isDeterministic();
+	}
+
+	/**
+	 * Gets the current state of a job.
+	 *
+	 * @param function the function the job was submitted to
+	 * @param jobId id returned by submit()
+	 * @return JobStatus of the job
+	 */
+	JobStatus status(Function function, long jobId) {
+		return getJob(function, jobId).status();
+	}
+
+	/**
+	 * Waits for a job to finish. The job is forgotten once its result has been
+	 * returned.
+	 *
+	 * @param function the function the job was submitted to
+	 * @param jobId id returned by submit()
+	 * @param timeoutMillis longest time to wait in milliseconds
+	 * @return OptimizationResult of the job, null if it did not finish in time
+	 */
+	OptimizationResult awaitResult(Function function, long jobId, long timeoutMillis) {
+		Job job = getJob(function, jobId);
+		try {
+			OptimizationResult result = job.completion.get(Math.max(0, timeoutMillis), TimeUnit.MILLISECONDS);
+			jobs.remove(jobId);
+			return result;
+		} catch (TimeoutException e) {
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/**
+	 * Cancels a job. If other jobs share its run, the job alone is finished
+	 * with the best point reached so far and the run goes on. Otherwise a
+	 * queued run never starts, and a running one stops at its next function
+	 * evaluation and its result holds the best point reached so far.
+	 *
+	 * @param function the function the job was submitted to
+	 * @param jobId id returned by submit()
+	 * @return true if the job had not already finished
+	 */
+	boolean cancel(Function function, long jobId) {
+		Job job = jobs.get(jobId);
+		if (job == null || job.function != function || job.run == null) {
+			return false;
+		}
+		boolean cancelled = job.run.leave(job);
+		if (job.run.status.isFinished()) {
+			OptimizationScheduler.getInstance().remove(job.run);
+		}
+		return cancelled;
+	}
+
+	/**
+	 * Looks up a job of the function.
+	 *
+	 * @throws IllegalArgumentException if there is no such job
+	 */
+	private Job getJob(Function function, long jobId) {
+		Job job = jobs.get(jobId);
+		if (job == null || job.function != function) {
+			throw new IllegalArgumentException("No optimization job " + jobId);
+		}
+		return job;
+	}
+
+	/**
+	 * Gets the result of a recently completed identical run.
+	 *
+	 * @return OptimizationResult, null if there is none or it has expired
+	 */
+	private OptimizationResult getCachedResult(Fingerprint key) {
+		synchronized (results) {
+			CachedResult cached = results.get(key);
+			if (cached == null) {
+				return null;
+			}
+			if (clock.getAsLong() - cached.completedAt > RESULT_TTL_MILLIS) {
+				results.remove(key);
+				return null;
+			}
+			return cached.result;
+		}
+	}
+
+	/**
+	 * Forgets finished jobs whose results were never collected, and expired
+	 * results.
+	 */
+	private void purge() {
+		long now = clock.getAsLong();
+		jobs.values().removeIf(job -> job.finishedAt != 0 && now - job.finishedAt > RETENTION_MILLIS);
+		synchronized (results) {
+			results.values().removeIf(cached -> now - cached.completedAt > RESULT_TTL_MILLIS);
+		}
+	}
+
+	/**
+	 * What makes two optimization runs the same.
+	 */
+	private static final class Fingerprint {
+		private final String functionClass;
+		private final String title;
+		private final boolean minimize;
+		private final String strategy;
+		private final int budget;
+		private final double[] start;
+		private final int hash;
+
+		Fingerprint(Function function, String strategy, List<Double> start, int budget) {
+			this.functionClass = function.getClass().getName();
+			this.title = function.getTitle();
+			this.minimize = function.isMinimize();
+			this.strategy = strategy;
+			this.budget = Math.max(0, budget);
+			this.start = new double[start.size()];
+			for (int i = 0; i < this.start.length; i++) {
+				this.start[i] = start.get(i);
+			}
+			hash = Arrays.hashCode(new Object[] { functionClass, title, minimize, strategy, this.budget })
+					+ 31 * Arrays.hashCode(this.start);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Fingerprint)) {
+				return false;
+			}
+			Fingerprint other = (Fingerprint) o;
+			return hash == other.hash && minimize == other.minimize && budget == other.budget
+					&& functionClass.equals(other.functionClass) && String.valueOf(title).equals(String.valueOf(other.title))
+					&& String.valueOf(strategy).equals(String.valueOf(other.strategy)) && Arrays.equals(start, other.start);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * A completed run's result and when it completed.
+	 */
+	private static class CachedResult {
+		private final OptimizationResult result;
+		private final long completedAt;
+
+		CachedResult(OptimizationResult result, long completedAt) {
+			this.result = result;
+			this.completedAt = completedAt;
+		}
+	}
+
+	/**
+	 * One submitted job: the handle a client holds on a run, which it may share
+	 * with other jobs.
+	 */
+	private class Job {
+		private final long id;
+		private final Function function;
+		private final CompletableFuture<OptimizationResult> completion = new CompletableFuture<OptimizationResult>();
+		private volatile Run run;
+		private volatile long finishedAt;
+
+		Job(long id, Function function) {
+			this.id = id;
+			this.function = function;
+		}
+
+		JobStatus status() {
+			if (completion.isDone()) {
+				return completion.join().getStatus();
+			}
+			return run == null ? JobStatus.QUEUED : run.status;
+		}
+
+		void complete(OptimizationResult result) {
+			if (completion.complete(result)) {
+				finishedAt = clock.getAsLong();
+			}
+		}
+	}
+
+	/**
+	 * One optimization run and the jobs waiting for its result. Runs that may
+	 * not be shared have no fingerprint.
+	 */
+	private class Run implements Runnable {
+		private final Fingerprint key;
+		private final Function function;
+		private final String strategy;
+		private final ArrayList<Double> start;
+		private final int budget;
+		private final List<Job> waiting = new ArrayList<Job>();
+		private volatile JobStatus status = JobStatus.QUEUED;
+		private BudgetedFunction budgeted;
+		private boolean cancelRequested;
+
+		Run(Fingerprint key, Function function, String strategy, ArrayList<Double> start, int budget) {
+			this.key = key;
+			this.function = function;
+			this.strategy = strategy;
+			this.start = start;
+			this.budget = budget;
+		}
+
+		@Override
+		public void run() {
+			synchronized (this) {
+				if (status != JobStatus.QUEUED) {
+					return;
+				}
+				status = JobStatus.RUNNING;
+			}
+			JobStatus outcome = JobStatus.DONE;
+			BudgetedFunction view = null;
+			try {
+				Strategy s = StrategyFactory.getInstance().createStrategy(strategy);
+				if (s == null) {
+					outcome = JobStatus.FAILED;
+				} else {
+					view = new BudgetedFunction(function, start, budget);
+					synchronized (this) {
+						budgeted = view;
+						for (Job job : waiting) {
+							view.addFollower(job.function);
+						}
+						if (cancelRequested) {
+							view.stop();
+						}
+					}
+					s.calculateOptimizationValues(view);
+				}
+			} catch (EvaluationStoppedException e) {
+				// out of budget or cancelled
+			} catch (RemoteException | RuntimeException e) {
+				e.printStackTrace();
+				outcome = JobStatus.FAILED;
+			} finally {
+				if (view != null) {
+					if (view.isStopped()) {
+						outcome = JobStatus.CANCELLED;
+					}
+					view.release();
+				}
+				finish(outcome, view);
+			}
+		}
+
+		/**
+		 * Adds a job to the run unless the run has finished or is being cancelled.
+		 *
+		 * @return true if the job will receive the run's result
+		 */
+		synchronized boolean join(Job job) {
+			if (status.isFinished() || cancelRequested) {
+				return false;
+			}
+			waiting.add(job);
+			job.run = this;
+			if (budgeted != null) {
+				budgeted.addFollower(job.function);
+			}
+			return true;
+		}
+
+		/**
+		 * Cancels a job of the run. The run itself is cancelled only when no
+		 * other job is waiting for it.
+		 *
+		 * @return true if the run had not already finished
+		 */
+		synchronized boolean leave(Job job) {
+			if (status.isFinished() || !waiting.contains(job)) {
+				return false;
+			}
+			if (waiting.size() > 1) {
+				waiting.remove(job);
+				if (budgeted != null && waiting.stream().noneMatch(other -> other.function == job.function)) {
+					budgeted.removeFollower(job.function);
+				}
+				job.complete(result(JobStatus.CANCELLED, budgeted).withJobId(job.id));
+				return true;
+			}
+			if (status == JobStatus.QUEUED) {
+				finish(JobStatus.CANCELLED, null);
+				return true;
+			}
+			cancelRequested = true;
+			if (budgeted != null) {
+				budgeted.stop();
+			}
+			return true;
+		}
+
+		/**
+		 * Records the result of the run, hands it to each of its jobs and caches
+		 * it if the run completed.
+		 */
+		private synchronized void finish(JobStatus outcome, BudgetedFunction view) {
+			OptimizationResult result = result(outcome, view);
+			status = outcome;
+			if (key != null) {
+				if (outcome == JobStatus.DONE) {
+					synchronized (results) {
+						results.put(key, new CachedResult(result, clock.getAsLong()));
+					}
+				}
+				runs.remove(key, this);
+			}
+			for (Job job : waiting) {
+				job.complete(result.withJobId(job.id));
+			}
+		}
+
+		private OptimizationResult result(JobStatus outcome, BudgetedFunction view) {
+			if (view == null || view.getBestInputValues() == null) {
+				return new OptimizationResult(0, outcome, strategy, null, null, 0);
+			}
+			return new OptimizationResult(0, outcome, strategy, view.getBestInputValues(), view.getBestValue(),
+					view.getEvaluations());
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+/**
+ * OptimizationJobManagerTest.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import static org.junit.Assert.*;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * JUnit tests for OptimizationJobManager: identical deterministic jobs share a
+ * run and its result, RandomWalk jobs never do, and cached results expire.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class OptimizationJobManagerTest {
+	private static final String POWELL = Powell.class.getName();
+	private static final String RANDOM_WALK = RandomWalk.class.getName();
+	private static final long WAIT_MILLIS = 10000;
+	private final AtomicLong now = new AtomicLong(1000);
+	private final OptimizationJobManager manager = new OptimizationJobManager(now::get);
+
+	/**
+	 * Tests that an identical job submitted while a run is going joins it, gets
+	 * its result under its own id and is sent the run's progress.
+	 */
+	@Test(timeout = 20000)
+	public void identicalJobJoinsRun() throws Exception {
+		Bowl first = new Bowl();
+		Bowl second = new Bowl();
+		first.hold();
+		long firstId = manager.submit(first, "a", POWELL, start(), 40, 0);
+		first.awaitFirstEvaluation();
+		ProgressCounter progress = new ProgressCounter();
+		second.registerProgressListener(progress, 0);
+		long secondId = manager.submit(second, "b", POWELL, start(), 40, 0);
+		first.release();
+		OptimizationResult firstResult = manager.awaitResult(first, firstId, WAIT_MILLIS);
+		OptimizationResult secondResult = manager.awaitResult(second, secondId, WAIT_MILLIS);
+		assertEquals(JobStatus.DONE, firstResult.getStatus());
+		assertEquals(firstId, firstResult.getJobId());
+		assertEquals(secondId, secondResult.getJobId());
+		assertEquals(firstResult.getInputValues(), secondResult.getInputValues());
+		assertEquals(firstResult.getEvaluations(), first.evaluations.get());
+		assertEquals(0, second.evaluations.get());
+		assertTrue(progress.awaitBatch());
+	}
+
+	/**
+	 * Tests that an identical job is answered from the cached result until it
+	 * expires five minutes after the run completed.
+	 */
+	@Test(timeout = 20000)
+	public void cachedResultExpires() throws Exception {
+		Bowl bowl = new Bowl();
+		OptimizationResult ran = manager.awaitResult(bowl, manager.submit(bowl, "a", POWELL, start(), 40, 0),
+				WAIT_MILLIS);
+		int evaluations = bowl.evaluations.get();
+		now.addAndGet(TimeUnit.MINUTES.toMillis(4));
+		OptimizationResult cached = manager.awaitResult(bowl, manager.submit(bowl, "a", POWELL, start(), 40, 0),
+				WAIT_MILLIS);
+		assertEquals(ran.getInputValues(), cached.getInputValues());
+		assertEquals(evaluations, bowl.evaluations.get());
+		now.addAndGet(TimeUnit.MINUTES.toMillis(2));
+		manager.awaitResult(bowl, manager.submit(bowl, "a", POWELL, start(), 40, 0), WAIT_MILLIS);
+		assertEquals(2 * evaluations, bowl.evaluations.get());
+	}
+
+	/**
+	 * Tests that a job with a different start point is not answered from the
+	 * cache.
+	 */
+	@Test(timeout = 20000)
+	public void differentStartRunsAgain() throws Exception {
+		Bowl bowl = new Bowl();
+		manager.awaitResult(bowl, manager.submit(bowl, "a", POWELL, start(), 40, 0), WAIT_MILLIS);
+		int evaluations = bowl.evaluations.get();
+		ArrayList<Double> other = new ArrayList<Double>(Arrays.asList(3.0, -1.0));
+		manager.awaitResult(bowl, manager.submit(bowl, "a", POWELL, other, 40, 0), WAIT_MILLIS);
+		assertTrue(bowl.evaluations.get() > evaluations);
+	}
+
+	/**
+	 * Tests that RandomWalk jobs from the same start each get a run of their own
+	 * and are never answered from the cache.
+	 */
+	@Test(timeout = 20000)
+	public void randomWalkIsNeverShared() throws Exception {
+		Bowl bowl = new Bowl();
+		OptimizationResult first = manager.awaitResult(bowl,
+				manager.submit(bowl, "a", RANDOM_WALK, start(), 30, 0), WAIT_MILLIS);
+		OptimizationResult second = manager.awaitResult(bowl,
+				manager.submit(bowl, "a", RANDOM_WALK, start(), 30, 0), WAIT_MILLIS);
+		assertEquals(30, first.getEvaluations());
+		assertEquals(30, second.getEvaluations());
+		assertEquals(60, bowl.evaluations.get());
+	}
+
+	/**
+	 * Tests that cancelling one of two jobs sharing a run leaves the run going
+	 * for the other.
+	 */
+	@Test(timeout = 20000)
+	public void cancelledJoinerLeavesRunGoing() throws Exception {
+		Bowl first = new Bowl();
+		Bowl second = new Bowl();
+		first.hold();
+		long firstId = manager.submit(first, "a", POWELL, start(), 40, 0);
+		first.awaitFirstEvaluation();
+		long secondId = manager.submit(second, "b", POWELL, start(), 40, 0);
+		assertTrue(manager.cancel(second, secondId));
+		assertEquals(JobStatus.CANCELLED, manager.awaitResult(second, secondId, WAIT_MILLIS).getStatus());
+		first.release();
+		assertEquals(JobStatus.DONE, manager.awaitResult(first, firstId, WAIT_MILLIS).getStatus());
+	}
+
+	private static ArrayList<Double> start() {
+		return new ArrayList<Double>(Arrays.asList(1.0, 2.0));
+	}
+
+	/**
+	 * A sum of squares that counts its evaluations and can be held at its first
+	 * one.
+	 */
+	private static class Bowl extends Function {
+		private static final long serialVersionUID = 1L;
+		private final AtomicInteger evaluations = new AtomicInteger();
+		private final CountDownLatch started = new CountDownLatch(1);
+		private volatile CountDownLatch gate = new CountDownLatch(0);
+
+		Bowl() throws RemoteException {
+			setTitle("Bowl");
+			setMinimize(true);
+			setInputNames(new ArrayList<String>(Arrays.asList("x", "y")));
+			setInputValues(start());
+		}
+
+		void hold() {
+			gate = new CountDownLatch(1);
+		}
+
+		void release() {
+			gate.countDown();
+		}
+
+		void awaitFirstEvaluation() throws InterruptedException {
+			started.await();
+		}
+
+		@Override
+		public Double evaluate() {
+			started.countDown();
+			try {
+				gate.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			evaluations.incrementAndGet();
+			double sum = 0;
+			for (double x : getInputValues()) {
+				sum += x * x;
+			}
+			setOutput(sum);
+			return sum;
+		}
+
+		@Override
+		public String getEnvironmentalVariables() {
+			return POWELL + "," + RANDOM_WALK;
+		}
+	}
+
+	/**
+	 * A progress listener in this JVM that waits for its first batch.
+	 */
+	private static class ProgressCounter implements ProgressListener {
+		private final CountDownLatch received = new CountDownLatch(1);
+
+		@Override
+		public void progress(ProgressBatch batch) {
+			received.countDown();
+		}
+
+		boolean awaitBatch() throws InterruptedException {
+			return received.await(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+}
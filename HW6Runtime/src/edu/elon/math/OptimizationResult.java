@@ -0,0 +1,138 @@
+/**
+ * OptimizationResult.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+/**
+ * Immutable outcome of an optimization job: how it finished, the best point
+ * and value it reached and the number of function evaluations it used.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public final class OptimizationResult implements Serializable {
+	private static final long serialVersionUID = 1L;
+	private final long jobId;
+	private final JobStatus status;
+	private final String optimizationTechnique;
+	private final PointVector inputValues;
+	private final Double output;
+	private final int evaluations;
+
+	/**
+	 * Creates the result of a job.
+	 *
+	 * @param jobId the job id returned by submitOptimization()
+	 * @param status how the job finished
+	 * @param optimizationTechnique package qualified class name of the strategy
+	 * @param inputValues the best point reached, null if none was evaluated
+	 * @param output the function value at the best point, null if none
+	 * @param evaluations number of function evaluations used
+	 */
+	public OptimizationResult(long jobId, JobStatus status, String optimizationTechnique,
+			ArrayList<Double> inputValues, Double output, int evaluations) {
+		this.jobId = jobId;
+		this.status = status;
+		this.optimizationTechnique = optimizationTechnique;
+		this.inputValues = inputValues == null ? null : PointVector.of(inputValues);
+		this.output = output;
+		this.evaluations = evaluations;
+	}
+
+	private OptimizationResult(long jobId, OptimizationResult result) {
+		this.jobId = jobId;
+		this.status = result.status;
+		this.optimizationTechnique = result.optimizationTechnique;
+		this.inputValues = result.inputValues;
+		this.output = result.output;
+		this.evaluations = result.evaluations;
+	}
+
+	/**
+	 * Gets the same result for another job, as when identical jobs share one
+	 * run.
+	 *
+	 * @param jobId the id of the other job
+	 * @return OptimizationResult with the other job's id
+	 */
+	OptimizationResult withJobId(long jobId) {
+		return new OptimizationResult(jobId, this);
+	}
+
+	/**
+	 * Gets the id of the job
+	 *
+	 * @return long job id
+	 */
+	public long getJobId() {
+		return jobId;
+	}
+
+	/**
+	 * Gets how the job finished
+	 *
+	 * @return JobStatus of DONE, CANCELLED or FAILED
+	 */
+	public JobStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * Gets the strategy the job ran
+	 *
+	 * @return String representing package qualified classname of optimization
+	 *         technique
+	 */
+	public String getOptimizationTechnique() {
+		return optimizationTechnique;
+	}
+
+	/**
+	 * Gets a copy of the best point reached
+	 *
+	 * @return ArrayList<Double> of input values, null if none was evaluated
+	 */
+	public ArrayList<Double> getInputValues() {
+		return inputValues == null ? null : inputValues.toList();
+	}
+
+	/**
+	 * Gets the best point reached as a PointVector
+	 *
+	 * @return PointVector of input values, null if none was evaluated
+	 */
+	public PointVector getInputVector() {
+		return inputValues;
+	}
+
+	/**
+	 * Gets the function value at the best point reached
+	 *
+	 * @return Double representing best function result, null if none
+	 */
+	public Double getOutput() {
+		return output;
+	}
+
+	/**
+	 * Gets the number of function evaluations the job used
+	 *
+	 * @return int count of function evaluations
+	 */
+	public int getEvaluations() {
+		return evaluations;
+	}
+
+	@Override
+	public String toString() {
+		return "Job " + jobId + " " + status + " " + output + " " + inputValues;
+	}
+
+}
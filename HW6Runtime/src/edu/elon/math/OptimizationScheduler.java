@@ -0,0 +1,264 @@
+/**
+ * OptimizationScheduler.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs every optimization on the server, blocking optimize() calls and
+ * submitted jobs alike, on one worker thread per processor, so CPU bound runs
+ * never outnumber the cores. Waiting work is queued per client: the highest
+ * priority with waiting work is served first and, within a priority, clients
+ * take turns one task at a time, so a client with many tasks cannot starve
+ * the others. Admission control rejects new work once a client or the whole
+ * server has too many tasks waiting. Queue depth and wait times are reported
+ * through getStats(). Uses the singleton pattern.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+class OptimizationScheduler {
+	private static final int MAX_QUEUED = 256;
+	private static final int MAX_QUEUED_PER_CLIENT = 16;
+	private static final ThreadLocal<Boolean> onWorker = ThreadLocal.withInitial(() -> false);
+	// priority, highest first, to the queue of each client in turn order
+	private final TreeMap<Integer, LinkedHashMap<String, ArrayDeque<Task>>> queues = new TreeMap<Integer, LinkedHashMap<String, ArrayDeque<Task>>>(
+			(a, b) -> Integer.compare(b, a));
+	private final Map<String, Integer> queuedPerClient = new LinkedHashMap<String, Integer>();
+	private final int workers;
+	private int queued;
+	private int running;
+	private long submitted;
+	private long completed;
+	private long rejected;
+	private long totalWaitMillis;
+	private long maxWaitMillis;
+
+	/**
+	 * Private constructor starts one daemon worker thread per processor.
+	 */
+	private OptimizationScheduler() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a scheduler with its own worker threads, so tests can control the
+	 * order work is taken in.
+	 *
+	 * @param workers number of daemon worker threads to start
+	 */
+	OptimizationScheduler(int workers) {
+		this.workers = workers;
+		for (int i = 0; i < workers; i++) {
+			Thread thread = new Thread(this::work, "optimization-worker-" + (i + 1));
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	/**
+	 * Holds the unique instance, which the class loader creates safely on first
+	 * use.
+	 */
+	private static class Holder {
+		private static final OptimizationScheduler uniqueInstance = new OptimizationScheduler();
+	}
+
+	/**
+	 * Gets the unique instance of OptimizationScheduler.
+	 *
+	 * @return uniqueInstance - the unique scheduler
+	 */
+	static OptimizationScheduler getInstance() {
+		return Holder.uniqueInstance;
+	}
+
+	/**
+	 * Queues work for a client.
+	 *
+	 * @param client the client the work is for
+	 * @param priority higher priorities are served first
+	 * @param work the work to run
+	 * @throws RejectedExecutionException if the client or server has too much
+	 *           work waiting
+	 */
+	synchronized void submit(String client, int priority, Runnable work) {
+		int clientQueued = queuedPerClient.getOrDefault(client, 0);
+		if (queued >= MAX_QUEUED || clientQueued >= MAX_QUEUED_PER_CLIENT) {
+			rejected++;
+			throw new RejectedExecutionException("Server busy: " + queued + " optimizations waiting, " + clientQueued
+					+ " for " + client);
+		}
+		queues.computeIfAbsent(priority, key -> new LinkedHashMap<String, ArrayDeque<Task>>())
+				.computeIfAbsent(client, key -> new ArrayDeque<Task>()).add(new Task(client, work));
+		queuedPerClient.put(client, clientQueued + 1);
+		queued++;
+		submitted++;
+		notify();
+	}
+
+	/**
+	 * Runs work for a client and waits for its result. Work requested from a
+	 * worker thread is run at once, since waiting there could deadlock.
+	 *
+	 * @param client the client the work is for
+	 * @param priority higher priorities are served first
+	 * @param work the work to run
+	 * @return the result of the work
+	 * @throws RejectedExecutionException if the client or server has too much
+	 *           work waiting
+	 */
+	<T> T call(String client, int priority, Callable<T> work) {
+		FutureTask<T> task = new FutureTask<T>(work);
+		if (onWorker.get()) {
+			task.run();
+		} else {
+			submit(client, priority, task);
+		}
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			remove(task);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for an optimization", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * Removes work that has not started yet.
+	 *
+	 * @param work the work passed to submit()
+	 * @return true if the work was still waiting
+	 */
+	synchronized boolean remove(Runnable work) {
+		for (LinkedHashMap<String, ArrayDeque<Task>> clients : queues.values()) {
+			for (ArrayDeque<Task> tasks : clients.values()) {
+				Iterator<Task> iterator = tasks.iterator();
+				while (iterator.hasNext()) {
+					Task task = iterator.next();
+					if (task.work == work) {
+						iterator.remove();
+						dequeued(task);
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the current queue depth and wait time metrics.
+	 *
+	 * @return SchedulerStats of the scheduler
+	 */
+	synchronized SchedulerStats getStats() {
+		return new SchedulerStats(workers, running, queued, new LinkedHashMap<String, Integer>(queuedPerClient),
+				submitted, completed, rejected, completed + running == 0 ? 0 : totalWaitMillis / (completed + running),
+				maxWaitMillis);
+	}
+
+	/**
+	 * Takes the next task: the first client in turn at the highest priority
+	 * with work waiting, who then goes to the back of the turn order.
+	 */
+	private synchronized Task next() throws InterruptedException {
+		while (queued == 0) {
+			wait();
+		}
+		Iterator<LinkedHashMap<String, ArrayDeque<Task>>> levels = queues.values().iterator();
+		while (levels.hasNext()) {
+			LinkedHashMap<String, ArrayDeque<Task>> clients = levels.next();
+			Iterator<Map.Entry<String, ArrayDeque<Task>>> turns = clients.entrySet().iterator();
+			while (turns.hasNext()) {
+				Map.Entry<String, ArrayDeque<Task>> turn = turns.next();
+				Task task = turn.getValue().poll();
+				turns.remove();
+				if (task != null) {
+					if (!turn.getValue().isEmpty()) {
+						clients.put(turn.getKey(), turn.getValue());
+					}
+					if (clients.isEmpty()) {
+						levels.remove();
+					}
+					dequeued(task);
+					long wait = System.currentTimeMillis() - task.queuedAt;
+					totalWaitMillis += wait;
+					maxWaitMillis = Math.max(maxWaitMillis, wait);
+					running++;
+					return task;
+				}
+			}
+			levels.remove();
+		}
+		throw new IllegalStateException("Queued count out of step with queues");
+	}
+
+	private void dequeued(Task task) {
+		queued--;
+		int clientQueued = queuedPerClient.get(task.client) - 1;
+		if (clientQueued == 0) {
+			queuedPerClient.remove(task.client);
+		} else {
+			queuedPerClient.put(task.client, clientQueued);
+		}
+	}
+
+	/**
+	 * Worker thread loop.
+	 */
+	private void work() {
+		onWorker.set(true);
+		while (true) {
+			Task task;
+			try {
+				task = next();
+			} catch (InterruptedException e) {
+				return;
+			}
+			try {
+				task.work.run();
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			} finally {
+				synchronized (this) {
+					running--;
+					completed++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Work waiting for a worker thread.
+	 */
+	private static class Task {
+		private final String client;
+		private final Runnable work;
+		private final long queuedAt = System.currentTimeMillis();
+
+		Task(String client, Runnable work) {
+			this.client = client;
+			this.work = work;
+		}
+	}
+
+}
@@ -0,0 +1,142 @@
+/**
+ * OptimizationSchedulerTest.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * JUnit tests for OptimizationScheduler, run on a scheduler with one worker
+ * that is held busy while work is queued, so the order work is taken in can be
+ * seen.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class OptimizationSchedulerTest {
+	private final OptimizationScheduler scheduler = new OptimizationScheduler(1);
+	private final List<String> ran = Collections.synchronizedList(new ArrayList<String>());
+	private final CountDownLatch started = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	/**
+	 * Tests that clients at the same priority take turns one task at a time, a
+	 * client going to the back of the turn order once served.
+	 */
+	@Test(timeout = 10000)
+	public void clientsTakeTurns() throws Exception {
+		hold();
+		submit("a", 0, "a1", "a2", "a3");
+		submit("b", 0, "b1");
+		submit("c", 0, "c1", "c2");
+		assertEquals(Arrays.asList("a1", "b1", "c1", "a2", "c2", "a3"), drain(6));
+	}
+
+	/**
+	 * Tests that higher priorities are served first and that turns are kept
+	 * within each priority.
+	 */
+	@Test(timeout = 10000)
+	public void higherPriorityFirst() throws Exception {
+		hold();
+		submit("a", 0, "a1", "a2");
+		submit("b", 5, "b1", "b2");
+		submit("c", 5, "c1");
+		submit("a", 9, "a9");
+		assertEquals(Arrays.asList("a9", "b1", "c1", "b2", "a1", "a2"), drain(6));
+	}
+
+	/**
+	 * Tests that work is rejected once a client has too many tasks waiting, and
+	 * that other clients are still accepted.
+	 */
+	@Test(timeout = 10000)
+	public void perClientAdmissionControl() throws Exception {
+		hold();
+		for (int i = 0; i < 16; i++) {
+			submit("greedy", 0, "g" + i);
+		}
+		try {
+			submit("greedy", 0, "g16");
+			fail("the seventeenth waiting task was accepted");
+		} catch (RejectedExecutionException e) {
+			// expected
+		}
+		submit("polite", 0, "p0");
+		SchedulerStats stats = scheduler.getStats();
+		assertEquals(17, stats.getQueued());
+		assertEquals(1, stats.getRejected());
+		assertEquals(17, drain(17).size());
+	}
+
+	/**
+	 * Tests that removed work never runs and no longer counts as waiting.
+	 */
+	@Test(timeout = 10000)
+	public void removedWorkNeverRuns() throws Exception {
+		hold();
+		Runnable removed = () -> ran.add("removed");
+		scheduler.submit("a", 0, removed);
+		submit("a", 0, "a1");
+		assertTrue(scheduler.remove(removed));
+		assertFalse(scheduler.remove(removed));
+		assertEquals(1, scheduler.getStats().getQueued());
+		assertEquals(Arrays.asList("a1"), drain(1));
+	}
+
+	/**
+	 * Queues work that holds the worker until release is counted down, and
+	 * waits for it to start.
+	 */
+	private void hold() throws InterruptedException {
+		scheduler.submit("holder", 100, () -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			ran.add("holder");
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+	}
+
+	private void submit(String client, int priority, String... names) {
+		for (String name : names) {
+			scheduler.submit(client, priority, () -> ran.add(name));
+		}
+	}
+
+	/**
+	 * Releases the worker and waits until the given number of tasks have run
+	 * after the holder.
+	 *
+	 * @return names of the tasks run, in order, the holder left out
+	 */
+	private List<String> drain(int count) throws InterruptedException {
+		release.countDown();
+		while (ran.size() < count + 1) {
+			Thread.sleep(5);
+		}
+		synchronized (ran) {
+			List<String> order = new ArrayList<String>(ran);
+			order.remove("holder");
+			return order;
+		}
+	}
+
+}
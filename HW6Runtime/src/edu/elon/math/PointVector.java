@@ -0,0 +1,211 @@
+/**
+ * PointVector.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Vector of input values for remote calls, written as its length followed by
+ * primitive values instead of an ArrayList of boxed Doubles. The values can be
+ * written as raw doubles, as floats when single precision is enough, or delta
+ * encoded: each value is XORed with the previous one and only the low bytes
+ * that differ are written, which is lossless and shrinks points whose
+ * coordinates share sign, exponent and leading digits.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public final class PointVector implements Externalizable {
+	private static final long serialVersionUID = 1L;
+	private double[] values;
+	private Encoding encoding;
+
+	/**
+	 * How the values are written.
+	 */
+	public enum Encoding {
+		/** 8 bytes per value, exact */
+		DOUBLE,
+		/** 4 bytes per value, rounded to single precision */
+		FLOAT,
+		/** 1 to 9 bytes per value, exact */
+		DELTA
+	}
+
+	/**
+	 * Required by Externalizable; creates an empty vector.
+	 */
+	public PointVector() {
+		this(new double[0]);
+	}
+
+	/**
+	 * Creates a vector written as raw doubles.
+	 *
+	 * @param values the values, copied
+	 */
+	public PointVector(double[] values) {
+		this(values, Encoding.DOUBLE);
+	}
+
+	/**
+	 * Creates a vector written with the given encoding.
+	 *
+	 * @param values the values, copied
+	 * @param encoding how the values are written
+	 */
+	public PointVector(double[] values, Encoding encoding) {
+		this.values = values.clone();
+		this.encoding = encoding;
+	}
+
+	/**
+	 * Creates a vector from a list of values, written as raw doubles.
+	 *
+	 * @param values List<Double> of input values
+	 * @return PointVector of the values
+	 */
+	public static PointVector of(List<Double> values) {
+		double[] array = new double[values.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = values.get(i);
+		}
+		return new PointVector(array);
+	}
+
+	/**
+	 * Gets the number of values.
+	 *
+	 * @return int length of the vector
+	 */
+	public int size() {
+		return values.length;
+	}
+
+	/**
+	 * Gets one value.
+	 *
+	 * @param i index of the value
+	 * @return double value
+	 */
+	public double get(int i) {
+		return values[i];
+	}
+
+	/**
+	 * Gets a copy of the values.
+	 *
+	 * @return double array of the values
+	 */
+	public double[] toArray() {
+		return values.clone();
+	}
+
+	/**
+	 * Gets the values as a list.
+	 *
+	 * @return ArrayList<Double> of the values
+	 */
+	public ArrayList<Double> toList() {
+		ArrayList<Double> list = new ArrayList<Double>(values.length);
+		for (double d : values) {
+			list.add(d);
+		}
+		return list;
+	}
+
+	/**
+	 * Gets how the values are written.
+	 *
+	 * @return Encoding of the vector
+	 */
+	public Encoding getEncoding() {
+		return encoding;
+	}
+
+	@Override
+	public void writeExternal(ObjectOutput out) throws IOException {
+		out.writeByte(encoding.ordinal());
+		out.writeInt(values.length);
+		switch (encoding) {
+		case FLOAT:
+			for (double d : values) {
+				out.writeFloat((float) d);
+			}
+			break;
+		case DELTA:
+			long previous = 0;
+			for (double d : values) {
+				long bits = Double.doubleToRawLongBits(d);
+				long xor = bits ^ previous;
+				int bytes = (64 - Long.numberOfLeadingZeros(xor) + 7) / 8;
+				out.writeByte(bytes);
+				for (int b = 0; b < bytes; b++) {
+					out.writeByte((int) (xor >>> (8 * b)));
+				}
+				previous = bits;
+			}
+			break;
+		default:
+			for (double d : values) {
+				out.writeDouble(d);
+			}
+		}
+	}
+
+	@Override
+	public void readExternal(ObjectInput in) throws IOException {
+		encoding = Encoding.values()[in.readByte()];
+		values = new double[in.readInt()];
+		switch (encoding) {
+		case FLOAT:
+			for (int i = 0; i < values.length; i++) {
+				values[i] = in.readFloat();
+			}
+			break;
+		case DELTA:
+			long previous = 0;
+			for (int i = 0; i < values.length; i++) {
+				int bytes = in.readUnsignedByte();
+				long xor = 0;
+				for (int b = 0; b < bytes; b++) {
+					xor |= (long) in.readUnsignedByte() << (8 * b);
+				}
+				previous ^= xor;
+				values[i] = Double.longBitsToDouble(previous);
+			}
+			break;
+		default:
+			for (int i = 0; i < values.length; i++) {
+				values[i] = in.readDouble();
+			}
+		}
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof PointVector && Arrays.equals(values, ((PointVector) o).values);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(values);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(values);
+	}
+
+}
@@ -0,0 +1,131 @@
+/**
+ * PointVectorTest.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * JUnit tests for PointVector: each encoding survives serialization, and
+ * delta encoding is exact and smaller for points with similar coordinates.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class PointVectorTest {
+	private static final double[] SPECIAL = { 0.0, -0.0, 1.5, -2.25e-300, Double.MIN_VALUE, Double.MAX_VALUE,
+			Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN, Math.PI };
+
+	/**
+	 * Tests that raw doubles come back bit for bit.
+	 */
+	@Test
+	public void doubleRoundTrip() throws Exception {
+		PointVector copy = roundTrip(new PointVector(SPECIAL));
+		assertEquals(PointVector.Encoding.DOUBLE, copy.getEncoding());
+		assertBitsEqual(SPECIAL, copy.toArray());
+	}
+
+	/**
+	 * Tests that delta encoded values come back bit for bit, signed zeros and
+	 * NaN included.
+	 */
+	@Test
+	public void deltaRoundTrip() throws Exception {
+		PointVector copy = roundTrip(new PointVector(SPECIAL, PointVector.Encoding.DELTA));
+		assertEquals(PointVector.Encoding.DELTA, copy.getEncoding());
+		assertBitsEqual(SPECIAL, copy.toArray());
+	}
+
+	/**
+	 * Tests that float encoded values come back rounded to single precision.
+	 */
+	@Test
+	public void floatRoundTrip() throws Exception {
+		double[] values = { 1.0, Math.PI, -1e-3, 1e30 };
+		double[] copy = roundTrip(new PointVector(values, PointVector.Encoding.FLOAT)).toArray();
+		for (int i = 0; i < values.length; i++) {
+			assertEquals((double) (float) values[i], copy[i], 0);
+		}
+	}
+
+	/**
+	 * Tests that an empty vector round trips in every encoding.
+	 */
+	@Test
+	public void emptyRoundTrip() throws Exception {
+		for (PointVector.Encoding encoding : PointVector.Encoding.values()) {
+			assertEquals(0, roundTrip(new PointVector(new double[0], encoding)).size());
+		}
+	}
+
+	/**
+	 * Tests that delta encoding writes fewer bytes than raw doubles for a point
+	 * whose coordinates repeat or differ only in their low bits.
+	 */
+	@Test
+	public void deltaIsSmallerForSimilarValues() throws Exception {
+		double[] values = new double[100];
+		Arrays.fill(values, 0.5);
+		for (int i = 0; i < values.length; i += 10) {
+			values[i] = Math.nextUp(values[i]);
+		}
+		int raw = serialize(new PointVector(values)).length;
+		int delta = serialize(new PointVector(values, PointVector.Encoding.DELTA)).length;
+		assertTrue(delta + " bytes delta, " + raw + " bytes raw", delta < raw / 2);
+		assertArrayEquals(values, roundTrip(new PointVector(values, PointVector.Encoding.DELTA)).toArray(), 0);
+	}
+
+	/**
+	 * Tests the conversions to and from lists and that the values are copied.
+	 */
+	@Test
+	public void listConversionCopies() {
+		ArrayList<Double> list = new ArrayList<Double>(Arrays.asList(1.0, -2.0, 3.5));
+		PointVector vector = PointVector.of(list);
+		assertEquals(list, vector.toList());
+		double[] values = { 1, 2 };
+		PointVector copied = new PointVector(values);
+		values[0] = 9;
+		copied.toArray()[1] = 9;
+		assertEquals(1, copied.get(0), 0);
+		assertEquals(2, copied.get(1), 0);
+		assertEquals(new PointVector(new double[] { 1, 2 }, PointVector.Encoding.DELTA), copied);
+	}
+
+	private static PointVector roundTrip(PointVector vector) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialize(vector)))) {
+			return (PointVector) in.readObject();
+		}
+	}
+
+	private static byte[] serialize(PointVector vector) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(vector);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static void assertBitsEqual(double[] expected, double[] actual) {
+		assertEquals(expected.length, actual.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals("value " + i, Double.doubleToRawLongBits(expected[i]), Double.doubleToRawLongBits(actual[i]));
+		}
+	}
+
+}
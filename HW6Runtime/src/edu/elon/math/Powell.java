@@ -7,27 +7,51 @@
  */
 package edu.elon.math;
 
+import com.cureos.numerics.BatchCalcfc;
 import com.cureos.numerics.Calcfc;
-import com.cureos.numerics.Cobyla;
+import com.cureos.numerics.CobylaDriver;
 import com.cureos.numerics.CobylaExitStatus;
+import com.cureos.numerics.CobylaIterationListener;
+import com.cureos.numerics.CobylaSolver;
+import com.cureos.numerics.CobylaVariant;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Class uses an implementation from GitHub at https://github.com/cureos/jcobyla
  * that is a java implementation of the Michael Powell Direct Search Method. No.
  * There is no relationship between Dave Powell and Michael Powell. Powell
- * implements the Strategy Pattern.
+ * implements the Strategy Pattern. A run may be paused and its solver state
+ * checkpointed to disk or carried to another server, then resumed from where
+ * it stopped.
  *
  * @author dpowell2, dwinsor, emccarthy, jrhodes
  * @version 1.0
  *
  */
-public class Powell implements Strategy {
+public class Powell implements Strategy, Serializable {
+	private static final long serialVersionUID = 1L;
 	private int maxIterations = 40000;
 	private int printLevel = 0;
 	private double rhobeg = 0.5;
 	private double rhoend = 1.0e-06;
+	private CobylaVariant variant = CobylaVariant.Classic;
+	private boolean batchStart = false;
+	private CobylaSolver solver;
+	// function and point a paused run left off at, null if the solver was set
+	// directly
+	private String pausedAt;
+	private transient volatile boolean pauseRequested;
+	private transient CobylaIterationListener iterationListener;
 
 	/**
 	 * Creates instance of Michael Powell's optimization algorithm with default
@@ -49,7 +73,115 @@ public class Powell implements Strategy {
 		ArrayList<Double> startingPoint = function.getInputValues();
 		double[] inputArray = convertArrayListToDouble(startingPoint);
 		int numberInputs = inputArray.length;
-		Calcfc calcfc = new Calcfc() {
+		CobylaSolver newSolver = new CobylaSolver(createCalcfc(function), numberInputs, 0, inputArray, rhobeg, rhoend,
+				printLevel, maxIterations, variant);
+		newSolver.setBatchStart(batchStart);
+		return findMinimum(function, newSolver);
+	}
+
+	/**
+	 * Continues an optimization from the state held in the solver, which may
+	 * have been started on another server or loaded from a checkpoint. Runs until
+	 * the solver completes or pause() is called; in either case the best input
+	 * vector found so far is left set in the function.
+	 * 
+	 * @param function Function model to be optimized
+	 * @param aSolver solver state to continue from
+	 * @return best value found so far.
+	 */
+	public double findMinimum(Function function, CobylaSolver aSolver) {
+		solver = aSolver;
+		solver.setCalcfc(createCalcfc(function));
+		solver.setIterationListener(iterationListener);
+		while (!pauseRequested && solver.step()) {
+			// each step is one function evaluation, or one batch for a batch
+			// start
+		}
+		// the run has stopped, so any pause asked for is consumed
+		pauseRequested = false;
+
+		// at end the optimal input vector is in the solver
+		// need to put into function and evaluate one last time and return
+		// optimal value
+		function.setInputValues(convertDoubleArrayToArrayList(solver.getX()));
+		pausedAt = solver.isDone() ? null : position(function);
+		double result = function.evaluate();
+		// need to return the actual value and not the sign flip for
+		// optimization
+		if (!function.isMinimize()) {
+			result = result * -1;
+		}
+		return result;
+	}
+
+	/**
+	 * Optimizes the function independently from each of many starting points,
+	 * running the solves on the driver's work-stealing pool. The function must be
+	 * BatchEvaluable so that the solves can evaluate it concurrently; its own
+	 * inputs and output are left unchanged. Each solver is passed to onResult as
+	 * soon as it finishes.
+	 * 
+	 * @param function Function model to be optimized
+	 * @param startingPoints starting input vector of each solve
+	 * @param driver driver that runs the solves
+	 * @param onResult receiver of each finished solver, may be called
+	 *          concurrently; may be null
+	 * @return the run, holding the solvers in the order of the starting points
+	 *         with the best input vectors found, and the aggregate throughput in
+	 *         solves per second. For a maximization problem the solver value is
+	 *         the negated function value.
+	 */
+	public CobylaDriver.Run findMinima(Function function, List<double[]> startingPoints, CobylaDriver driver,
+			Consumer<CobylaSolver> onResult) {
+		if (!(function instanceof BatchEvaluable)) {
+			throw new IllegalArgumentException(function.getTitle() + " cannot be evaluated concurrently");
+		}
+		BatchEvaluable batchFunction = (BatchEvaluable) function;
+		double sign = function.isMinimize() ? 1 : -1;
+		Calcfc calcfc = (aN, aM, aX, aCon) -> sign * batchFunction.evaluateAt(aX);
+		List<CobylaSolver> solvers = new ArrayList<CobylaSolver>();
+		for (double[] start : startingPoints) {
+			solvers.add(
+					new CobylaSolver(calcfc, start.length, 0, start, rhobeg, rhoend, printLevel, maxIterations, variant));
+		}
+		return driver.solveAll(solvers, onResult);
+	}
+
+	/**
+	 * Creates the COBYLA objective for the function, negating the result for
+	 * maximization problems. If the function is BatchEvaluable the objective
+	 * can also evaluate batches of independent points in parallel, which the
+	 * solver does only for a batch start.
+	 * 
+	 * @param function Function model to be optimized
+	 * @return Calcfc that evaluates the function
+	 */
+	private Calcfc createCalcfc(Function function) {
+		if (function instanceof BatchEvaluable) {
+			BatchEvaluable batchFunction = (BatchEvaluable) function;
+			return new BatchCalcfc() {
+
+				@Override
+				public double Compute(int aN, int aM, double[] aX, double[] aCon) {
+					function.setInputValues(convertDoubleArrayToArrayList(aX));
+					double result = function.evaluate();
+					if (!function.isMinimize()) {
+						result = result * -1;
+					}
+					return result;
+				}
+
+				@Override
+				public void ComputeBatch(int aN, int aM, double[][] aX, double[][] aCon, double[] aF) {
+					double sign = function.isMinimize() ? 1 : -1;
+					double[] values = batchFunction.evaluateAll(aX);
+					for (int k = 0; k < aX.length; k++) {
+						aF[k] = sign * values[k];
+					}
+				}
+			};
+		}
+		return new Calcfc() {
 
 			@Override
 			public double Compute(int aN, int aM, double[] aX, double[] aCon) {
@@ -61,22 +193,135 @@ public class Powell implements Strategy {
 				return result;
 			}
 		};
+	}
 
-		CobylaExitStatus status = Cobyla.FindMinimum(calcfc, numberInputs, 0, inputArray, rhobeg, rhoend, printLevel,
-				maxIterations);
-		System.out.println("Powell optimization exit status: " + status);
+	/**
+	 * Gets the variant of the COBYLA algorithm used for new runs.
+	 * 
+	 * @return COBYLA variant
+	 */
+	public CobylaVariant getVariant() {
+		return variant;
+	}
 
-		// at end the optimal input vector is in numberInputs
-		// need to put into function and evaluate one last time and return
-		// optimal value
-		function.setInputValues(convertDoubleArrayToArrayList(inputArray));
-		double result = function.evaluate();
-		// need to return the actual value and not the sign flip for
-		// optimization
-		if (!function.isMinimize()) {
-			result = result * -1;
+	/**
+	 * Sets the variant of the COBYLA algorithm used for new runs. The modernized
+	 * Prima variant usually needs fewer evaluations to reach the same rhoend.
+	 * 
+	 * @param variant COBYLA variant
+	 */
+	public void setVariant(CobylaVariant variant) {
+		this.variant = variant;
+	}
+
+	/**
+	 * Returns true if new runs evaluate the initial simplex of a BatchEvaluable
+	 * function in one parallel batch.
+	 * 
+	 * @return true if batch start is on
+	 */
+	public boolean isBatchStart() {
+		return batchStart;
+	}
+
+	/**
+	 * Sets whether new runs evaluate the initial simplex of a BatchEvaluable
+	 * function in one parallel batch. Off by default, so that every function
+	 * follows the classic COBYLA path; with it on the vertices are all placed
+	 * about the starting point, which changes the path and so the result found
+	 * for a given budget.
+	 * 
+	 * @param batchStart true to evaluate the initial simplex in one batch
+	 */
+	public void setBatchStart(boolean batchStart) {
+		this.batchStart = batchStart;
+	}
+
+	/**
+	 * Sets a listener to receive a record of each COBYLA iteration and of the
+	 * exit status, in place of printing progress to the console.
+	 * 
+	 * @param iterationListener listener for iteration records, or null for none
+	 */
+	public void setIterationListener(CobylaIterationListener iterationListener) {
+		this.iterationListener = iterationListener;
+	}
+
+	/**
+	 * Gets the exit status of the most recent run.
+	 * 
+	 * @return exit status, null if no run has completed
+	 */
+	public CobylaExitStatus getExitStatus() {
+		return solver == null ? null : solver.getStatus();
+	}
+
+	/**
+	 * Asks a running findMinimum() to stop after its current evaluation. The
+	 * solver state is kept so the run can be resumed. A pause asked for before
+	 * the run reaches its first evaluation stops it there.
+	 */
+	public void pause() {
+		pauseRequested = true;
+	}
+
+	/**
+	 * Returns true if a run was paused before the solver completed.
+	 * 
+	 * @return true if there is an unfinished solver to resume
+	 */
+	public boolean isResumable() {
+		return solver != null && !solver.isDone();
+	}
+
+	/**
+	 * Gets the solver state of the current or most recent run.
+	 * 
+	 * @return solver state, null if no run has been started
+	 */
+	public CobylaSolver getSolver() {
+		return solver;
+	}
+
+	/**
+	 * Sets the solver state to continue from on the next call of
+	 * calculateOptimizationValues().
+	 * 
+	 * @param solver solver state from a paused run
+	 */
+	public void setSolver(CobylaSolver solver) {
+		this.solver = solver;
+		pausedAt = null;
+		pauseRequested = false;
+	}
+
+	/**
+	 * Writes the solver state of the current run to a file.
+	 * 
+	 * @param file checkpoint file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void saveCheckpoint(File file) throws IOException {
+		try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(file))) {
+			out.writeObject(solver);
+		}
+	}
+
+	/**
+	 * Reads solver state written by saveCheckpoint() so that the next call of
+	 * calculateOptimizationValues() resumes it.
+	 * 
+	 * @param file checkpoint file to read
+	 * @throws IOException if the file cannot be read or holds no solver
+	 */
+	public void loadCheckpoint(File file) throws IOException {
+		try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
+			solver = (CobylaSolver) in.readObject();
+			pausedAt = null;
+			pauseRequested = false;
+		} catch (ClassNotFoundException e) {
+			throw new IOException(e);
 		}
-		return result;
 	}
 
 	/**
@@ -111,11 +356,37 @@ public class Powell implements Strategy {
 	}
 
 	/**
-	 * Calls findMinimum() which is the method of optimization for Powell
+	 * Powell keeps its solver state in fields, evaluates the initial simplex of
+	 * BatchEvaluable functions in parallel only when batch start is on, and
+	 * always takes the same path from the same start.
+	 */
+	@Override
+	public StrategyDescriptor getDescriptor() {
+		return new StrategyDescriptor(getClass().getName(), batchStart, false, false, false, true);
+	}
+
+	/**
+	 * Calls findMinimum() which is the method of optimization for Powell,
+	 * resuming a paused or checkpointed run if there is one for this function.
+	 * A paused run is resumed only if the function is the one it was paused on
+	 * and still holds the point it was left at; a solver set directly or loaded
+	 * from a checkpoint is resumed if it has the function's dimension. Otherwise
+	 * a new run starts from the function's inputs.
 	 */
 	@Override
 	public Double calculateOptimizationValues(Function function) {
+		if (isResumable() && solver.getX().length == function.getInputValues().size()
+				&& (pausedAt == null || pausedAt.equals(position(function)))) {
+			return findMinimum(function, solver);
+		}
 		return findMinimum(function);
 	}
 
+	/**
+	 * Identifies a function and the point it holds.
+	 */
+	private static String position(Function function) {
+		return function.getClass().getName() + "|" + function.getTitle() + "|" + function.getInputValues();
+	}
+
 }
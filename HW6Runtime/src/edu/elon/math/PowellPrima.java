@@ -0,0 +1,31 @@
+/**
+ * PowellPrima.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import com.cureos.numerics.CobylaVariant;
+
+/**
+ * Powell optimization using the modernized COBYLA variant, so that it can be
+ * chosen by class name from the "optimizers" environmental variable alongside
+ * the classic Powell. PowellPrima implements the Strategy pattern.
+ * 
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class PowellPrima extends Powell {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Creates instance of Michael Powell's optimization algorithm using the
+	 * modernized COBYLA variant.
+	 */
+	public PowellPrima() {
+		setVariant(CobylaVariant.Prima);
+	}
+
+}
@@ -0,0 +1,158 @@
+/**
+ * ProgressBatch.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.io.Serializable;
+
+/**
+ * One frame of optimization progress sent to a ProgressListener: the number of
+ * evaluations, the current point and value and the best point and value so far.
+ * Points are delta encoded: only the coordinates that changed since the
+ * previous frame sent to the same listener are carried, and apply methods
+ * rebuild the full point from the previous one.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public final class ProgressBatch implements Serializable {
+	private static final long serialVersionUID = 1L;
+	private final long sequence;
+	private final int evaluations;
+	private final int dropped;
+	private final int dimension;
+	private final int[] currentIndices;
+	private final double[] currentValues;
+	private final double currentOutput;
+	private final int[] bestIndices;
+	private final double[] bestValues;
+	private final double bestOutput;
+
+	/**
+	 * Creates a frame by encoding the points against those of the previous frame.
+	 *
+	 * @param sequence number of the frame for its listener, starting at 1
+	 * @param evaluations evaluations since the optimization started
+	 * @param dropped frames coalesced into this one since the previous frame
+	 * @param current the latest point evaluated
+	 * @param currentOutput the function value at the latest point
+	 * @param previousCurrent current point of the previous frame, null if none
+	 * @param best the best point so far
+	 * @param bestOutput the function value at the best point
+	 * @param previousBest best point of the previous frame, null if none
+	 */
+	ProgressBatch(long sequence, int evaluations, int dropped, double[] current, double currentOutput,
+			double[] previousCurrent, double[] best, double bestOutput, double[] previousBest) {
+		this.sequence = sequence;
+		this.evaluations = evaluations;
+		this.dropped = dropped;
+		this.dimension = current.length;
+		this.currentOutput = currentOutput;
+		this.bestOutput = bestOutput;
+		this.currentIndices = changedIndices(current, previousCurrent);
+		this.currentValues = valuesAt(current, currentIndices);
+		this.bestIndices = changedIndices(best, previousBest);
+		this.bestValues = valuesAt(best, bestIndices);
+	}
+
+	/**
+	 * Gets the number of the frame. Frames for one listener are numbered from 1.
+	 *
+	 * @return long sequence number
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * Gets the number of evaluations since the optimization started.
+	 *
+	 * @return int count of function evaluations
+	 */
+	public int getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * Gets the number of frames coalesced into this one because the listener
+	 * was not ready for them.
+	 *
+	 * @return int count of dropped frames
+	 */
+	public int getDropped() {
+		return dropped;
+	}
+
+	/**
+	 * Gets the function value at the current point.
+	 *
+	 * @return double function value
+	 */
+	public double getCurrentOutput() {
+		return currentOutput;
+	}
+
+	/**
+	 * Gets the best function value so far.
+	 *
+	 * @return double best function value
+	 */
+	public double getBestOutput() {
+		return bestOutput;
+	}
+
+	/**
+	 * Rebuilds the current point from the current point of the previous frame.
+	 *
+	 * @param previous current point of the previous frame, null if none
+	 * @return double array of the current point
+	 */
+	public double[] applyCurrent(double[] previous) {
+		return apply(previous, currentIndices, currentValues);
+	}
+
+	/**
+	 * Rebuilds the best point from the best point of the previous frame.
+	 *
+	 * @param previous best point of the previous frame, null if none
+	 * @return double array of the best point
+	 */
+	public double[] applyBest(double[] previous) {
+		return apply(previous, bestIndices, bestValues);
+	}
+
+	private double[] apply(double[] previous, int[] indices, double[] values) {
+		double[] point = previous == null || previous.length != dimension ? new double[dimension] : previous.clone();
+		for (int i = 0; i < indices.length; i++) {
+			point[indices[i]] = values[i];
+		}
+		return point;
+	}
+
+	private static int[] changedIndices(double[] point, double[] previous) {
+		int count = 0;
+		int[] indices = new int[point.length];
+		boolean full = previous == null || previous.length != point.length;
+		for (int i = 0; i < point.length; i++) {
+			if (full || Double.compare(point[i], previous[i]) != 0) {
+				indices[count++] = i;
+			}
+		}
+		int[] changed = new int[count];
+		System.arraycopy(indices, 0, changed, 0, count);
+		return changed;
+	}
+
+	private static double[] valuesAt(double[] point, int[] indices) {
+		double[] values = new double[indices.length];
+		for (int i = 0; i < indices.length; i++) {
+			values[i] = point[indices[i]];
+		}
+		return values;
+	}
+
+}
@@ -0,0 +1,34 @@
+/**
+ * ProgressListener.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+/**
+ * Remote callback a client exports to receive the progress of optimizations
+ * running on the server. The server pushes coalesced batches at a bounded rate
+ * and never waits for a slow client; frames it could not deliver in time are
+ * dropped and counted.
+ *
+ * @author emccarthy3, dwinsor, jrhodes
+ *
+ */
+public interface ProgressListener extends Remote {
+
+	/**
+	 * Receives the latest progress of the function. Calls are made one at a time
+	 * and in order for each registered listener.
+	 *
+	 * @param batch
+	 *          progress since the previous batch, delta encoded against it
+	 * @throws RemoteException
+	 */
+	public void progress(ProgressBatch batch) throws RemoteException;
+
+}
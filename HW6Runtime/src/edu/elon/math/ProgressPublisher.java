@@ -0,0 +1,218 @@
+/**
+ * ProgressPublisher.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.RemoteException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes the progress of a function to its remote ProgressListeners. Each
+ * evaluation only updates the latest state and flags the listeners; each
+ * listener is then sent one ProgressBatch at most once per its interval, with
+ * at most one send in flight. A send runs on its own thread from a shared
+ * pool, so a slow or hung client holds up only its own batches. While a send
+ * is in flight further evaluations are coalesced, so a slow client sees
+ * dropped frames rather than slowing the optimizer. A listener that cannot be
+ * reached, or whose send has been in flight for longer than ten seconds, is
+ * removed.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+class ProgressPublisher {
+	private static final long SEND_TIMEOUT_MILLIS = 10000;
+	private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "progress-timer");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private static final ExecutorService senders = createSenders();
+	private final Function function;
+	private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<Subscription>();
+	private double[] current;
+	private double currentOutput;
+	private double[] best;
+	private double bestOutput;
+	private int evaluations;
+
+	/**
+	 * Creates the publisher of a function.
+	 *
+	 * @param function the function whose progress is published
+	 */
+	ProgressPublisher(Function function) {
+		this.function = function;
+	}
+
+	private static ExecutorService createSenders() {
+		AtomicInteger count = new AtomicInteger();
+		return Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "progress-sender-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Adds a listener.
+	 *
+	 * @param listener the remote callback
+	 * @param minIntervalMillis shortest time between two batches in milliseconds
+	 */
+	void add(ProgressListener listener, long minIntervalMillis) {
+		subscriptions.add(new Subscription(listener, Math.max(0, minIntervalMillis)));
+	}
+
+	/**
+	 * Removes a listener.
+	 *
+	 * @param listener the remote callback
+	 */
+	void remove(ProgressListener listener) {
+		subscriptions.removeIf(subscription -> subscription.listener.equals(listener));
+	}
+
+	/**
+	 * Removes every listener and forgets the progress so far.
+	 */
+	void clear() {
+		subscriptions.clear();
+		reset();
+	}
+
+	/**
+	 * Forgets the evaluation count and best point when a new optimization starts.
+	 */
+	synchronized void reset() {
+		current = null;
+		best = null;
+		evaluations = 0;
+	}
+
+	/**
+	 * Records one evaluation and flags the listeners. The point must not be
+	 * changed by the caller afterwards.
+	 *
+	 * @param point the point evaluated
+	 * @param output the function value at the point
+	 */
+	void publish(double[] point, double output) {
+		synchronized (this) {
+			evaluations++;
+			current = point;
+			currentOutput = output;
+			if (best == null || (function.isMinimize() ? output < bestOutput : output > bestOutput)) {
+				best = point;
+				bestOutput = output;
+			}
+		}
+		for (Subscription subscription : subscriptions) {
+			subscription.flag();
+		}
+	}
+
+	/**
+	 * One remote listener and the frames already sent to it.
+	 */
+	private class Subscription implements Runnable {
+		private final ProgressListener listener;
+		private final long intervalMillis;
+		private boolean scheduled;
+		private int pending;
+		private long lastSentAt;
+		private long sendingSince;
+		private long sequence;
+		private double[] sentCurrent;
+		private double[] sentBest;
+
+		Subscription(ProgressListener listener, long intervalMillis) {
+			this.listener = listener;
+			this.intervalMillis = intervalMillis;
+		}
+
+		/**
+		 * Notes a new evaluation and schedules a send unless one is already
+		 * scheduled or in flight. Removes the listener if its send has been in
+		 * flight too long.
+		 */
+		void flag() {
+			synchronized (this) {
+				pending++;
+				if (sendingSince != 0 && System.currentTimeMillis() - sendingSince > SEND_TIMEOUT_MILLIS) {
+					subscriptions.remove(this);
+					return;
+				}
+			}
+			scheduleIfIdle();
+		}
+
+		/**
+		 * Schedules a send no sooner than the interval after the last one.
+		 */
+		private void scheduleIfIdle() {
+			long delay;
+			synchronized (this) {
+				if (scheduled || pending == 0) {
+					return;
+				}
+				scheduled = true;
+				delay = Math.max(0, lastSentAt + intervalMillis - System.currentTimeMillis());
+			}
+			if (delay == 0) {
+				senders.execute(this);
+			} else {
+				timer.schedule(() -> senders.execute(this), delay, TimeUnit.MILLISECONDS);
+			}
+		}
+
+		@Override
+		public void run() {
+			double[] point;
+			double[] bestPoint;
+			double output;
+			double best;
+			int count;
+			synchronized (ProgressPublisher.this) {
+				point = current;
+				bestPoint = ProgressPublisher.this.best;
+				output = currentOutput;
+				best = bestOutput;
+				count = evaluations;
+			}
+			int dropped;
+			synchronized (this) {
+				dropped = pending - 1;
+				pending = 0;
+				sendingSince = System.currentTimeMillis();
+			}
+			try {
+				if (point != null) {
+					listener.progress(new ProgressBatch(++sequence, count, dropped, point, output, sentCurrent, bestPoint,
+							best, sentBest));
+					sentCurrent = point;
+					sentBest = bestPoint;
+				}
+			} catch (RemoteException e) {
+				subscriptions.remove(this);
+				return;
+			}
+			synchronized (this) {
+				sendingSince = 0;
+				lastSentAt = System.currentTimeMillis();
+				scheduled = false;
+			}
+			scheduleIfIdle();
+		}
+	}
+
+}
@@ -0,0 +1,112 @@
+/**
+ * ProgressReceiver.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+
+/**
+ * Client side ProgressListener. It is exported when created, rebuilds the full
+ * points from each delta encoded ProgressBatch and passes the best point so far
+ * to a local Observer.
+ *
+ * @author emccarthy3, dwinsor, jrhodes
+ *
+ */
+public class ProgressReceiver extends UnicastRemoteObject implements ProgressListener {
+	private static final long serialVersionUID = 1L;
+	private final transient Observer observer;
+	private double[] current;
+	private double[] best;
+	private double currentOutput;
+	private double bestOutput;
+	private int evaluations;
+	private long dropped;
+
+	/**
+	 * Creates and exports a receiver.
+	 *
+	 * @param observer
+	 *          - told of the best point so far after each batch
+	 * @throws RemoteException
+	 */
+	public ProgressReceiver(Observer observer) throws RemoteException {
+		this.observer = observer;
+	}
+
+	@Override
+	public void progress(ProgressBatch batch) {
+		ArrayList<Double> values = new ArrayList<Double>();
+		synchronized (this) {
+			current = batch.applyCurrent(current);
+			best = batch.applyBest(best);
+			currentOutput = batch.getCurrentOutput();
+			bestOutput = batch.getBestOutput();
+			evaluations = batch.getEvaluations();
+			dropped += batch.getDropped();
+			for (double d : best) {
+				values.add(d);
+			}
+		}
+		observer.update(values);
+	}
+
+	/**
+	 * Gets the latest point evaluated.
+	 *
+	 * @return ArrayList<Double> of input values, empty before the first batch
+	 */
+	public synchronized ArrayList<Double> getCurrentInputValues() {
+		ArrayList<Double> values = new ArrayList<Double>();
+		if (current != null) {
+			for (double d : current) {
+				values.add(d);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Gets the function value at the latest point evaluated.
+	 *
+	 * @return double function value
+	 */
+	public synchronized double getCurrentOutput() {
+		return currentOutput;
+	}
+
+	/**
+	 * Gets the best function value so far.
+	 *
+	 * @return double best function value
+	 */
+	public synchronized double getBestOutput() {
+		return bestOutput;
+	}
+
+	/**
+	 * Gets the number of evaluations in the latest batch.
+	 *
+	 * @return int count of function evaluations
+	 */
+	public synchronized int getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * Gets the number of frames the server dropped because this client was not
+	 * ready for them.
+	 *
+	 * @return long count of dropped frames
+	 */
+	public synchronized long getDropped() {
+		return dropped;
+	}
+
+}
@@ -160,6 +160,15 @@ public class RandomWalk implements Strategy {
 		this.smallestValue = smallestValue;
 	}
 
+	/**
+	 * RandomWalk keeps its best point in fields while running and draws inputs
+	 * between the smallest and largest values.
+	 */
+	@Override
+	public StrategyDescriptor getDescriptor() {
+		return new StrategyDescriptor(getClass().getName(), false, false, true, false);
+	}
+
 	/**
 	 * Calls guess() which is the method of optimization for RandomWalk
 	 */
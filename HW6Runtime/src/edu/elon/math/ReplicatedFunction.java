@@ -0,0 +1,686 @@
+/**
+ * ReplicatedFunction.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.io.Closeable;
+import java.rmi.NoSuchObjectException;
+import java.rmi.RemoteException;
+import java.rmi.ServerError;
+import java.rmi.ServerException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One function served by several FunctionServer replicas, used as if it were a
+ * single FunctionInterface. Every replica is health checked every two seconds:
+ * the round trip of a getSchedulerStats() call gives its latency, smoothed
+ * over checks, and the stats give its load. A replica's score is its latency
+ * scaled by its load, and the lowest score is preferred.
+ * <p>
+ * Calls that read or change the state of the client's session, such as
+ * setInputValues(), evaluate() and optimize(), stick to one home replica.
+ * Metadata reads and submitOptimization() go to the best replica at the time,
+ * unless the client has set metadata of its own, and each job stays with the
+ * replica that runs it. When a replica cannot be reached it is marked down:
+ * the session moves to the next best replica with the state the client set
+ * replayed on it. A job is submitted again elsewhere only when a call about it
+ * to the replica running it fails, and the abandoned copy is cancelled once
+ * that replica can be reached again. Exceptions thrown by the function itself
+ * are passed to the caller.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class ReplicatedFunction implements FunctionInterface, Closeable {
+	private static final long HEALTH_CHECK_MILLIS = 2000;
+	private static final double SMOOTHING = 0.3;
+	private static final ScheduledExecutorService checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "replica-health-check");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final String name;
+	private final List<Replica> replicas = new ArrayList<Replica>();
+	private final ScheduledFuture<?> healthCheck;
+	private final AtomicLong nextJobId = new AtomicLong(1);
+	private final ConcurrentHashMap<Long, Job> jobs = new ConcurrentHashMap<Long, Job>();
+	private Replica home;
+	// session state set by the client, replayed when the session moves
+	private ArrayList<Double> inputValues;
+	private Strategy strategy;
+	private String optimizationTechnique;
+	private String title;
+	private ArrayList<String> inputNames;
+	private Boolean minimize;
+	private final List<Observer> observers = new CopyOnWriteArrayList<Observer>();
+	private final Map<ProgressListener, Long> progressListeners = new ConcurrentHashMap<ProgressListener, Long>();
+
+	/**
+	 * Connects to the function on each replica that can be reached and starts
+	 * the health checks.
+	 *
+	 * @param baseUrls - base URLs of the replicas, such as "rmi://host/" or
+	 *          "binary://host:1199/"
+	 * @param name - the function name, such as "dell"
+	 * @throws RemoteException if no replica can be reached
+	 */
+	public ReplicatedFunction(List<String> baseUrls, String name) throws RemoteException {
+		this.name = name;
+		for (String baseUrl : baseUrls) {
+			Replica replica = new Replica(baseUrl);
+			replica.check();
+			replicas.add(replica);
+		}
+		best();
+		healthCheck = checker.scheduleWithFixedDelay(this::checkAll, HEALTH_CHECK_MILLIS, HEALTH_CHECK_MILLIS,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops the health checks.
+	 */
+	@Override
+	public void close() {
+		healthCheck.cancel(false);
+	}
+
+	/**
+	 * Gets the base URL of the replica the session is on.
+	 *
+	 * @return String base URL, null if the session has not started
+	 */
+	public synchronized String getHomeUrl() {
+		return home == null ? null : home.baseUrl;
+	}
+
+	@Override
+	public String toString() {
+		return name + " " + replicas;
+	}
+
+	private void checkAll() {
+		for (Replica replica : replicas) {
+			replica.check();
+		}
+	}
+
+	/**
+	 * Gets the healthy replica with the lowest score.
+	 *
+	 * @throws RemoteException if no replica is healthy
+	 */
+	private Replica best() throws RemoteException {
+		Replica best = null;
+		for (Replica replica : replicas) {
+			if (replica.healthy && (best == null || replica.score() < best.score())) {
+				best = replica;
+			}
+		}
+		if (best == null) {
+			throw new RemoteException("No replica of " + name + " can be reached: " + replicas);
+		}
+		return best;
+	}
+
+	/**
+	 * Gets the home replica, moving the session to the best replica if it has
+	 * none or its home is down.
+	 */
+	private synchronized Replica home() throws RemoteException {
+		while (home == null || !home.healthy) {
+			Replica candidate = best();
+			try {
+				replay(candidate.function());
+				home = candidate;
+			} catch (RemoteException e) {
+				if (!isUnreachable(e)) {
+					throw e;
+				}
+				candidate.down();
+			}
+		}
+		return home;
+	}
+
+	/**
+	 * Sets the state the client has set on a replica's instance.
+	 */
+	private void replay(FunctionInterface function) throws RemoteException {
+		if (title != null) {
+			function.setTitle(title);
+		}
+		if (inputNames != null) {
+			function.setInputNames(inputNames);
+		}
+		if (minimize != null) {
+			function.setMinimize(minimize);
+		}
+		if (inputValues != null) {
+			function.setInputValues(inputValues);
+		}
+		if (strategy != null) {
+			function.setStrategy(strategy);
+		}
+		if (optimizationTechnique != null) {
+			function.setOptimizationTechnique(optimizationTechnique);
+		}
+		for (Observer observer : observers) {
+			function.registerObserver(observer);
+		}
+		for (Map.Entry<ProgressListener, Long> listener : progressListeners.entrySet()) {
+			function.registerProgressListener(listener.getKey(), listener.getValue());
+		}
+	}
+
+	/**
+	 * Tells a lost replica from an exception thrown by the function.
+	 */
+	private static boolean isUnreachable(RemoteException e) {
+		return !(e instanceof ServerException || e instanceof ServerError);
+	}
+
+	/**
+	 * Makes a call on the home replica, moving the session if it is lost.
+	 */
+	private <T> T onHome(RemoteCall<T> call) throws RemoteException {
+		while (true) {
+			Replica replica = home();
+			try {
+				return call.on(replica.function());
+			} catch (RemoteException e) {
+				if (!isUnreachable(e)) {
+					throw e;
+				}
+				replica.down();
+			}
+		}
+	}
+
+	/**
+	 * Makes a call on the best replica, or on the home replica once the client
+	 * has set metadata of its own.
+	 */
+	private <T> T onBest(RemoteCall<T> call) throws RemoteException {
+		synchronized (this) {
+			if (title != null || inputNames != null || minimize != null) {
+				return onHome(call);
+			}
+		}
+		while (true) {
+			Replica replica = best();
+			try {
+				return call.on(replica.function());
+			} catch (RemoteException e) {
+				if (!isUnreachable(e)) {
+					throw e;
+				}
+				replica.down();
+			}
+		}
+	}
+
+	/**
+	 * Submits a job to the best replica, or to the home replica once the client
+	 * has set metadata of its own.
+	 */
+	private void submit(Job job) throws RemoteException {
+		Replica[] chosen = new Replica[1];
+		FunctionInterface[] instance = new FunctionInterface[1];
+		long remoteId = onBest(function -> {
+			for (Replica replica : replicas) {
+				if (replica.function == function) {
+					chosen[0] = replica;
+				}
+			}
+			instance[0] = function;
+			return function.submitOptimization(job.strategy, job.start, job.budget, job.priority);
+		});
+		synchronized (job) {
+			job.replica = chosen[0];
+			job.function = instance[0];
+			job.remoteId = remoteId;
+		}
+	}
+
+	/**
+	 * Makes a call about a job on the instance running it. Only if that call
+	 * cannot reach the replica is the job submitted again elsewhere, and the
+	 * copy left behind is cancelled once the replica is back.
+	 */
+	private <T> T onJob(long jobId, JobCall<T> call) throws RemoteException {
+		Job job = jobs.get(jobId);
+		if (job == null) {
+			throw new IllegalArgumentException("No optimization job " + jobId);
+		}
+		while (true) {
+			Replica replica;
+			FunctionInterface function;
+			long remoteId;
+			synchronized (job) {
+				replica = job.replica;
+				function = job.function;
+				remoteId = job.remoteId;
+			}
+			try {
+				return call.on(function, remoteId);
+			} catch (RemoteException e) {
+				if (!isUnreachable(e)) {
+					throw e;
+				}
+				replica.down();
+				synchronized (job) {
+					// another call may have moved the job already
+					if (job.function == function && job.remoteId == remoteId) {
+						replica.abandoned.add(new Abandoned(function, remoteId));
+						submit(job);
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public String getTitle() throws RemoteException {
+		return onBest(FunctionInterface::getTitle);
+	}
+
+	@Override
+	public ArrayList<String> getInputNames() throws RemoteException {
+		return onBest(FunctionInterface::getInputNames);
+	}
+
+	@Override
+	public boolean isMinimize() throws RemoteException {
+		return onBest(FunctionInterface::isMinimize);
+	}
+
+	@Override
+	public String getOptimizersString() throws RemoteException {
+		return onBest(FunctionInterface::getOptimizersString);
+	}
+
+	@Override
+	public String getEnvironmentalVariables() throws RemoteException {
+		return onBest(FunctionInterface::getEnvironmentalVariables);
+	}
+
+	@Override
+	public String getEnvironmentVariables() throws RemoteException {
+		return onBest(FunctionInterface::getEnvironmentVariables);
+	}
+
+	@Override
+	public Strategy callStrategy(String type) throws RemoteException {
+		return onBest(function -> function.callStrategy(type));
+	}
+
+	@Override
+	public Evaluator getEvaluator() throws RemoteException {
+		return onBest(FunctionInterface::getEvaluator);
+	}
+
+	@Override
+	public long getMetadataVersion() throws RemoteException {
+		return onHome(FunctionInterface::getMetadataVersion);
+	}
+
+	@Override
+	public Double evaluate() throws RemoteException {
+		return onHome(FunctionInterface::evaluate);
+	}
+
+	@Override
+	public ArrayList<Double> getInputValues() throws RemoteException {
+		return onHome(FunctionInterface::getInputValues);
+	}
+
+	@Override
+	public PointVector getInputVector() throws RemoteException {
+		return onHome(FunctionInterface::getInputVector);
+	}
+
+	@Override
+	public String getOptimizationTechnique() throws RemoteException {
+		return onHome(FunctionInterface::getOptimizationTechnique);
+	}
+
+	@Override
+	public Double getOutput() throws RemoteException {
+		return onHome(FunctionInterface::getOutput);
+	}
+
+	@Override
+	public Double optimize() throws RemoteException {
+		return onHome(FunctionInterface::optimize);
+	}
+
+	@Override
+	public FunctionSnapshot getSnapshot() throws RemoteException {
+		return onHome(FunctionInterface::getSnapshot);
+	}
+
+	@Override
+	public SchedulerStats getSchedulerStats() throws RemoteException {
+		return onHome(FunctionInterface::getSchedulerStats);
+	}
+
+	@Override
+	public void notifyObservers() throws RemoteException {
+		onHome(function -> {
+			function.notifyObservers();
+			return null;
+		});
+	}
+
+	@Override
+	public void setStrategy(Strategy s) throws RemoteException {
+		onHome(function -> {
+			function.setStrategy(s);
+			return null;
+		});
+		synchronized (this) {
+			strategy = s;
+		}
+	}
+
+	@Override
+	public void setInputNames(ArrayList<String> inputNames) throws RemoteException {
+		onHome(function -> {
+			function.setInputNames(inputNames);
+			return null;
+		});
+		synchronized (this) {
+			this.inputNames = new ArrayList<String>(inputNames);
+		}
+	}
+
+	@Override
+	public void setInputValues(ArrayList<Double> inputValues) throws RemoteException {
+		onHome(function -> {
+			function.setInputValues(inputValues);
+			return null;
+		});
+		synchronized (this) {
+			this.inputValues = new ArrayList<Double>(inputValues);
+		}
+	}
+
+	@Override
+	public void setInputVector(PointVector inputVector) throws RemoteException {
+		onHome(function -> {
+			function.setInputVector(inputVector);
+			return null;
+		});
+		synchronized (this) {
+			this.inputValues = inputVector.toList();
+		}
+	}
+
+	@Override
+	public void setMinimize(boolean minimize) throws RemoteException {
+		onHome(function -> {
+			function.setMinimize(minimize);
+			return null;
+		});
+		synchronized (this) {
+			this.minimize = minimize;
+		}
+	}
+
+	@Override
+	public void setOptimizationTechnique(String optimizationTechnique) throws RemoteException {
+		onHome(function -> {
+			function.setOptimizationTechnique(optimizationTechnique);
+			return null;
+		});
+		synchronized (this) {
+			this.optimizationTechnique = optimizationTechnique;
+		}
+	}
+
+	@Override
+	public void setOutput(Double output) throws RemoteException {
+		onHome(function -> {
+			function.setOutput(output);
+			return null;
+		});
+	}
+
+	@Override
+	public void setTitle(String title) throws RemoteException {
+		onHome(function -> {
+			function.setTitle(title);
+			return null;
+		});
+		synchronized (this) {
+			this.title = title;
+		}
+	}
+
+	@Override
+	public void registerObserver(Observer o) throws RemoteException {
+		onHome(function -> {
+			function.registerObserver(o);
+			return null;
+		});
+		observers.add(o);
+	}
+
+	@Override
+	public void removeObserver(Observer o) throws RemoteException {
+		observers.remove(o);
+		onHome(function -> {
+			function.removeObserver(o);
+			return null;
+		});
+	}
+
+	@Override
+	public void registerProgressListener(ProgressListener listener, long minIntervalMillis) throws RemoteException {
+		onHome(function -> {
+			function.registerProgressListener(listener, minIntervalMillis);
+			return null;
+		});
+		progressListeners.put(listener, minIntervalMillis);
+	}
+
+	@Override
+	public void removeProgressListener(ProgressListener listener) throws RemoteException {
+		progressListeners.remove(listener);
+		onHome(function -> {
+			function.removeProgressListener(listener);
+			return null;
+		});
+	}
+
+	@Override
+	public long submitOptimization(String strategy, ArrayList<Double> start, int budget) throws RemoteException {
+		return submitOptimization(strategy, start, budget, 0);
+	}
+
+	@Override
+	public long submitOptimization(String strategy, ArrayList<Double> start, int budget, int priority)
+			throws RemoteException {
+		Job job = new Job(strategy, start == null ? getInputValues() : new ArrayList<Double>(start), budget, priority);
+		submit(job);
+		long jobId = nextJobId.getAndIncrement();
+		jobs.put(jobId, job);
+		return jobId;
+	}
+
+	@Override
+	public JobStatus status(long jobId) throws RemoteException {
+		return onJob(jobId, FunctionInterface::status);
+	}
+
+	@Override
+	public OptimizationResult awaitResult(long jobId, long timeoutMillis) throws RemoteException {
+		OptimizationResult result = onJob(jobId, (function, remoteId) -> function.awaitResult(remoteId, timeoutMillis));
+		if (result == null) {
+			return null;
+		}
+		jobs.remove(jobId);
+		return result.withJobId(jobId);
+	}
+
+	@Override
+	public boolean cancel(long jobId) throws RemoteException {
+		return onJob(jobId, FunctionInterface::cancel);
+	}
+
+	/**
+	 * A call on one replica's instance of the function.
+	 */
+	private interface RemoteCall<T> {
+		T on(FunctionInterface function) throws RemoteException;
+	}
+
+	/**
+	 * A call about one job on the replica running it.
+	 */
+	private interface JobCall<T> {
+		T on(FunctionInterface function, long remoteId) throws RemoteException;
+	}
+
+	/**
+	 * A submitted job, kept so it can be submitted again if its replica is
+	 * lost.
+	 */
+	private static class Job {
+		private final String strategy;
+		private final ArrayList<Double> start;
+		private final int budget;
+		private final int priority;
+		private Replica replica;
+		private FunctionInterface function;
+		private long remoteId;
+
+		Job(String strategy, ArrayList<Double> start, int budget, int priority) {
+			this.strategy = strategy;
+			this.start = start;
+			this.budget = budget;
+			this.priority = priority;
+		}
+	}
+
+	/**
+	 * A job left on a lost replica when it was submitted again elsewhere.
+	 */
+	private static class Abandoned {
+		private final FunctionInterface function;
+		private final long remoteId;
+
+		Abandoned(FunctionInterface function, long remoteId) {
+			this.function = function;
+			this.remoteId = remoteId;
+		}
+	}
+
+	/**
+	 * One server and the instance of the function this client holds on it.
+	 */
+	private class Replica {
+		private final String baseUrl;
+		private final List<Abandoned> abandoned = new CopyOnWriteArrayList<Abandoned>();
+		private volatile FunctionInterface function;
+		private volatile boolean healthy;
+		private volatile double latencyMillis;
+		private volatile double load;
+
+		Replica(String baseUrl) {
+			this.baseUrl = baseUrl;
+		}
+
+		/**
+		 * Gets the instance, failing if the replica is down.
+		 */
+		FunctionInterface function() throws RemoteException {
+			FunctionInterface current = function;
+			if (current == null) {
+				throw new RemoteException(baseUrl + " is down");
+			}
+			return current;
+		}
+
+		/**
+		 * Latency scaled by the scheduler's queued and running work per worker.
+		 */
+		double score() {
+			return latencyMillis * (1 + load);
+		}
+
+		/**
+		 * Measures the replica, connecting to it again if it was down.
+		 */
+		void check() {
+			try {
+				FunctionInterface current = function;
+				if (current == null) {
+					current = FunctionLocator.acquire(baseUrl, name);
+				}
+				long started = System.nanoTime();
+				SchedulerStats stats = current.getSchedulerStats();
+				double millis = (System.nanoTime() - started) / 1e6;
+				latencyMillis = healthy ? latencyMillis + SMOOTHING * (millis - latencyMillis) : millis;
+				load = (double) (stats.getQueued() + stats.getRunning()) / Math.max(1, stats.getWorkers());
+				function = current;
+				healthy = true;
+			} catch (RemoteException | RuntimeException e) {
+				down();
+				return;
+			}
+			cancelAbandoned();
+		}
+
+		/**
+		 * Cancels the jobs submitted again elsewhere while the replica was down.
+		 * A job whose instance is gone went with it; one that still cannot be
+		 * reached is tried again at the next check.
+		 */
+		private void cancelAbandoned() {
+			for (Abandoned job : abandoned) {
+				try {
+					job.function.cancel(job.remoteId);
+				} catch (NoSuchObjectException | ServerException | ServerError e) {
+					// the job is gone or was already finished
+				} catch (RemoteException e) {
+					continue;
+				}
+				abandoned.remove(job);
+			}
+		}
+
+		/**
+		 * Marks the replica down until a health check reaches it again.
+		 */
+		void down() {
+			healthy = false;
+			function = null;
+			synchronized (ReplicatedFunction.this) {
+				// a new instance has none of the session state
+				if (home == this) {
+					home = null;
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			return baseUrl + (healthy ? String.format(" %.2fms load %.2f", latencyMillis, load) : " down");
+		}
+	}
+
+}
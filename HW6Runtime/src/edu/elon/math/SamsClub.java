@@ -21,7 +21,8 @@ import javax.swing.JTextField;
  * @version 1.0
  * 
  */
-public class SamsClub extends Function implements Serializable{
+public class SamsClub extends Function implements Serializable, BatchEvaluable {
+	private static final Objective OBJECTIVE = new Objective();
 	private ArrayList<Observer> observers;
 	/**
 	 * Default constructor to set initial input point to (-5, 0)
@@ -114,16 +115,42 @@ public class SamsClub extends Function implements Serializable{
 	 */
 	@Override
 	public Double evaluate() {
-		double x = getInputValues().get(0).doubleValue();
-		double y = getInputValues().get(1).doubleValue();
-		double cost = 60.0 / (1 + Math.pow(x + 1, 2) + Math.pow(y - 3, 2))
-				+ 20.0 / (1 + Math.pow(x - 1, 2) + Math.pow(y - 3, 2)) + 30.0 / (1 + Math.pow(x, 2) + Math.pow(y + 4, 2));
+		double[] point = { getInputValues().get(0).doubleValue(), getInputValues().get(1).doubleValue() };
+		double cost = evaluateAt(point);
 
 		this.setOutput(new Double(cost));
 		notifyObservers();
 		return this.getOutput();
 
 	}
+
+	/**
+	 * Evaluates the profit at the given point without changing the current
+	 * inputs or output.
+	 * 
+	 * @param point double array of the two input values
+	 * @return profit at the point
+	 */
+	@Override
+	public double evaluateAt(double[] point) {
+		return OBJECTIVE.evaluateAt(point);
+	}
+
+	/**
+	 * Gets the objective as mobile code, since it is cheap enough for clients
+	 * to evaluate in their own JVM.
+	 * 
+	 * @return Evaluator of the profit
+	 */
+	@Override
+	public String getObjectiveId() {
+		return OBJECTIVE.getObjectiveId();
+	}
+
+	@Override
+	public Evaluator getEvaluator() {
+		return OBJECTIVE;
+	}
 //	@Override
 //	public void registerObserver(Observer o) {
 //		observers.add(o);	
@@ -154,4 +181,18 @@ public class SamsClub extends Function implements Serializable{
 	}
 	
 
+	/**
+	 * The profit, with no function state, so it can be sent to clients.
+	 */
+	private static class Objective implements Evaluator {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public double evaluateAt(double[] point) {
+			double x = point[0];
+			double y = point[1];
+			return 60.0 / (1 + Math.pow(x + 1, 2) + Math.pow(y - 3, 2))
+					+ 20.0 / (1 + Math.pow(x - 1, 2) + Math.pow(y - 3, 2)) + 30.0 / (1 + Math.pow(x, 2) + Math.pow(y + 4, 2));
+		}
+	}
 }
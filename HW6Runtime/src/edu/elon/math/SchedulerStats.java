@@ -0,0 +1,134 @@
+/**
+ * SchedulerStats.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable metrics of the server's optimization scheduler at one moment.
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public final class SchedulerStats implements Serializable {
+	private static final long serialVersionUID = 1L;
+	private final int workers;
+	private final int running;
+	private final int queued;
+	private final Map<String, Integer> queuedPerClient;
+	private final long submitted;
+	private final long completed;
+	private final long rejected;
+	private final long averageWaitMillis;
+	private final long maxWaitMillis;
+
+	SchedulerStats(int workers, int running, int queued, LinkedHashMap<String, Integer> queuedPerClient,
+			long submitted, long completed, long rejected, long averageWaitMillis, long maxWaitMillis) {
+		this.workers = workers;
+		this.running = running;
+		this.queued = queued;
+		this.queuedPerClient = Collections.unmodifiableMap(queuedPerClient);
+		this.submitted = submitted;
+		this.completed = completed;
+		this.rejected = rejected;
+		this.averageWaitMillis = averageWaitMillis;
+		this.maxWaitMillis = maxWaitMillis;
+	}
+
+	/**
+	 * Gets the number of worker threads, one per processor.
+	 *
+	 * @return int count of worker threads
+	 */
+	public int getWorkers() {
+		return workers;
+	}
+
+	/**
+	 * Gets the number of optimizations running.
+	 *
+	 * @return int count of running optimizations
+	 */
+	public int getRunning() {
+		return running;
+	}
+
+	/**
+	 * Gets the number of optimizations waiting for a worker.
+	 *
+	 * @return int queue depth
+	 */
+	public int getQueued() {
+		return queued;
+	}
+
+	/**
+	 * Gets the number of optimizations waiting for each client.
+	 *
+	 * @return unmodifiable Map from client host to queue depth
+	 */
+	public Map<String, Integer> getQueuedPerClient() {
+		return queuedPerClient;
+	}
+
+	/**
+	 * Gets the number of optimizations accepted since the server started.
+	 *
+	 * @return long count of accepted optimizations
+	 */
+	public long getSubmitted() {
+		return submitted;
+	}
+
+	/**
+	 * Gets the number of optimizations finished since the server started.
+	 *
+	 * @return long count of finished optimizations
+	 */
+	public long getCompleted() {
+		return completed;
+	}
+
+	/**
+	 * Gets the number of optimizations turned away because the server was busy.
+	 *
+	 * @return long count of rejected optimizations
+	 */
+	public long getRejected() {
+		return rejected;
+	}
+
+	/**
+	 * Gets the average time optimizations waited for a worker.
+	 *
+	 * @return long average wait in milliseconds
+	 */
+	public long getAverageWaitMillis() {
+		return averageWaitMillis;
+	}
+
+	/**
+	 * Gets the longest time an optimization waited for a worker.
+	 *
+	 * @return long longest wait in milliseconds
+	 */
+	public long getMaxWaitMillis() {
+		return maxWaitMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "workers=" + workers + " running=" + running + " queued=" + queued + " " + queuedPerClient + " submitted="
+				+ submitted + " completed=" + completed + " rejected=" + rejected + " averageWait=" + averageWaitMillis
+				+ "ms maxWait=" + maxWaitMillis + "ms";
+	}
+
+}
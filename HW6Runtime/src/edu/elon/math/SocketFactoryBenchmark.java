@@ -0,0 +1,72 @@
+/**
+ * SocketFactoryBenchmark.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 David J. Powell, Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.rmi.server.RemoteObject;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+
+/**
+ * Compares plain, buffered and compressed RMI sockets on loopback. Each kind
+ * of socket is timed on many small evaluate() calls and on round trips of a
+ * large point set through setInputValues() and getInputValues(), and the
+ * framed sockets report how many bytes they sent.
+ *
+ * Usage: java edu.elon.math.SocketFactoryBenchmark [small calls] [large calls]
+ *
+ * @author dpowell2, dwinsor, emccarthy, jrhodes
+ * @version 1.0
+ */
+public class SocketFactoryBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int smallCalls = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+		int largeCalls = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+		ArrayList<Double> large = new ArrayList<Double>();
+		for (int i = 0; i < 20000; i++) {
+			large.add(Math.round(Math.sin(i / 100.0) * 1000) / 1000.0);
+		}
+
+		System.out.println("sockets     small us/call  large ms/call  payload KB  wire KB");
+		for (String name : new String[] { "plain", "buffered", "compressed" }) {
+			Dell dell = new Dell();
+			CompressingSocketFactory sockets = FunctionServer.getSocketFactory(name);
+			FunctionInterface stub = (FunctionInterface) (sockets == null ? RemoteObject.toStub(dell)
+					: sockets.export(dell));
+			ArrayList<Double> start = stub.getInputValues();
+
+			for (int i = 0; i < smallCalls / 10; i++) {
+				stub.evaluate();
+			}
+			long begin = System.nanoTime();
+			for (int i = 0; i < smallCalls; i++) {
+				stub.evaluate();
+			}
+			double smallMicros = (System.nanoTime() - begin) / 1e3 / smallCalls;
+
+			long payload = CompressingSocketFactory.getPayloadBytes();
+			long wire = CompressingSocketFactory.getWireBytes();
+			begin = System.nanoTime();
+			for (int i = 0; i < largeCalls; i++) {
+				stub.setInputValues(large);
+				stub.getInputValues();
+			}
+			double largeMillis = (System.nanoTime() - begin) / 1e6 / largeCalls;
+			payload = CompressingSocketFactory.getPayloadBytes() - payload;
+			wire = CompressingSocketFactory.getWireBytes() - wire;
+			stub.setInputValues(start);
+
+			System.out.printf("%-10s  %13.1f  %13.2f  %10s  %7s%n", name, smallMicros, largeMillis,
+					sockets == null ? "-" : Long.toString(payload / 1024 / largeCalls),
+					sockets == null ? "-" : Long.toString(wire / 1024 / largeCalls));
+			UnicastRemoteObject.unexportObject(dell, true);
+		}
+		System.exit(0);
+	}
+
+}
@@ -25,4 +25,15 @@ public interface Strategy {
 	 */
 	public abstract Double calculateOptimizationValues(Function function);
 
+	/**
+	 * Describes the strategy for the StrategyFactory registry. Strategies that
+	 * do not override this are assumed to be sequential, gradient free, unbounded,
+	 * stateful and not deterministic.
+	 * 
+	 * @return descriptor of the strategy's name and capabilities
+	 */
+	public default StrategyDescriptor getDescriptor() {
+		return new StrategyDescriptor(getClass().getName(), false, false, false, false);
+	}
+
 }
@@ -0,0 +1,114 @@
+/**
+ * StrategyDescriptor.java 1.0 October 19, 2026
+ *
+ * Copyright (c) 2026 Dawn Winsor, Betsey McCarthy, Jen Rhodes
+ * Elon, North Carolina, 27244 U.S.A.
+ * All Rights Reserved
+ */
+package edu.elon.math;
+
+import java.io.Serializable;
+
+/**
+ * Describes an optimizer strategy registered with the StrategyFactory: its
+ * package qualified class name and what it is capable of.
+ * 
+ * @author dwinsor, emccarthy, jrhodes
+ *
+ */
+public class StrategyDescriptor implements Serializable {
+	private static final long serialVersionUID = 1L;
+	private final String name;
+	private final boolean parallelCapable;
+	private final boolean needsGradient;
+	private final boolean supportsBounds;
+	private final boolean stateless;
+	private final boolean deterministic;
+
+	/**
+	 * Creates a descriptor for a strategy that may not reach the same result
+	 * twice from the same start.
+	 * 
+	 * @param name - package qualified class name of the strategy
+	 * @param parallelCapable - true if the strategy evaluates points in parallel
+	 * @param needsGradient - true if the strategy needs function gradients
+	 * @param supportsBounds - true if the strategy respects bounds on the inputs
+	 * @param stateless - true if one instance may be shared by concurrent runs
+	 */
+	public StrategyDescriptor(String name, boolean parallelCapable, boolean needsGradient, boolean supportsBounds,
+			boolean stateless) {
+		this(name, parallelCapable, needsGradient, supportsBounds, stateless, false);
+	}
+
+	/**
+	 * Creates a descriptor for a strategy.
+	 * 
+	 * @param name - package qualified class name of the strategy
+	 * @param parallelCapable - true if the strategy evaluates points in parallel
+	 * @param needsGradient - true if the strategy needs function gradients
+	 * @param supportsBounds - true if the strategy respects bounds on the inputs
+	 * @param stateless - true if one instance may be shared by concurrent runs
+	 * @param deterministic - true if the same function, start and budget always
+	 *          give the same result
+	 */
+	public StrategyDescriptor(String name, boolean parallelCapable, boolean needsGradient, boolean supportsBounds,
+			boolean stateless, boolean deterministic) {
+		this.name = name;
+		this.parallelCapable = parallelCapable;
+		this.needsGradient = needsGradient;
+		this.supportsBounds = supportsBounds;
+		this.stateless = stateless;
+		this.deterministic = deterministic;
+	}
+
+	/**
+	 * Gets the package qualified class name of the strategy
+	 * 
+	 * @return name - the strategy name as used in the "optimizers" variable
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return true if the strategy evaluates points in parallel
+	 */
+	public boolean isParallelCapable() {
+		return parallelCapable;
+	}
+
+	/**
+	 * @return true if the strategy needs function gradients
+	 */
+	public boolean isNeedsGradient() {
+		return needsGradient;
+	}
+
+	/**
+	 * @return true if the strategy respects bounds on the input values
+	 */
+	public boolean isSupportsBounds() {
+		return supportsBounds;
+	}
+
+	/**
+	 * @return true if one instance may be shared by concurrent runs
+	 */
+	public boolean isStateless() {
+		return stateless;
+	}
+
+	/**
+	 * @return true if the same function, start and budget always give the same
+	 *         result
+	 */
+	public boolean isDeterministic() {
+		return deterministic;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
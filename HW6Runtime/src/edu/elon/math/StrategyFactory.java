@@ -8,21 +8,50 @@
 
 package edu.elon.math;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * The Strategy Factory class uses the singleton pattern to create a unique
- * instance of itself and then creates optimizer strategies.
+ * instance of itself and then creates optimizer strategies. Strategies listed
+ * in META-INF/services/edu.elon.math.Strategy are discovered once with
+ * ServiceLoader; the constructor of each strategy is then cached as a
+ * MethodHandle, and stateless strategies are shared rather than created again.
  * 
  * @author dwinsor, jrhodes, emccarthy
  *
  */
 public class StrategyFactory {
-	private static StrategyFactory uniqueInstance;
+	private static final MethodType NO_ARGUMENTS = MethodType.methodType(void.class);
+	private final ConcurrentHashMap<String, MethodHandle> constructors = new ConcurrentHashMap<String, MethodHandle>();
+	private final ConcurrentHashMap<String, StrategyDescriptor> descriptors = new ConcurrentHashMap<String, StrategyDescriptor>();
+	private final ConcurrentHashMap<String, Strategy> sharedStrategies = new ConcurrentHashMap<String, Strategy>();
+	// names already found not to be usable strategies
+	private final Set<String> unknownTypes = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * This is the singleton private no-argument construction to ensure that only
-	 * one instance of StrategyFactory is created.
+	 * one instance of StrategyFactory is created. Registers the strategies found
+	 * by ServiceLoader.
 	 */
 	private StrategyFactory() {
+		for (Strategy strategy : ServiceLoader.load(Strategy.class)) {
+			register(strategy);
+		}
+	}
+
+	/**
+	 * Holds the unique instance, which the class loader creates safely on first
+	 * use.
+	 */
+	private static class Holder {
+		private static final StrategyFactory uniqueInstance = new StrategyFactory();
 	}
 
 	/**
@@ -31,26 +60,165 @@ public class StrategyFactory {
 	 * @return uniqueInstance - the unique Strategy Factory
 	 */
 	public static StrategyFactory getInstance() {
-		if(uniqueInstance == null){
-			uniqueInstance = new StrategyFactory();
-		}
-		return uniqueInstance;
+		return Holder.uniqueInstance;
 	}
 
 	/**
 	 * This method creates the Strategy based on the optimizer that's pulled from
-	 * the environmental variable called "optimizers".
+	 * the environmental variable called "optimizers". Strategies that were not
+	 * discovered by ServiceLoader are looked up by class name the first time they
+	 * are asked for, and the instance created then is the one returned.
 	 * 
 	 * @param type - the name of the strategy
 	 * @return strategy - the strategy created
 	 */
 	public Strategy createStrategy(String type) {
+		StrategyDescriptor descriptor = descriptors.get(type);
+		if (descriptor == null) {
+			return load(type);
+		}
+		if (descriptor.isStateless()) {
+			return sharedStrategies.computeIfAbsent(type, this::newStrategy);
+		}
+		return newStrategy(type);
+	}
+
+	/**
+	 * Looks up a strategy class by name, creates one instance through its
+	 * public no-argument constructor and registers it. A name that is not a
+	 * usable strategy is remembered, so it is looked up only once.
+	 * 
+	 * @param type - the name of the strategy
+	 * @return strategy - the strategy created, null if the class is not a usable
+	 *         strategy
+	 */
+	private Strategy load(String type) {
+		if (unknownTypes.contains(type)) {
+			return null;
+		}
+		MethodHandle constructor = findConstructor(type);
+		if (constructor == null) {
+			unknownTypes.add(type);
+			return null;
+		}
 		Strategy strategy = null;
 		try {
-			strategy = (Strategy) Class.forName(type).newInstance();
-		} catch (InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+			strategy = (Strategy) constructor.invoke();
+			if (register(strategy, constructor).isStateless()) {
+				strategy = sharedStrategies.get(type);
+			}
+		} catch (Throwable e) {
+			e.printStackTrace();
+		}
+		return strategy;
+	}
+
+	/**
+	 * Finds the public no-argument constructor of a strategy class without
+	 * initializing the class.
+	 * 
+	 * @param type - the name of the strategy
+	 * @return constructor - the class's constructor, null if the name is not a
+	 *         Strategy class with a public no-argument constructor
+	 */
+	private MethodHandle findConstructor(String type) {
+		try {
+			Class<?> strategyClass = Class.forName(type, false, StrategyFactory.class.getClassLoader());
+			if (!Strategy.class.isAssignableFrom(strategyClass)) {
+				return null;
+			}
+			return MethodHandles.publicLookup().findConstructor(strategyClass, NO_ARGUMENTS);
+		} catch (ClassNotFoundException | LinkageError | NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Checks whether a strategy can be created, looking it up by class name if it
+	 * has not been registered yet. Names found not to be strategies are
+	 * remembered, so asking again is cheap.
+	 * 
+	 * @param type - the name of the strategy
+	 * @return true if createStrategy() can create the strategy
+	 */
+	public boolean hasStrategy(String type) {
+		return descriptors.containsKey(type) || load(type) != null;
+	}
+
+	/**
+	 * Gets the descriptor of a registered strategy
+	 * 
+	 * @param type - the name of the strategy
+	 * @return descriptor - the strategy's capabilities, null if not registered
+	 */
+	public StrategyDescriptor getDescriptor(String type) {
+		return descriptors.get(type);
+	}
+
+	/**
+	 * Gets the descriptors of all registered strategies
+	 * 
+	 * @return descriptors - list of the registered strategies' capabilities
+	 */
+	public List<StrategyDescriptor> getDescriptors() {
+		return new ArrayList<StrategyDescriptor>(descriptors.values());
+	}
+
+	/**
+	 * Caches the constructor and descriptor of the strategy's class. The instance
+	 * itself is kept for sharing if the strategy is stateless.
+	 * 
+	 * @param strategy - an instance of the strategy to register
+	 * @return descriptor - the strategy's capabilities
+	 */
+	private StrategyDescriptor register(Strategy strategy) {
+		MethodHandle constructor = null;
+		try {
+			constructor = MethodHandles.publicLookup().findConstructor(strategy.getClass(), NO_ARGUMENTS);
+		} catch (NoSuchMethodException | IllegalAccessException e) {
 			e.printStackTrace();
 		}
+		return register(strategy, constructor);
+	}
+
+	/**
+	 * Caches the given constructor and the descriptor of the strategy's class.
+	 * The instance itself is kept for sharing if the strategy is stateless.
+	 * 
+	 * @param strategy - an instance of the strategy to register
+	 * @param constructor - the class's no-argument constructor, or null
+	 * @return descriptor - the strategy's capabilities
+	 */
+	private StrategyDescriptor register(Strategy strategy, MethodHandle constructor) {
+		StrategyDescriptor descriptor = strategy.getDescriptor();
+		String type = strategy.getClass().getName();
+		if (constructor != null) {
+			constructors.putIfAbsent(type, constructor);
+		}
+		if (descriptor.isStateless()) {
+			sharedStrategies.putIfAbsent(type, strategy);
+		}
+		descriptors.putIfAbsent(type, descriptor);
+		return descriptors.get(type);
+	}
+
+	/**
+	 * Creates a new instance of a registered strategy through its cached
+	 * constructor.
+	 * 
+	 * @param type - the name of the strategy
+	 * @return strategy - the strategy created, null if it has no usable constructor
+	 */
+	private Strategy newStrategy(String type) {
+		Strategy strategy = null;
+		MethodHandle constructor = constructors.get(type);
+		if (constructor != null) {
+			try {
+				strategy = (Strategy) constructor.invoke();
+			} catch (Throwable e) {
+				e.printStackTrace();
+			}
+		}
 		return strategy;
 	}
 }